@@ -5,8 +5,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,38 +18,69 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+    // EventSource ne peut pas envoyer d'en-tête Authorization : jeton accepté en paramètre pour ce seul chemin
+    private static final String NOTIFICATION_STREAM_PATH = "/api/notifications/stream";
+    private static final String ACCESS_TOKEN_PARAMETER = "access_token";
+    private static final List<GrantedAuthority> USER_AUTHORITIES =
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final SessionService sessionService;
+    private final JwtService jwtService;
+
+    // En-tête X-User-Id non signé : désactivé par défaut, à n'activer que le temps d'une migration des clients
+    @Value("${security.legacy-user-id-header.enabled:false}")
+    private boolean legacyUserIdHeaderEnabled;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
-        
+
+        String token = resolveToken(request);
+        if (token != null) {
+            // Vérification purement en mémoire : signature et expiration, sans accès à la base
+            Optional<UUID> userUuid = jwtService.parseUserId(token);
+            if (userUuid.isPresent()) {
+                authenticate(request, userUuid.get());
+            } else {
+                logger.warn("Invalid or expired token: path=" + request.getRequestURI());
+            }
+        } else if (legacyUserIdHeaderEnabled) {
+            authenticateWithUserIdHeader(request);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length()).trim();
+        }
+        if (NOTIFICATION_STREAM_PATH.equals(request.getRequestURI())) {
+            return request.getParameter(ACCESS_TOKEN_PARAMETER);
+        }
+        return null;
+    }
+
+    private void authenticateWithUserIdHeader(HttpServletRequest request) {
         String userId = request.getHeader("X-User-Id");
         String requestPath = request.getRequestURI();
 
         if (userId != null && !userId.isEmpty()) {
             try {
                 UUID userUuid = UUID.fromString(userId.trim());
-                
+
                 if (sessionService.isValidUser(userUuid)) {
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(
-                            userUuid,
-                            null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-                        );
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    // Log seulement en debug pour éviter la verbosité
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Auth OK: user=" + userUuid + ", path=" + requestPath);
-                    }
+                    authenticate(request, userUuid);
                 } else {
                     logger.warn("User not found: userId=" + userId + ", path=" + requestPath);
                     // On laisse passer pour que Spring Security gère l'erreur 403
@@ -59,7 +93,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 logger.debug("No X-User-Id header: path=" + requestPath);
             }
         }
-        
-        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, UUID userUuid) {
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken(userUuid, null, USER_AUTHORITIES);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Log seulement en debug pour éviter la verbosité
+        if (logger.isDebugEnabled()) {
+            logger.debug("Auth OK: user=" + userUuid + ", path=" + request.getRequestURI());
+        }
     }
 }
@@ -0,0 +1,123 @@
+package com.codeSolution.PMT.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Émission et vérification de jetons JWT signés en HMAC-SHA256.
+ * La clé et les instances de {@link Mac} sont créées une seule fois (une par thread),
+ * la vérification d'un jeton ne touche donc jamais la base de données.
+ */
+@Service
+public class JwtService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private record Claims(String sub, long iat, long exp) {
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader CLAIMS_READER = OBJECT_MAPPER.readerFor(Claims.class);
+    private static final ObjectWriter CLAIMS_WRITER = OBJECT_MAPPER.writerFor(Claims.class);
+
+    private final SecretKeySpec key;
+    private final Duration expiration;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @Autowired
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration:PT12H}") Duration expiration) {
+        this(secret, expiration, Clock.systemUTC());
+    }
+
+    public JwtService(String secret, Duration expiration, Clock clock) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("jwt.secret must be at least " + MIN_SECRET_LENGTH + " bytes long");
+        }
+        this.key = new SecretKeySpec(secretBytes, HMAC_ALGORITHM);
+        this.expiration = expiration;
+        this.clock = clock;
+    }
+
+    public String generateToken(@NonNull UUID userId) {
+        long now = clock.instant().getEpochSecond();
+        Claims claims = new Claims(userId.toString(), now, now + expiration.getSeconds());
+        try {
+            String payload = ENCODER.encodeToString(CLAIMS_WRITER.writeValueAsBytes(claims));
+            String signingInput = HEADER + "." + payload;
+            return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize token claims", e);
+        }
+    }
+
+    /**
+     * Vérifie la signature et l'expiration du jeton
+     * @return L'UUID de l'utilisateur porté par le jeton, ou vide si le jeton est invalide ou expiré
+     */
+    public Optional<UUID> parseUserId(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot != HEADER.length() || lastDot <= firstDot || !token.startsWith(HEADER)) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] expected = sign(token.substring(0, lastDot));
+            byte[] actual = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+
+            Claims claims = CLAIMS_READER.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)));
+            if (claims.sub() == null || claims.exp() <= clock.instant().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(UUID.fromString(claims.sub()));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String signingInput) {
+        return macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.codeSolution.PMT.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Regroupement des assignations d'un même destinataire (app.notifications.digest.*).
+ * Pendant la fenêtre, les assignations s'ajoutent à une seule notification et partent
+ * dans un seul email ; une fenêtre nulle désactive le regroupement.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.notifications.digest")
+public class NotificationDigestProperties {
+
+    private Duration window = Duration.ofMinutes(2);
+
+    // Au-delà, une nouvelle notification est ouverte et l'email est envoyé sans attendre la fin de la fenêtre
+    private int maxSize = 20;
+
+    public boolean isEnabled() {
+        return !window.isZero() && !window.isNegative() && maxSize > 1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.codeSolution.PMT.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas PostgreSQL en lecture seule (app.datasource.replicas[n].url, ...).
+ * Sans réplica configuré, tout le trafic reste sur la base principale.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReadReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Après une écriture, les lectures du même utilisateur restent sur la base principale
+    // pendant cette durée, le temps que la réplication rattrape son retard
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,112 @@
+package com.codeSolution.PMT.config;
+
+import com.codeSolution.PMT.util.ExpiringCache;
+import com.codeSolution.PMT.util.PrimaryRead;
+import com.codeSolution.PMT.util.SecurityUtil;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envoie les transactions en lecture seule vers les réplicas (round-robin) et tout le reste vers la base principale.
+ * Doit être enveloppée dans une LazyConnectionDataSourceProxy pour que le caractère lecture seule
+ * de la transaction soit connu au moment où la connexion est demandée.
+ * Après une transaction validée ayant modifié des données, les lectures du même utilisateur restent
+ * sur la base principale le temps que les réplicas rattrapent leur retard.
+ * Les chargements de caches partagés (PrimaryRead) sont eux aussi servis par la base principale.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final List<DataSource> replicas;
+    private final Duration readYourWritesWindow;
+    private final ExpiringCache<UUID, Boolean> recentWriters = new ExpiringCache<>(MAX_TRACKED_WRITERS);
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow) {
+        this.replicas = replicas;
+        this.readYourWritesWindow = readYourWritesWindow;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        UUID userId = SecurityUtil.getCurrentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || PrimaryRead.isRequested()
+                || (userId != null && recentWriters.get(userId).isPresent())) {
+            return PRIMARY;
+        }
+        PrimaryRead.markReplica();
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Signale une requête de modification (WriteStatementInspector) : l'utilisateur courant lira sur la base
+     * principale pendant readYourWritesWindow, une fois la transaction validée. Une transaction qui n'écrit rien
+     * ou qui est annulée ne détourne donc pas ses lectures suivantes des réplicas.
+     */
+    public void recordWrite() {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        if (replicaKeys.isEmpty() || userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Une seule synchronisation par transaction, quel que soit le nombre de requêtes
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof RecordWriter) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new RecordWriter(userId));
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        // Seuls les pools des réplicas sont créés ici, la base principale est gérée par Spring
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private final class RecordWriter implements TransactionSynchronization {
+        private final UUID userId;
+
+        private RecordWriter(UUID userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public void afterCommit() {
+            recentWriters.put(userId, true, readYourWritesWindow);
+        }
+    }
+}
@@ -1,19 +1,39 @@
 package com.codeSolution.PMT.config;
 
 import com.codeSolution.PMT.repository.UserRepository;
+import com.codeSolution.PMT.util.ExpiringCache;
+import com.codeSolution.PMT.util.PrimaryRead;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class SessionService {
-    
+
+    // Les utilisateurs valides sont gardés plus longtemps que les identifiants inconnus,
+    // pour qu'un flot d'en-têtes X-User-Id bidons ne sollicite pas la base à chaque requête
+    private static final Duration VALID_USER_TTL = Duration.ofMinutes(5);
+    private static final Duration UNKNOWN_USER_TTL = Duration.ofSeconds(10);
+    private static final int MAX_CACHED_USERS = 10_000;
+
     private final UserRepository userRepository;
-    
+
+    private final ExpiringCache<UUID, Boolean> validUsers = new ExpiringCache<>(MAX_CACHED_USERS);
+
     public boolean isValidUser(@NonNull UUID userId) {
-        return userRepository.findById(userId).isPresent();
+        return validUsers.get(userId).orElseGet(() -> PrimaryRead.load(
+                () -> userRepository.existsById(userId),
+                valid -> validUsers.put(userId, valid, valid ? VALID_USER_TTL : UNKNOWN_USER_TTL)));
+    }
+
+    /**
+     * Retire un utilisateur du cache, à appeler dès qu'il est supprimé
+     */
+    public void evict(@NonNull UUID userId) {
+        validUsers.invalidate(userId);
     }
 }
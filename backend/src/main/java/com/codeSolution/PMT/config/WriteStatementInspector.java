@@ -0,0 +1,36 @@
+package com.codeSolution.PMT.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Signale à la ReadReplicaRoutingDataSource chaque requête SQL de modification préparée par Hibernate,
+ * qu'elle provienne d'un flush ou d'une requête @Modifying
+ */
+public class WriteStatementInspector implements StatementInspector {
+
+    private static final String[] WRITE_KEYWORDS = {"insert", "update", "delete", "merge"};
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+
+    public WriteStatementInspector(ReadReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (isWrite(sql)) {
+            routingDataSource.recordWrite();
+        }
+        return sql;
+    }
+
+    static boolean isWrite(String sql) {
+        String statement = sql.stripLeading();
+        for (String keyword : WRITE_KEYWORDS) {
+            if (statement.regionMatches(true, 0, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
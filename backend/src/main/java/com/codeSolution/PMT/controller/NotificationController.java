@@ -0,0 +1,97 @@
+package com.codeSolution.PMT.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.codeSolution.PMT.dto.CursorPage;
+import com.codeSolution.PMT.dto.NotificationDTO;
+import com.codeSolution.PMT.dto.UnreadCountResponse;
+import com.codeSolution.PMT.service.NotificationService;
+import com.codeSolution.PMT.service.NotificationStreamHub;
+import com.codeSolution.PMT.util.SecurityUtil;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final NotificationStreamHub notificationStreamHub;
+
+    @GetMapping
+    public ResponseEntity<?> getInbox(@RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            int pageSize = limit != null ? limit : NotificationService.MAX_PAGE_SIZE;
+            CursorPage<NotificationDTO> page = notificationService.findInboxPage(userId, pageSize, cursor, unreadOnly);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<UnreadCountResponse> markAllAsRead() {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        notificationService.markAllAsRead(userId);
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.getUnreadCount(userId)));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount() {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.getUnreadCount(userId)));
+    }
+
+    @PutMapping("/{id}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable UUID id) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            notificationService.markAsRead(id, userId);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Flux Server-Sent Events des nouvelles notifications de l'utilisateur connecté.
+     * EventSource ne permet pas d'en-têtes : le jeton peut être passé en paramètre access_token.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications() {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok()
+                // Désactive la mise en tampon des reverse proxys (nginx) pour ce flux
+                .header("X-Accel-Buffering", "no")
+                .body(notificationStreamHub.subscribe(userId));
+    }
+}
@@ -1,17 +1,27 @@
 package com.codeSolution.PMT.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.codeSolution.PMT.dto.InviteMemberRequest;
+import com.codeSolution.PMT.dto.ProjectAnalyticsDTO;
+import com.codeSolution.PMT.dto.ProjectBoardDTO;
 import com.codeSolution.PMT.dto.ProjectMemberDTO;
+import com.codeSolution.PMT.dto.ProjectStatsDTO;
+import com.codeSolution.PMT.dto.TaskStateDTO;
 import com.codeSolution.PMT.dto.UpdateMemberRoleRequest;
 import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.service.ProjectAnalyticsService;
 import com.codeSolution.PMT.service.ProjectService;
+import com.codeSolution.PMT.service.ProjectStatsService;
+import com.codeSolution.PMT.service.TaskReplayService;
+import com.codeSolution.PMT.service.TaskService;
 import com.codeSolution.PMT.util.SecurityUtil;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +31,10 @@ import java.util.UUID;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final TaskService taskService;
+    private final ProjectStatsService projectStatsService;
+    private final TaskReplayService taskReplayService;
+    private final ProjectAnalyticsService projectAnalyticsService;
 
     @GetMapping
     public ResponseEntity<List<Project>> getAllProjects() {
@@ -47,6 +61,75 @@ public class ProjectController {
         return ResponseEntity.ok(members);
     }
 
+    @GetMapping("/{id}/board")
+    public ResponseEntity<?> getProjectBoard(@PathVariable UUID id,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            int perColumn = limit != null ? limit : TaskService.DEFAULT_BOARD_COLUMN_SIZE;
+            ProjectBoardDTO board = taskService.getBoard(id, userId, perColumn);
+            return ResponseEntity.ok(board);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getProjectStats(@PathVariable UUID id) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            ProjectStatsDTO stats = projectStatsService.getStats(id, userId);
+            return ResponseEntity.ok(stats);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Lead time, cycle time, débit hebdomadaire et burndown du projet
+     */
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<?> getProjectAnalytics(@PathVariable UUID id) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            ProjectAnalyticsDTO analytics = projectAnalyticsService.getAnalytics(id, userId);
+            return ResponseEntity.ok(analytics);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
+    /**
+     * État à une date passée des tâches du projet, reconstitué à partir de leur historique
+     */
+    @GetMapping("/{id}/tasks/state")
+    public ResponseEntity<?> getProjectTaskStatesAt(@PathVariable UUID id,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            List<TaskStateDTO> states = taskReplayService.getProjectTaskStatesAt(id, userId, at);
+            return ResponseEntity.ok(states);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
     @PostMapping
     public ResponseEntity<Project> createProject(@RequestBody Project project) {
         UUID currentUserId = SecurityUtil.getCurrentUserId();
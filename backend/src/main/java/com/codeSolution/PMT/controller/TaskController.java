@@ -1,21 +1,34 @@
 package com.codeSolution.PMT.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.codeSolution.PMT.dto.AssignTaskRequest;
 import com.codeSolution.PMT.dto.AssignTaskResponse;
+import com.codeSolution.PMT.dto.BatchTaskResponse;
+import com.codeSolution.PMT.dto.BulkReassignRequest;
+import com.codeSolution.PMT.dto.BulkTaskUpdateRequest;
 import com.codeSolution.PMT.dto.CreateTaskRequest;
+import com.codeSolution.PMT.dto.CursorPage;
 import com.codeSolution.PMT.dto.TaskDTO;
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.dto.TaskStateDTO;
 import com.codeSolution.PMT.model.Task;
-import com.codeSolution.PMT.model.TaskHistory;
-import com.codeSolution.PMT.service.EmailService;
+import com.codeSolution.PMT.service.TaskReplayService;
 import com.codeSolution.PMT.service.TaskService;
 import com.codeSolution.PMT.util.SecurityUtil;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -24,7 +37,7 @@ import java.util.UUID;
 public class TaskController {
 
     private final TaskService taskService;
-    private final EmailService emailService;
+    private final TaskReplayService taskReplayService;
 
     @GetMapping
     public ResponseEntity<List<Task>> getAllTasks() {
@@ -33,7 +46,8 @@ public class TaskController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTaskById(@PathVariable UUID id) {
+    public ResponseEntity<?> getTaskById(@PathVariable UUID id,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             UUID userId = SecurityUtil.getCurrentUserId();
             if (userId == null) {
@@ -41,9 +55,13 @@ public class TaskController {
             }
 
             Task task = taskService.findByIdWithPermission(id, userId);
-            return ResponseEntity.ok(task);
+            // Requête conditionnelle : le client a déjà cette version, pas de corps à renvoyer
+            if (ifNoneMatch != null && matchesAny(ifNoneMatch, task.getVersion())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(task.getVersion())).build();
+            }
+            return ResponseEntity.ok().eTag(eTag(task.getVersion())).body(task);
         } catch (RuntimeException e) {
-            if (e.getMessage().contains("Task not found")) {
+            if (isTaskNotFound(e)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
             }
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
@@ -51,15 +69,26 @@ public class TaskController {
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<?> getTasksByProject(@PathVariable UUID projectId) {
+    public ResponseEntity<?> getTasksByProject(@PathVariable UUID projectId,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String cursor) {
         try {
             UUID userId = SecurityUtil.getCurrentUserId();
             if (userId == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
+            // Sans paramètre de pagination, la liste complète est renvoyée comme auparavant
+            if (limit != null || cursor != null) {
+                int pageSize = limit != null ? limit : TaskService.MAX_PAGE_SIZE;
+                CursorPage<TaskDTO> page = taskService.findTaskDTOPageByProjectId(projectId, userId, pageSize, cursor);
+                return ResponseEntity.ok(page);
+            }
+
             List<TaskDTO> tasks = taskService.findTaskDTOsByProjectId(projectId, userId);
             return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         }
@@ -84,20 +113,51 @@ public class TaskController {
     }
 
     @GetMapping("/{id}/history")
-    public ResponseEntity<?> getTaskHistory(@PathVariable UUID id) {
+    public ResponseEntity<?> getTaskHistory(@PathVariable UUID id,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String cursor) {
         try {
             UUID userId = SecurityUtil.getCurrentUserId();
             if (userId == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
             
-            List<TaskHistory> history = taskService.getTaskHistory(id, userId);
+            // Sans paramètre de pagination, l'historique complet est renvoyé comme auparavant
+            if (limit != null || cursor != null) {
+                int pageSize = limit != null ? limit : TaskService.MAX_PAGE_SIZE;
+                CursorPage<TaskHistoryDTO> page = taskService.getTaskHistoryPage(id, userId, pageSize, cursor);
+                return ResponseEntity.ok(page);
+            }
+
+            List<TaskHistoryDTO> history = taskService.getTaskHistory(id, userId);
             return ResponseEntity.ok(history);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
+    /**
+     * État de la tâche à une date passée, reconstitué à partir de son historique
+     */
+    @GetMapping("/{id}/state")
+    public ResponseEntity<?> getTaskStateAt(@PathVariable UUID id,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            TaskStateDTO state = taskReplayService.getTaskStateAt(id, userId, at);
+            return ResponseEntity.ok(state);
+        } catch (RuntimeException e) {
+            if (isTaskNotFound(e)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            }
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> createTask(@RequestBody CreateTaskRequest request) {
         try {
@@ -113,21 +173,94 @@ public class TaskController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<CreateTaskRequest> requests) {
+        try {
+            UUID creatorId = SecurityUtil.getCurrentUserId();
+            if (creatorId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            // Résultat par élément : les éléments refusés n'empêchent pas la création des autres
+            BatchTaskResponse response = taskService.createTasks(requests, creatorId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<?> updateTasks(@RequestBody BulkTaskUpdateRequest request) {
+        try {
+            UUID updaterId = SecurityUtil.getCurrentUserId();
+            if (updaterId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            BatchTaskResponse response = taskService.updateTasks(request, updaterId);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/reassign")
+    public ResponseEntity<?> reassignTasks(@RequestBody BulkReassignRequest request) {
+        try {
+            UUID assignedById = SecurityUtil.getCurrentUserId();
+            if (assignedById == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            BatchTaskResponse response = taskService.reassignTasks(request, assignedById);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateTask(@PathVariable UUID id, @RequestBody Task task) {
+    public ResponseEntity<?> updateTask(@PathVariable UUID id, @RequestBody Task task,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             UUID updaterId = SecurityUtil.getCurrentUserId();
             if (updaterId == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
             
-            Task updatedTask = taskService.updateTask(id, task, updaterId);
-            return ResponseEntity.ok(updatedTask);
+            Task updatedTask = taskService.updateTask(id, task, updaterId, expectedVersions(ifMatch));
+            return ResponseEntity.ok().eTag(eTag(updatedTask.getVersion())).body(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
+    // JSON Merge Patch : seuls les champs envoyés sont modifiés, null efface un champ facultatif
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchTask(@PathVariable UUID id, @RequestBody Map<String, Object> patch,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            UUID updaterId = SecurityUtil.getCurrentUserId();
+            if (updaterId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            Task patchedTask = taskService.patchTask(id, patch, updaterId, expectedVersions(ifMatch));
+            return ResponseEntity.ok().eTag(eTag(patchedTask.getVersion())).body(patchedTask);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (RuntimeException e) {
+            if (isTaskNotFound(e)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            }
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable UUID id) {
         if (taskService.findById(id).isPresent()) {
@@ -148,19 +281,13 @@ public class TaskController {
             
             Task task = taskService.assignTask(taskId, request, assignedById);
             
-            String userEmail = task.getProjectMember().getUser().getEmail();
-            String taskTitle = task.getName();
-            String projectName = task.getProjectMember().getProject().getName();
-            
-            EmailService.EmailNotificationResult emailResult = emailService.sendTaskAssignmentNotification(
-                    userEmail, taskTitle, projectName);
-            
+            // L'email a été mis en file par le service dans la transaction de l'assignation
             AssignTaskResponse response = new AssignTaskResponse(
                     task,
-                    emailResult.getUserEmail(),
-                    emailResult.getTaskTitle(),
-                    emailResult.getProjectName(),
-                    emailResult.isSent()
+                    task.getProjectMember().getUser().getEmail(),
+                    task.getName(),
+                    task.getProjectMember().getProject().getName(),
+                    true
             );
             
             return ResponseEntity.ok(response);
@@ -168,5 +295,60 @@ public class TaskController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
-}
 
+    // Une RuntimeException levée hors des services (NullPointerException...) peut n'avoir aucun message
+    private static boolean isTaskNotFound(RuntimeException e) {
+        return e.getMessage() != null && e.getMessage().contains("Task not found");
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Versions acceptées d'après If-Match : null si l'en-tête est absent ou contient *.
+     * If-Match exige la comparaison forte (RFC 9110) : une étiquette faible W/ ne désigne aucune version,
+     * pas plus qu'une étiquette invalide ; un ensemble vide n'est satisfait par aucune version.
+     */
+    private static Set<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*")) {
+                return null;
+            }
+            Long version = trimmed.startsWith("W/") ? null : parseVersion(trimmed);
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        return versions;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, Long version) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || version != null && version.equals(parseVersion(trimmed))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // null si l'étiquette ne désigne aucune version
+    private static Long parseVersion(String tag) {
+        // Comparaison faible, pour If-None-Match : W/"3" et "3" désignent la même version
+        String value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
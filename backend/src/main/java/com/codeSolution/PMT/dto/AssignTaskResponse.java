@@ -13,5 +13,6 @@ public class AssignTaskResponse {
     private String userEmail;
     private String taskTitle;
     private String projectName;
-    private boolean emailSent;
+    // L'email est mis en file avec l'assignation et envoyé en arrière-plan : il n'est pas encore parti
+    private boolean emailQueued;
 }
@@ -8,7 +8,7 @@ import java.util.UUID;
 @Data
 @AllArgsConstructor
 public class AuthResponse {
-    private String token; // Peut être null si pas de JWT
+    private String token; // JWT signé à envoyer dans l'en-tête Authorization: Bearer
     private UUID userId;
     private String username;
     private String email;
@@ -0,0 +1,21 @@
+package com.codeSolution.PMT.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTaskResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchTaskResult> results;
+
+    public static BatchTaskResponse of(List<BatchTaskResult> results) {
+        int failed = (int) results.stream().filter(result -> result.getError() != null).count();
+        return new BatchTaskResponse(results.size() - failed, failed, results);
+    }
+}
@@ -0,0 +1,24 @@
+package com.codeSolution.PMT.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTaskResult {
+    private int index; // position de l'élément dans la requête
+    private UUID taskId;
+    private String error; // null lorsque l'élément a été traité
+
+    public static BatchTaskResult success(int index, UUID taskId) {
+        return new BatchTaskResult(index, taskId, null);
+    }
+
+    public static BatchTaskResult failure(int index, UUID taskId, String error) {
+        return new BatchTaskResult(index, taskId, error);
+    }
+}
@@ -0,0 +1,18 @@
+package com.codeSolution.PMT.dto;
+
+import com.codeSolution.PMT.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardColumnDTO {
+    private Task.TaskStatus status;
+    private long count; // nombre total de tâches dans la colonne, pas seulement celles renvoyées
+    private List<TaskDTO> tasks = new ArrayList<>();
+}
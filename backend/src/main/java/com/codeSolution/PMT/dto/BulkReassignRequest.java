@@ -0,0 +1,15 @@
+package com.codeSolution.PMT.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Réassigne toutes les tâches d'un membre du projet à un autre membre
+ */
+@Data
+public class BulkReassignRequest {
+    private UUID projectId;
+    private UUID fromUserId;
+    private UUID toUserId;
+}
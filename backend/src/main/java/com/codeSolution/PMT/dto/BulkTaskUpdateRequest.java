@@ -0,0 +1,17 @@
+package com.codeSolution.PMT.dto;
+
+import com.codeSolution.PMT.model.Task;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Modification d'un seul champ sur une liste de tâches : renseigner status ou priority, pas les deux
+ */
+@Data
+public class BulkTaskUpdateRequest {
+    private List<UUID> taskIds;
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+}
@@ -0,0 +1,18 @@
+package com.codeSolution.PMT.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Distribution d'une durée en heures ; les valeurs sont null quand count vaut 0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DurationStatsDTO {
+    private long count;
+    private Double averageHours;
+    private Double medianHours;
+    private Double p85Hours; // 85 % des tâches ont pris au plus cette durée
+}
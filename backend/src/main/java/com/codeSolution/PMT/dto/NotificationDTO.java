@@ -0,0 +1,40 @@
+package com.codeSolution.PMT.dto;
+
+import com.codeSolution.PMT.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDTO {
+    private UUID id;
+    private UUID projectId;
+    private UUID taskId;
+    private String message;
+    private LocalDateTime createdAt;
+    private Boolean isRead;
+    private Integer assignmentCount;
+
+    public static NotificationDTO fromNotification(Notification notification) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(notification.getId());
+        dto.setMessage(notification.getMessage());
+        dto.setCreatedAt(notification.getCreatedAt());
+        dto.setIsRead(notification.getIsRead());
+        dto.setAssignmentCount(notification.getAssignmentCount());
+
+        if (notification.getProjectMember() != null) {
+            dto.setProjectId(notification.getProjectMember().getProjectId());
+        }
+        if (notification.getTask() != null) {
+            dto.setTaskId(notification.getTask().getId());
+        }
+
+        return dto;
+    }
+}
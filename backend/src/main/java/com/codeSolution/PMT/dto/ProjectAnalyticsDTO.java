@@ -0,0 +1,22 @@
+package com.codeSolution.PMT.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectAnalyticsDTO {
+    private UUID projectId;
+    private LocalDateTime computedAt;
+    private DurationStatsDTO leadTime; // création -> DONE, tâches terminées sur la période
+    private DurationStatsDTO cycleTime; // premier passage IN_PROGRESS -> DONE, tâches terminées sur la période
+    private Map<LocalDate, Long> weeklyThroughput; // lundi de la semaine -> passages à DONE
+    private Map<LocalDate, Long> burndown; // lundi de la semaine -> tâches non terminées en fin de semaine
+}
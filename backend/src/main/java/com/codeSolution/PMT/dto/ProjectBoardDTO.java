@@ -0,0 +1,16 @@
+package com.codeSolution.PMT.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectBoardDTO {
+    private UUID projectId;
+    private List<BoardColumnDTO> columns; // une colonne par statut, dans l'ordre du kanban
+}
@@ -0,0 +1,21 @@
+package com.codeSolution.PMT.dto;
+
+import com.codeSolution.PMT.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectStatsDTO {
+    private UUID projectId;
+    private long total;
+    private Map<Task.TaskStatus, Long> byStatus; // tous les statuts, y compris ceux à 0
+    private Map<Task.TaskPriority, Long> byPriority; // toutes les priorités, y compris celles à 0
+    private Map<UUID, Long> byAssignee; // userId du membre assigné -> nombre de tâches
+    private long overdue; // tâches non terminées dont l'échéance est passée
+}
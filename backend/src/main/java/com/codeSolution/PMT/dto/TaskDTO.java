@@ -1,12 +1,16 @@
 package com.codeSolution.PMT.dto;
 
 import com.codeSolution.PMT.model.Task;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class TaskDTO {
     private UUID id;
     private String name;
@@ -17,6 +21,7 @@ public class TaskDTO {
     private LocalDate endDate;
     private UUID projectId;
     private UUID assignedUserId;
+    private Long version; // valeur de l'ETag, à renvoyer dans If-Match
 
     public static TaskDTO fromTask(Task task) {
         TaskDTO dto = new TaskDTO();
@@ -27,6 +32,7 @@ public class TaskDTO {
         dto.setPriority(task.getPriority());
         dto.setDueDate(task.getDueDate());
         dto.setEndDate(task.getEndDate());
+        dto.setVersion(task.getVersion());
         
         if (task.getProjectMember() != null) {
             dto.setProjectId(task.getProjectMember().getProjectId());
@@ -0,0 +1,22 @@
+package com.codeSolution.PMT.dto;
+
+import com.codeSolution.PMT.model.TaskHistory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskHistoryDTO {
+    private UUID id;
+    private UUID taskId;
+    private TaskHistory.FieldName fieldName;
+    private String oldValue;
+    private String newValue;
+    private LocalDateTime modifiedAt;
+    private UUID modifiedBy; // userId du membre à l'origine de la modification
+}
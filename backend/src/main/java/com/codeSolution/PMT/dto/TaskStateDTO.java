@@ -0,0 +1,28 @@
+package com.codeSolution.PMT.dto;
+
+import com.codeSolution.PMT.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * État d'une tâche à une date donnée, reconstitué à partir de l'historique.
+ * L'assigné est identifié par son email, comme dans les entrées d'historique projectMembers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStateDTO {
+    private UUID taskId;
+    private UUID projectId;
+    private String name;
+    private String description;
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+    private LocalDate dueDate;
+    private LocalDate endDate;
+    private String assigneeEmail;
+}
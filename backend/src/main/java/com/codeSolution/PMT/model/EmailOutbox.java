@@ -0,0 +1,80 @@
+package com.codeSolution.PMT.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Email en attente d'envoi, écrit dans la même transaction que l'action qui le déclenche
+ * puis envoyé en arrière-plan par {@link com.codeSolution.PMT.service.EmailOutboxDispatcher}.
+ */
+@Entity
+@Table(name = "email_outbox")
+@Data
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private EmailType type;
+
+    // Un seul email par événement métier, même si l'événement est enregistré deux fois
+    @Column(name = "dedupe_key", nullable = false, unique = true)
+    private String dedupeKey;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+
+    @Column(name = "task_title", nullable = false)
+    private String taskTitle;
+
+    @Column(name = "project_name", nullable = false)
+    private String projectName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    // Prochaine tentative pour PENDING, fin du bail pour SENDING
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public enum EmailType {
+        TASK_ASSIGNMENT
+    }
+
+    public enum Status {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED
+    }
+}
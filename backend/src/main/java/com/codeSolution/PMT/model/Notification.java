@@ -38,12 +38,20 @@ public class Notification {
     @Column(name = "is_read", nullable = false)
     private Boolean isRead = false;
 
+    // Nombre d'assignations regroupées dans cette notification (voir NotificationDigestProperties).
+    // Le DEFAULT permet à ddl-auto=update d'ajouter la colonne à une table déjà remplie.
+    @Column(name = "assignment_count", nullable = false, columnDefinition = "INTEGER DEFAULT 1")
+    private Integer assignmentCount = 1;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (isRead == null) {
             isRead = false;
         }
+        if (assignmentCount == null) {
+            assignmentCount = 1;
+        }
     }
 }
 
@@ -0,0 +1,23 @@
+package com.codeSolution.PMT.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Nombre de notifications non lues d'un utilisateur, tenu à jour à chaque création
+ * ou lecture de notification pour éviter un COUNT(*) sur la table notifications
+ */
+@Entity
+@Table(name = "notification_counters")
+@Data
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount = 0L;
+}
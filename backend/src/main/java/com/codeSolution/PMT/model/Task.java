@@ -3,6 +3,7 @@ package com.codeSolution.PMT.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -10,6 +11,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "tasks")
 @Data
+// L'UPDATE ne porte que sur les colonnes modifiées (mises à jour partielles via PATCH)
+@DynamicUpdate
 public class Task {
 
     @Id
@@ -36,6 +39,12 @@ public class Task {
     @Column(name = "end_date")
     private LocalDate endDate;
 
+    // Incrémentée à chaque UPDATE : une modification concurrente échoue au lieu d'écraser l'autre.
+    // Le DEFAULT permet à ddl-auto=update d'ajouter la colonne à une table déjà remplie.
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumns({
         @JoinColumn(name = "project_member_project_id", referencedColumnName = "project_id", nullable = false),
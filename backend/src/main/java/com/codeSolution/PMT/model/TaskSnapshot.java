@@ -0,0 +1,53 @@
+package com.codeSolution.PMT.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Copie de l'état d'une tâche prise par TaskSnapshotJob.
+ * Sert de point de départ au rejeu de l'historique (TaskReplayService).
+ */
+@Entity
+@Table(name = "task_snapshots")
+@Data
+@IdClass(TaskSnapshotId.class)
+public class TaskSnapshot {
+
+    @Id
+    @Column(name = "task_id")
+    private UUID taskId;
+
+    @Id
+    @Column(name = "taken_at")
+    private LocalDateTime takenAt;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.TaskPriority priority;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "assignee_email")
+    private String assigneeEmail;
+}
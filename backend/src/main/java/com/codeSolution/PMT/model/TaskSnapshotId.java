@@ -0,0 +1,17 @@
+package com.codeSolution.PMT.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSnapshotId implements Serializable {
+    private UUID taskId;
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,82 @@
+package com.codeSolution.PMT.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.codeSolution.PMT.model.EmailOutbox;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    boolean existsByDedupeKey(String dedupeKey);
+
+    @Query("SELECT e.dedupeKey FROM EmailOutbox e WHERE e.dedupeKey IN :dedupeKeys")
+    List<String> findExistingDedupeKeys(@Param("dedupeKeys") Collection<String> dedupeKeys);
+
+    List<EmailOutbox> findByClaimToken(UUID claimToken);
+
+    long countByRecipientAndTypeAndStatus(String recipient, EmailOutbox.EmailType type, EmailOutbox.Status status);
+
+    // Échéance commune des emails en attente du destinataire, pour les regrouper dans un même envoi
+    @Query("SELECT MIN(e.nextAttemptAt) FROM EmailOutbox e " +
+           "WHERE e.recipient = :recipient AND e.type = :type AND e.status = :status")
+    Optional<LocalDateTime> findPendingDueAt(@Param("recipient") String recipient,
+                                             @Param("type") EmailOutbox.EmailType type,
+                                             @Param("status") EmailOutbox.Status status);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :now " +
+           "WHERE e.recipient = :recipient AND e.type = :type AND e.status = :status AND e.nextAttemptAt > :now")
+    int releasePending(@Param("recipient") String recipient,
+                       @Param("type") EmailOutbox.EmailType type,
+                       @Param("status") EmailOutbox.Status status,
+                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt")
+    List<UUID> findDueIds(@Param("statuses") Collection<EmailOutbox.Status> statuses,
+                          @Param("now") LocalDateTime now,
+                          Limit limit);
+
+    /**
+     * Réserve les emails encore disponibles : la condition sur le statut et l'échéance garantit
+     * qu'un email déjà réservé par un autre dispatcher n'est pas réservé une seconde fois.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutbox e SET e.status = :sending, e.claimToken = :token, e.attempts = e.attempts + 1, " +
+           "e.nextAttemptAt = :leaseUntil " +
+           "WHERE e.id IN :ids AND e.status IN :statuses AND e.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<UUID> ids,
+              @Param("statuses") Collection<EmailOutbox.Status> statuses,
+              @Param("sending") EmailOutbox.Status sending,
+              @Param("token") UUID token,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutbox e SET e.status = :sent, e.sentAt = :sentAt, e.claimToken = null, e.lastError = null " +
+           "WHERE e.id IN :ids AND e.claimToken = :token")
+    int markSent(@Param("ids") Collection<UUID> ids,
+                 @Param("token") UUID token,
+                 @Param("sent") EmailOutbox.Status sent,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.lastError = :error, " +
+           "e.claimToken = null WHERE e.id = :id AND e.claimToken = :token")
+    int release(@Param("id") UUID id,
+                @Param("token") UUID token,
+                @Param("status") EmailOutbox.Status status,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("error") String error);
+}
@@ -0,0 +1,29 @@
+package com.codeSolution.PMT.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.codeSolution.PMT.model.NotificationCounter;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, UUID> {
+
+    @Query("SELECT c.unreadCount FROM NotificationCounter c WHERE c.userId = :userId")
+    Optional<Long> findUnreadCount(@Param("userId") UUID userId);
+
+    /**
+     * Incrément atomique côté base, sans lecture préalable
+     * @return 0 si le compteur de l'utilisateur n'existe pas encore
+     */
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = " +
+           "CASE WHEN c.unreadCount + :delta < 0 THEN 0 ELSE c.unreadCount + :delta END " +
+           "WHERE c.userId = :userId")
+    int addToUnreadCount(@Param("userId") UUID userId, @Param("delta") long delta);
+}
@@ -1,17 +1,108 @@
 package com.codeSolution.PMT.repository;
 
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.codeSolution.PMT.dto.NotificationDTO;
 import com.codeSolution.PMT.model.Notification;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
+    String NOTIFICATION_DTO_SELECT = "SELECT new com.codeSolution.PMT.dto.NotificationDTO(n.id, n.projectMember.projectId, " +
+            "n.task.id, n.message, n.createdAt, n.isRead, n.assignmentCount) FROM Notification n ";
+
     List<Notification> findByProjectMemberProjectIdAndProjectMemberUserId(UUID projectId, UUID userId);
     List<Notification> findByProjectMemberProjectIdAndProjectMemberUserIdAndIsRead(UUID projectId, UUID userId, Boolean isRead);
     List<Notification> findByTaskId(UUID taskId);
+
+    // Boîte de réception tous projets confondus, pagination par clé sur (createdAt DESC, id DESC)
+    @Query(NOTIFICATION_DTO_SELECT + "WHERE n.projectMember.userId = :userId " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findFirstInboxPage(@Param("userId") UUID userId, Limit limit);
+
+    @Query(NOTIFICATION_DTO_SELECT + "WHERE n.projectMember.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findInboxPageAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id, Limit limit);
+
+    @Query(NOTIFICATION_DTO_SELECT + "WHERE n.projectMember.userId = :userId AND n.isRead = false " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findFirstUnreadInboxPage(@Param("userId") UUID userId, Limit limit);
+
+    @Query(NOTIFICATION_DTO_SELECT + "WHERE n.projectMember.userId = :userId AND n.isRead = false " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findUnreadInboxPageAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") UUID id, Limit limit);
+
+    /**
+     * Notification d'assignation encore ouverte au regroupement pour ce membre.
+     * Le verrou sérialise les assignations concurrentes vers le même destinataire.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Notification n WHERE n.projectMember.projectId = :projectId " +
+           "AND n.projectMember.userId = :userId AND n.isRead = false " +
+           "AND n.createdAt >= :since AND n.assignmentCount < :maxSize ORDER BY n.createdAt DESC")
+    List<Notification> findOpenDigests(@Param("projectId") UUID projectId, @Param("userId") UUID userId,
+                                       @Param("since") LocalDateTime since, @Param("maxSize") int maxSize, Limit limit);
+
+    long countByProjectMemberUserIdAndIsReadFalse(UUID userId);
+
+    boolean existsByIdAndProjectMemberUserId(UUID id, UUID userId);
+
+    /**
+     * Passage conditionnel à « lue » : ne modifie la ligne que si elle était encore non lue,
+     * ce qui permet de ne décrémenter le compteur qu'une seule fois
+     */
+    @Modifying
+    @Query(value = "UPDATE notifications SET is_read = TRUE " +
+                   "WHERE id = :id AND project_member_user_id = :userId AND is_read = FALSE",
+           nativeQuery = true)
+    int markAsRead(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Rétention : lots de notifications lues les plus anciennes
+    @Query("SELECT n.id FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoff ORDER BY n.createdAt")
+    List<UUID> findReadIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+
+    // Notifications non lues emportées par ON DELETE CASCADE, en lignes (userId du destinataire, nombre)
+    String UNREAD_BY_RECIPIENT = "SELECT n.projectMember.userId, COUNT(n) FROM Notification n WHERE n.isRead = false AND ";
+
+    @Query(UNREAD_BY_RECIPIENT + "n.task.id = :taskId GROUP BY n.projectMember.userId")
+    List<Object[]> countUnreadByRecipientForTask(@Param("taskId") UUID taskId);
+
+    @Query(UNREAD_BY_RECIPIENT + "n.projectMember.projectId = :projectId GROUP BY n.projectMember.userId")
+    List<Object[]> countUnreadByRecipientForProject(@Param("projectId") UUID projectId);
+
+    // Notifications du membre et notifications des tâches qui lui sont assignées
+    @Query(UNREAD_BY_RECIPIENT + "n.projectMember.projectId = :projectId " +
+           "AND (n.projectMember.userId = :userId OR n.task.projectMember.userId = :userId) " +
+           "GROUP BY n.projectMember.userId")
+    List<Object[]> countUnreadByRecipientForMember(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Query(UNREAD_BY_RECIPIENT + "(n.projectMember.userId = :userId OR n.task.projectMember.userId = :userId) " +
+           "GROUP BY n.projectMember.userId")
+    List<Object[]> countUnreadByRecipientForUser(@Param("userId") UUID userId);
+
+    // Une seule requête quel que soit le nombre de notifications non lues
+    @Modifying
+    @Query(value = "UPDATE notifications SET is_read = TRUE WHERE project_member_user_id = :userId AND is_read = FALSE",
+           nativeQuery = true)
+    int markAllAsRead(@Param("userId") UUID userId);
 }
 
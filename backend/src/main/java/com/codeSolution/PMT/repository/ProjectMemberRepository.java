@@ -1,11 +1,15 @@
 package com.codeSolution.PMT.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.codeSolution.PMT.dto.ProjectMemberDTO;
 import com.codeSolution.PMT.model.ProjectMember;
 import com.codeSolution.PMT.model.ProjectMemberId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,5 +20,14 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Pr
     List<ProjectMember> findByProjectId(UUID projectId);
     List<ProjectMember> findByUserId(UUID userId);
     boolean existsByProjectIdAndUserId(UUID projectId, UUID userId);
+
+    @Query("SELECT new com.codeSolution.PMT.dto.ProjectMemberDTO(pm.projectId, pm.userId, u.email, u.userName, pm.role) " +
+           "FROM ProjectMember pm LEFT JOIN pm.user u WHERE pm.projectId = :projectId")
+    List<ProjectMemberDTO> findMemberDTOsByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("SELECT new com.codeSolution.PMT.dto.ProjectMemberDTO(pm.projectId, pm.userId, u.email, u.userName, pm.role) " +
+           "FROM ProjectMember pm LEFT JOIN pm.user u WHERE pm.projectId = :projectId AND pm.userId IN :userIds")
+    List<ProjectMemberDTO> findMemberDTOsByProjectIdAndUserIds(@Param("projectId") UUID projectId,
+                                                               @Param("userIds") Collection<UUID> userIds);
 }
 
@@ -1,15 +1,76 @@
 package com.codeSolution.PMT.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
 import com.codeSolution.PMT.model.TaskHistory;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskHistoryRepository extends JpaRepository<TaskHistory, UUID> {
-    List<TaskHistory> findByTaskIdOrderByModifiedAtDesc(UUID taskId);
-}
+    String TASK_HISTORY_DTO_SELECT = "SELECT new com.codeSolution.PMT.dto.TaskHistoryDTO(h.id, h.task.id, h.fieldName, " +
+            "h.oldValue, h.newValue, h.modifiedAt, h.projectMember.userId) FROM TaskHistory h ";
+
+    @Query(TASK_HISTORY_DTO_SELECT + "WHERE h.task.id = :taskId ORDER BY h.modifiedAt DESC, h.id DESC")
+    List<TaskHistoryDTO> findDTOsByTaskId(@Param("taskId") UUID taskId);
+
+    // Pagination par clé sur (modifiedAt DESC, id DESC), servie par l'index idx_task_history_task_modified_at
+    @Query(TASK_HISTORY_DTO_SELECT + "WHERE h.task.id = :taskId ORDER BY h.modifiedAt DESC, h.id DESC")
+    List<TaskHistoryDTO> findFirstPageByTaskId(@Param("taskId") UUID taskId, Limit limit);
+
+    @Query(TASK_HISTORY_DTO_SELECT + "WHERE h.task.id = :taskId " +
+           "AND (h.modifiedAt < :modifiedAt OR (h.modifiedAt = :modifiedAt AND h.id < :id)) " +
+           "ORDER BY h.modifiedAt DESC, h.id DESC")
+    List<TaskHistoryDTO> findPageByTaskIdAfter(@Param("taskId") UUID taskId, @Param("modifiedAt") LocalDateTime modifiedAt,
+                                               @Param("id") UUID id, Limit limit);
+
+    // Lectures en flux : lignes récupérées par paquets plutôt que toutes en mémoire
+    String STREAM_FETCH_SIZE = "500";
+
+    /*
+     * Rejeu (TaskReplayService) : entrées à défaire pour revenir à asOf, de la plus récente à la plus ancienne.
+     * Seules les entrées antérieures au premier snapshot pris à partir de asOf sont lues : au-delà,
+     * le snapshot fournit déjà l'état.
+     */
+    String REPLAY_CONDITION = "h.modifiedAt > :asOf AND NOT EXISTS (SELECT 1 FROM TaskSnapshot s " +
+            "WHERE s.taskId = h.task.id AND s.takenAt >= :asOf AND s.takenAt < h.modifiedAt) " +
+            "ORDER BY h.modifiedAt DESC, h.id DESC";
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(TASK_HISTORY_DTO_SELECT + "WHERE h.task.id = :taskId AND " + REPLAY_CONDITION)
+    Stream<TaskHistoryDTO> streamEntriesToUndoByTaskId(@Param("taskId") UUID taskId,
+                                                       @Param("asOf") LocalDateTime asOf);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(TASK_HISTORY_DTO_SELECT + "WHERE h.task.projectMember.projectId = :projectId AND " + REPLAY_CONDITION)
+    Stream<TaskHistoryDTO> streamEntriesToUndoByProjectId(@Param("projectId") UUID projectId,
+                                                          @Param("asOf") LocalDateTime asOf);
+
+    // Analytics de flux : changements de statut et créations des tâches d'un projet, lus en flux et sans tri
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(TASK_HISTORY_DTO_SELECT + "WHERE h.task.projectMember.projectId = :projectId " +
+           "AND (h.fieldName = com.codeSolution.PMT.model.TaskHistory$FieldName.status " +
+           "OR (h.fieldName = com.codeSolution.PMT.model.TaskHistory$FieldName.name AND h.oldValue IS NULL))")
+    Stream<TaskHistoryDTO> streamStatusAndCreationEntriesByProjectId(@Param("projectId") UUID projectId);
+
+    // Archivage : lots d'entrées les plus anciennes
+    @Query(TASK_HISTORY_DTO_SELECT + "WHERE h.modifiedAt < :cutoff ORDER BY h.modifiedAt, h.id")
+    List<TaskHistoryDTO> findDTOsModifiedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TaskHistory h WHERE h.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+}
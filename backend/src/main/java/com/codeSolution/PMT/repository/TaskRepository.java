@@ -1,20 +1,110 @@
 package com.codeSolution.PMT.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.codeSolution.PMT.dto.TaskDTO;
+import com.codeSolution.PMT.dto.TaskStateDTO;
 import com.codeSolution.PMT.model.Task;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, UUID> {
+    // Projection directe vers TaskDTO : aucune entité gérée, donc ni proxy ni snapshot de dirty-checking
+    String TASK_DTO_SELECT = "SELECT new com.codeSolution.PMT.dto.TaskDTO(t.id, t.name, t.description, t.status, " +
+            "t.priority, t.dueDate, t.endDate, t.projectMember.projectId, t.projectMember.userId, t.version) FROM Task t ";
+    // État courant, point de départ du rejeu de l'historique (TaskReplayService)
+    String TASK_STATE_DTO_SELECT = "SELECT new com.codeSolution.PMT.dto.TaskStateDTO(t.id, pm.projectId, " +
+            "t.name, t.description, t.status, t.priority, t.dueDate, t.endDate, u.email) " +
+            "FROM Task t JOIN t.projectMember pm JOIN pm.user u ";
+
     @Query("SELECT t FROM Task t WHERE t.projectMember.projectId = :projectId ORDER BY t.dueDate ASC NULLS LAST")
     List<Task> findByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.projectMember.projectId = :projectId ORDER BY t.dueDate ASC NULLS LAST, t.id ASC")
+    List<TaskDTO> findDTOsByProjectId(@Param("projectId") UUID projectId);
+
+    // Pagination par clé sur (dueDate NULLS LAST, id) : chaque page reprend après la dernière ligne lue
+    @Query(TASK_DTO_SELECT + "WHERE t.projectMember.projectId = :projectId " +
+           "ORDER BY t.dueDate ASC NULLS LAST, t.id ASC")
+    List<TaskDTO> findFirstPageByProjectId(@Param("projectId") UUID projectId, Limit limit);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.projectMember.projectId = :projectId " +
+           "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id) OR t.dueDate IS NULL) " +
+           "ORDER BY t.dueDate ASC NULLS LAST, t.id ASC")
+    List<TaskDTO> findPageByProjectIdAfterDueDate(@Param("projectId") UUID projectId, @Param("dueDate") LocalDate dueDate,
+                                                  @Param("id") UUID id, Limit limit);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.projectMember.projectId = :projectId " +
+           "AND t.dueDate IS NULL AND t.id > :id ORDER BY t.id ASC")
+    List<TaskDTO> findPageByProjectIdAfterNullDueDate(@Param("projectId") UUID projectId, @Param("id") UUID id, Limit limit);
     
+    /**
+     * Tableau kanban en une requête : les perColumn premières tâches de chaque statut,
+     * dans l'ordre de la liste paginée (due_date NULLS LAST, id), avec l'effectif total de la colonne.
+     * Colonnes : id, name, description, status, priority, due_date, end_date, project_id, user_id, version, column_count
+     */
+    @Query(value = "SELECT id, name, description, status, priority, due_date, end_date, " +
+                   "project_member_project_id, project_member_user_id, version, column_count FROM (" +
+                   "SELECT t.*, ROW_NUMBER() OVER (PARTITION BY t.status ORDER BY t.due_date ASC NULLS LAST, t.id ASC) AS column_rank, " +
+                   "COUNT(*) OVER (PARTITION BY t.status) AS column_count " +
+                   "FROM tasks t WHERE t.project_member_project_id = :projectId) ranked " +
+                   "WHERE column_rank <= :perColumn ORDER BY status, column_rank",
+           nativeQuery = true)
+    List<Object[]> findBoardRows(@Param("projectId") UUID projectId, @Param("perColumn") int perColumn);
+
+    /**
+     * Effectifs des tâches d'un projet regroupés par (statut, priorité, assigné, échéance),
+     * base des compteurs de ProjectStatsService.
+     * Colonnes : status, priority, user_id, due_date, count
+     */
+    @Query("SELECT t.status, t.priority, t.projectMember.userId, t.dueDate, COUNT(t) FROM Task t " +
+           "WHERE t.projectMember.projectId = :projectId " +
+           "GROUP BY t.status, t.priority, t.projectMember.userId, t.dueDate")
+    List<Object[]> countByProjectIdGrouped(@Param("projectId") UUID projectId);
+
+    // Colonnes : id, status
+    @Query("SELECT t.id, t.status FROM Task t WHERE t.projectMember.projectId = :projectId")
+    List<Object[]> findStatusesByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.id IN :ids")
+    List<TaskDTO> findDTOsByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query(TASK_STATE_DTO_SELECT + "WHERE t.id = :id")
+    Optional<TaskStateDTO> findStateById(@Param("id") UUID id);
+
+    @Query(TASK_STATE_DTO_SELECT + "WHERE t.projectMember.projectId = :projectId ORDER BY t.dueDate ASC NULLS LAST, t.id ASC")
+    List<TaskStateDTO> findStatesByProjectId(@Param("projectId") UUID projectId);
+
+    // Mises à jour ensemblistes : les tâches déjà à la valeur cible ne sont pas réécrites,
+    // la version est incrémentée comme le ferait Hibernate pour invalider les ETag et If-Match en cours
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.version = t.version + 1 WHERE t.id IN :ids AND t.status <> :status")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") Task.TaskStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.priority = :priority, t.version = t.version + 1 WHERE t.id IN :ids AND t.priority <> :priority")
+    int updatePriority(@Param("ids") Collection<UUID> ids, @Param("priority") Task.TaskPriority priority);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.projectMember.projectId = :projectId AND t.projectMember.userId = :userId")
+    List<TaskDTO> findDTOsByProjectIdAndAssignedUserId(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    // Réassignation ensembliste : seule la partie utilisateur de la clé du membre change
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE tasks SET project_member_user_id = :userId, version = version + 1 " +
+                   "WHERE id IN :ids AND project_member_project_id = :projectId",
+           nativeQuery = true)
+    int reassign(@Param("ids") Collection<UUID> ids, @Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
     @Query("SELECT t FROM Task t WHERE t.projectMember.userId = :userId")
     List<Task> findByAssignedUserId(@Param("userId") UUID userId);
     
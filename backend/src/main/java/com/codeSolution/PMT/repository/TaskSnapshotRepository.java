@@ -0,0 +1,46 @@
+package com.codeSolution.PMT.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.codeSolution.PMT.model.TaskSnapshot;
+import com.codeSolution.PMT.model.TaskSnapshotId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TaskSnapshotRepository extends JpaRepository<TaskSnapshot, TaskSnapshotId> {
+    String SNAPSHOT_INSERT = "INSERT INTO task_snapshots (task_id, taken_at, project_id, name, description, " +
+            "status, priority, due_date, end_date, assignee_email) " +
+            "SELECT t.id, :takenAt, t.project_member_project_id, t.name, t.description, t.status, t.priority, " +
+            "t.due_date, t.end_date, u.email FROM tasks t JOIN users u ON u.id = t.project_member_user_id ";
+
+    // Premier snapshot : toutes les tâches
+    @Modifying
+    @Query(value = SNAPSHOT_INSERT, nativeQuery = true)
+    int snapshotAllTasks(@Param("takenAt") LocalDateTime takenAt);
+
+    // Snapshots suivants : seules les tâches modifiées depuis le précédent
+    @Modifying
+    @Query(value = SNAPSHOT_INSERT + "WHERE EXISTS (SELECT 1 FROM task_history h " +
+                   "WHERE h.task_id = t.id AND h.modified_at > :since)",
+           nativeQuery = true)
+    int snapshotTasksModifiedSince(@Param("takenAt") LocalDateTime takenAt, @Param("since") LocalDateTime since);
+
+    @Query("SELECT MAX(s.takenAt) FROM TaskSnapshot s")
+    Optional<LocalDateTime> findLatestTakenAt();
+
+    Optional<TaskSnapshot> findFirstByTaskIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(UUID taskId, LocalDateTime takenAt);
+
+    // Pour chaque tâche du projet, le premier snapshot pris à partir de takenAt
+    @Query("SELECT s FROM TaskSnapshot s WHERE s.projectId = :projectId AND s.takenAt = " +
+           "(SELECT MIN(s2.takenAt) FROM TaskSnapshot s2 WHERE s2.taskId = s.taskId AND s2.takenAt >= :takenAt)")
+    List<TaskSnapshot> findFirstByProjectIdTakenFrom(@Param("projectId") UUID projectId,
+                                                     @Param("takenAt") LocalDateTime takenAt);
+}
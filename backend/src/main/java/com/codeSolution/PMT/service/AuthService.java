@@ -5,6 +5,7 @@ import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.codeSolution.PMT.config.JwtService;
 import com.codeSolution.PMT.dto.AuthResponse;
 import com.codeSolution.PMT.dto.LoginRequest;
 import com.codeSolution.PMT.dto.RegisterRequest;
@@ -17,6 +18,7 @@ import com.codeSolution.PMT.repository.UserRepository;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final JwtService jwtService;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByUserName(request.getUsername())) {
@@ -33,8 +35,7 @@ public class AuthService {
         user.setPassword(BCrypt.hashpw(request.getPassword(), BCrypt.gensalt()));
 
         User savedUser = userRepository.save(user);
-        // Retourner une réponse simple sans token JWT
-        return new AuthResponse(null, savedUser.getId(), savedUser.getUserName(), savedUser.getEmail());
+        return new AuthResponse(jwtService.generateToken(savedUser.getId()), savedUser.getId(), savedUser.getUserName(), savedUser.getEmail());
     }
 
     public AuthResponse login(LoginRequest request) {
@@ -46,8 +47,7 @@ public class AuthService {
             throw new RuntimeException("Invalid email or password");
         }
 
-        // Retourner une réponse simple sans token JWT
-        return new AuthResponse(null, user.getId(), user.getUserName(), user.getEmail());
+        return new AuthResponse(jwtService.generateToken(user.getId()), user.getId(), user.getUserName(), user.getEmail());
     }
 }
 
@@ -0,0 +1,183 @@
+package com.codeSolution.PMT.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codeSolution.PMT.model.EmailOutbox;
+import com.codeSolution.PMT.repository.EmailOutboxRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Vide la table email_outbox par lots, hors du thread de la requête.
+ * Chaque lot est réservé par un UPDATE conditionnel (un email n'est envoyé que par le
+ * dispatcher qui l'a réservé), regroupé par destinataire, envoyé en parallèle puis marqué SENT
+ * en une seule requête.
+ * Les échecs sont reprogrammés avec un délai exponentiel jusqu'à maxAttempts.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final Set<EmailOutbox.Status> CLAIMABLE = EnumSet.of(EmailOutbox.Status.PENDING, EmailOutbox.Status.SENDING);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService senders;
+    private final Clock clock;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration lease;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 EmailService emailService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.email-outbox.batch-size:100}") int batchSize,
+                                 @Value("${app.email-outbox.concurrency:8}") int concurrency,
+                                 @Value("${app.email-outbox.max-attempts:5}") int maxAttempts,
+                                 @Value("${app.email-outbox.retry-delay:PT30S}") Duration retryDelay,
+                                 @Value("${app.email-outbox.lease:PT5M}") Duration lease) {
+        this(emailOutboxRepository, emailService, transactionTemplate, batchSize, maxAttempts, retryDelay, lease,
+                Executors.newFixedThreadPool(concurrency), Clock.systemDefaultZone());
+    }
+
+    EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                          EmailService emailService,
+                          TransactionTemplate transactionTemplate,
+                          int batchSize,
+                          int maxAttempts,
+                          Duration retryDelay,
+                          Duration lease,
+                          ExecutorService senders,
+                          Clock clock) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.lease = lease;
+        this.senders = senders;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email-outbox.poll-interval-ms:1000}")
+    public void dispatchPending() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    /**
+     * Réserve, envoie et acquitte un lot d'emails
+     * @return Le nombre d'emails réservés dans ce lot
+     */
+    public int dispatchBatch() {
+        UUID token = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            List<UUID> dueIds = emailOutboxRepository.findDueIds(CLAIMABLE, now, Limit.of(batchSize));
+            if (dueIds.isEmpty()) {
+                return Collections.<EmailOutbox>emptyList();
+            }
+            emailOutboxRepository.claim(dueIds, CLAIMABLE, EmailOutbox.Status.SENDING, token, now, now.plus(lease));
+            return emailOutboxRepository.findByClaimToken(token);
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        // Un seul envoi par destinataire : plusieurs assignations deviennent un récapitulatif
+        Map<String, List<EmailOutbox>> byRecipient = claimed.stream()
+                .collect(Collectors.groupingBy(email -> email.getType() + ":" + email.getRecipient(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<UUID> sentIds = Collections.synchronizedList(new ArrayList<>());
+        Map<EmailOutbox, String> failures = new ConcurrentHashMap<>();
+        CompletableFuture.allOf(byRecipient.values().stream()
+                .map(group -> CompletableFuture.runAsync(() -> {
+                    try {
+                        send(group);
+                        group.forEach(email -> sentIds.add(email.getId()));
+                    } catch (RuntimeException e) {
+                        group.forEach(email -> failures.put(email, String.valueOf(e.getMessage())));
+                    }
+                }, senders))
+                .toArray(CompletableFuture[]::new)).join();
+
+        LocalDateTime completedAt = LocalDateTime.now(clock);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                emailOutboxRepository.markSent(sentIds, token, EmailOutbox.Status.SENT, completedAt);
+            }
+            failures.forEach((email, error) -> reschedule(email, token, error, completedAt));
+        });
+        return claimed.size();
+    }
+
+    private void send(List<EmailOutbox> group) {
+        EmailOutbox first = group.get(0);
+        switch (first.getType()) {
+            case TASK_ASSIGNMENT -> {
+                if (group.size() == 1) {
+                    emailService.sendTaskAssignmentNotification(
+                            first.getRecipient(), first.getTaskTitle(), first.getProjectName());
+                } else {
+                    emailService.sendTaskAssignmentDigest(first.getRecipient(), group.stream()
+                            .map(email -> new EmailService.TaskAssignmentItem(email.getTaskTitle(), email.getProjectName()))
+                            .toList());
+                }
+            }
+        }
+    }
+
+    private void reschedule(EmailOutbox email, UUID token, String error, LocalDateTime now) {
+        // attempts a déjà été incrémenté lors de la réservation
+        int attempts = email.getAttempts();
+        if (attempts >= maxAttempts) {
+            log.error("Email {} abandonné après {} tentatives : {}", email.getId(), attempts, error);
+            emailOutboxRepository.release(email.getId(), token, EmailOutbox.Status.FAILED, now, error);
+            return;
+        }
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(MAX_RETRY_DELAY) > 0) {
+            delay = MAX_RETRY_DELAY;
+        }
+        log.warn("Échec d'envoi de l'email {} (tentative {}), nouvel essai dans {} : {}",
+                email.getId(), attempts, delay, error);
+        emailOutboxRepository.release(email.getId(), token, EmailOutbox.Status.PENDING, now.plus(delay), error);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,110 @@
+package com.codeSolution.PMT.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codeSolution.PMT.config.NotificationDigestProperties;
+import com.codeSolution.PMT.model.EmailOutbox;
+import com.codeSolution.PMT.repository.EmailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final NotificationDigestProperties digestProperties;
+
+    /**
+     * Met en file l'email d'assignation dans la transaction de l'appelant :
+     * l'email n'existe que si l'assignation est validée.
+     * Les emails d'un même destinataire partagent la même échéance pour être envoyés ensemble
+     * en un seul récapitulatif ; au-delà de digest.max-size, ils sont libérés immédiatement.
+     * @param taskVersion Version de la tâche une fois assignée : avec la tâche et l'assigné, identifie l'assignation,
+     *                    si bien qu'une requête rejouée sans rien changer ne produit pas de second email
+     * @return false si un email a déjà été mis en file pour cette assignation
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean enqueueTaskAssignment(UUID taskId, UUID assigneeId, Long taskVersion, String recipient,
+                                         String taskTitle, String projectName) {
+        String dedupeKey = assignmentKey(taskId, assigneeId, taskVersion);
+        if (emailOutboxRepository.existsByDedupeKey(dedupeKey)) {
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox email = new EmailOutbox();
+        email.setType(EmailOutbox.EmailType.TASK_ASSIGNMENT);
+        email.setDedupeKey(dedupeKey);
+        email.setRecipient(recipient);
+        email.setTaskTitle(taskTitle);
+        email.setProjectName(projectName);
+        if (digestProperties.isEnabled()) {
+            email.setNextAttemptAt(emailOutboxRepository
+                    .findPendingDueAt(recipient, EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING)
+                    .filter(dueAt -> dueAt.isAfter(now))
+                    .orElse(now.plus(digestProperties.getWindow())));
+        }
+        emailOutboxRepository.save(email);
+
+        if (digestProperties.isEnabled() && emailOutboxRepository.countByRecipientAndTypeAndStatus(
+                recipient, EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING) >= digestProperties.getMaxSize()) {
+            emailOutboxRepository.releasePending(recipient, EmailOutbox.EmailType.TASK_ASSIGNMENT,
+                    EmailOutbox.Status.PENDING, now);
+        }
+        return true;
+    }
+
+    /**
+     * Met en file les emails d'une réassignation en masse : une seule vérification des doublons,
+     * un seul lot d'INSERT, et des emails dus immédiatement puisque le lot est déjà complet.
+     * Le dispatcher les regroupe en récapitulatifs.
+     * @param taskTitles Titres des tâches assignées, par identifiant de tâche
+     * @param taskVersions Versions des tâches une fois réassignées, par identifiant de tâche
+     * @return Le nombre d'emails mis en file
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int enqueueTaskAssignments(UUID assigneeId, Map<UUID, String> taskTitles, Map<UUID, Long> taskVersions,
+                                      String recipient, String projectName) {
+        Map<String, String> titlesByKey = new LinkedHashMap<>();
+        taskTitles.forEach((taskId, title) ->
+                titlesByKey.put(assignmentKey(taskId, assigneeId, taskVersions.get(taskId)), title));
+        emailOutboxRepository.findExistingDedupeKeys(titlesByKey.keySet()).forEach(titlesByKey::remove);
+        if (titlesByKey.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> emails = new ArrayList<>(titlesByKey.size());
+        titlesByKey.forEach((dedupeKey, title) -> {
+            EmailOutbox email = new EmailOutbox();
+            email.setType(EmailOutbox.EmailType.TASK_ASSIGNMENT);
+            email.setDedupeKey(dedupeKey);
+            email.setRecipient(recipient);
+            email.setTaskTitle(title);
+            email.setProjectName(projectName);
+            email.setNextAttemptAt(now);
+            emails.add(email);
+        });
+        emailOutboxRepository.saveAll(emails);
+
+        if (digestProperties.isEnabled()) {
+            // Les assignations déjà en attente partent dans le même récapitulatif
+            emailOutboxRepository.releasePending(recipient, EmailOutbox.EmailType.TASK_ASSIGNMENT,
+                    EmailOutbox.Status.PENDING, now);
+        }
+        return emails.size();
+    }
+
+    private static String assignmentKey(UUID taskId, UUID assigneeId, Long taskVersion) {
+        return EmailOutbox.EmailType.TASK_ASSIGNMENT + ":" + taskId + ":" + assigneeId + ":" + taskVersion;
+    }
+}
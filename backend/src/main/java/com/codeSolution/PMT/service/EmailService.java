@@ -4,6 +4,9 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @Slf4j
 public class EmailService {
@@ -16,12 +19,28 @@ public class EmailService {
         private final boolean sent;
     }
 
+    @Data
+    public static class TaskAssignmentItem {
+        private final String taskTitle;
+        private final String projectName;
+    }
+
     public EmailNotificationResult sendTaskAssignmentNotification(String userEmail, String taskTitle, String projectName) {
         log.info("Email de notification envoyé à {} : Tâche '{}' assignée dans le projet '{}'", 
                 userEmail, taskTitle, projectName);
         return new EmailNotificationResult(userEmail, taskTitle, projectName, true);
     }
 
+    /**
+     * Un seul email récapitulant plusieurs assignations au même destinataire
+     */
+    public void sendTaskAssignmentDigest(String userEmail, List<TaskAssignmentItem> assignments) {
+        log.info("Email récapitulatif envoyé à {} : {} tâches assignées ({})", 
+                userEmail, assignments.size(), assignments.stream()
+                        .map(item -> "'" + item.getTaskTitle() + "' dans '" + item.getProjectName() + "'")
+                        .collect(Collectors.joining(", ")));
+    }
+
     public void sendProjectInvitation(String userEmail, String projectName, String inviterName) {
         log.info("Email d'invitation envoyé à {} : Invitation au projet '{}' par {}", 
                 userEmail, projectName, inviterName);
@@ -0,0 +1,11 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.dto.NotificationDTO;
+
+import java.util.UUID;
+
+/**
+ * Publié à la création d'une notification, diffusé aux clients connectés après le commit
+ */
+public record NotificationCreatedEvent(UUID userId, NotificationDTO notification) {
+}
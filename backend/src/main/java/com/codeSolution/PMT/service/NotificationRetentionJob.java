@@ -0,0 +1,167 @@
+package com.codeSolution.PMT.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codeSolution.PMT.repository.NotificationRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Purge planifiée des notifications.
+ * Par défaut, les notifications lues plus anciennes que read-max-age sont supprimées par lots,
+ * chaque lot dans sa propre transaction courte pour ne jamais verrouiller la table longtemps.
+ * Si la table est partitionnée par mois (voir database/notifications_partitioning.sql),
+ * les partitions entièrement plus anciennes que partition-max-age sont détachées puis supprimées,
+ * et la partition du mois suivant est créée à l'avance.
+ */
+@Component
+@Slf4j
+public class NotificationRetentionJob {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    private final Duration readMaxAge;
+    private final int batchSize;
+    private final boolean partitioned;
+    private final Duration partitionMaxAge;
+
+    @Autowired
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    JdbcTemplate jdbcTemplate,
+                                    @Value("${app.notifications.retention.read-max-age:P30D}") Duration readMaxAge,
+                                    @Value("${app.notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${app.notifications.retention.partitioned:false}") boolean partitioned,
+                                    @Value("${app.notifications.retention.partition-max-age:P365D}") Duration partitionMaxAge) {
+        this(notificationRepository, transactionTemplate, jdbcTemplate, readMaxAge, batchSize,
+                partitioned, partitionMaxAge, Clock.systemDefaultZone());
+    }
+
+    NotificationRetentionJob(NotificationRepository notificationRepository,
+                             TransactionTemplate transactionTemplate,
+                             JdbcTemplate jdbcTemplate,
+                             Duration readMaxAge,
+                             int batchSize,
+                             boolean partitioned,
+                             Duration partitionMaxAge,
+                             Clock clock) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readMaxAge = readMaxAge;
+        this.batchSize = batchSize;
+        this.partitioned = partitioned;
+        this.partitionMaxAge = partitionMaxAge;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (partitioned) {
+            createNextPartition();
+            dropExpiredPartitions();
+        }
+        int deleted = purgeReadNotifications();
+        if (deleted > 0) {
+            log.info("Rétention : {} notifications lues supprimées", deleted);
+        }
+    }
+
+    /**
+     * Supprime les notifications lues plus anciennes que read-max-age, lot par lot
+     * @return Le nombre de notifications supprimées
+     */
+    public int purgeReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(readMaxAge);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<UUID> ids = notificationRepository.findReadIdsCreatedBefore(cutoff, Limit.of(batchSize));
+                return ids.isEmpty() ? 0 : notificationRepository.deleteByIds(ids);
+            });
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    /**
+     * Détache et supprime les partitions mensuelles dont la fin précède partition-max-age.
+     * Les compteurs des utilisateurs ayant des notifications non lues dans ces partitions sont
+     * supprimés : ils seront recalculés depuis la table à la prochaine lecture.
+     */
+    public void dropExpiredPartitions() {
+        LocalDate cutoff = LocalDateTime.now(clock).minus(partitionMaxAge).toLocalDate();
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT child.relname FROM pg_inherits i " +
+                "JOIN pg_class child ON child.oid = i.inhrelid " +
+                "JOIN pg_class parent ON parent.oid = i.inhparent " +
+                "WHERE parent.relname = 'notifications'", String.class);
+
+        for (String partition : partitions) {
+            Optional<LocalDate> end = partitionEnd(partition);
+            if (end.isEmpty() || end.get().isAfter(cutoff)) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM notification_counters WHERE user_id IN " +
+                        "(SELECT DISTINCT project_member_user_id FROM " + partition + " WHERE is_read = FALSE)");
+                jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            });
+            log.info("Rétention : partition {} supprimée", partition);
+        }
+    }
+
+    public void createNextPartition() {
+        YearMonth next = YearMonth.now(clock).plusMonths(1);
+        String partition = "notifications_p" + next.format(PARTITION_MONTH);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF notifications " +
+                    "FOR VALUES FROM ('" + next.atDay(1) + "') TO ('" + next.plusMonths(1).atDay(1) + "')");
+        } catch (DataAccessException e) {
+            // Par exemple si la partition par défaut contient déjà des lignes de ce mois
+            log.warn("Impossible de créer la partition {} : {}", partition, e.getMessage());
+        }
+    }
+
+    /**
+     * Date de fin (exclue) d'une partition mensuelle nommée notifications_pYYYYMM
+     */
+    static Optional<LocalDate> partitionEnd(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(matcher.group(1), PARTITION_MONTH).plusMonths(1).atDay(1));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
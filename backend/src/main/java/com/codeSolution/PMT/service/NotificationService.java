@@ -1,29 +1,190 @@
 package com.codeSolution.PMT.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.codeSolution.PMT.config.NotificationDigestProperties;
+import com.codeSolution.PMT.dto.CursorPage;
+import com.codeSolution.PMT.dto.NotificationDTO;
 import com.codeSolution.PMT.model.Notification;
 import com.codeSolution.PMT.model.ProjectMember;
 import com.codeSolution.PMT.model.Task;
 import com.codeSolution.PMT.repository.NotificationRepository;
+import com.codeSolution.PMT.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class NotificationService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationDigestProperties digestProperties;
 
+    /**
+     * Notifie le membre d'une assignation. Si une notification d'assignation non lue a été créée
+     * pour lui dans ce projet depuis moins de la fenêtre de regroupement, elle est complétée
+     * au lieu d'en insérer une nouvelle.
+     */
     public Notification createTaskAssignmentNotification(ProjectMember assigneeMember, Task task) {
-        Notification notification = new Notification();
-        notification.setProjectMember(assigneeMember);
-        notification.setTask(task);
-        notification.setMessage(String.format("La tâche '%s' vous a été assignée dans le projet '%s'.", 
-                task.getName(), assigneeMember.getProject().getName()));
-        notification.setIsRead(false);
+        return createTaskAssignmentNotification(assigneeMember, task, task.getName(), 1);
+    }
+
+    /**
+     * Notifie le membre de plusieurs assignations en une seule notification (réassignation en masse)
+     * @param task Dernière tâche assignée, peut être une référence non chargée
+     * @param assignedCount Nombre de tâches assignées
+     */
+    public Notification createTaskAssignmentNotification(ProjectMember assigneeMember, Task task, String taskName,
+                                                         int assignedCount) {
+        String projectName = assigneeMember.getProject().getName();
+
+        Notification notification = findOpenDigest(assigneeMember)
+                .map(digest -> {
+                    int count = digest.getAssignmentCount() + assignedCount;
+                    digest.setAssignmentCount(count);
+                    digest.setTask(task);
+                    digest.setMessage(digestMessage(count, projectName, taskName));
+                    return digest;
+                })
+                .orElseGet(() -> {
+                    Notification created = new Notification();
+                    created.setProjectMember(assigneeMember);
+                    created.setTask(task);
+                    created.setMessage(assignedCount == 1
+                            ? String.format("La tâche '%s' vous a été assignée dans le projet '%s'.", taskName, projectName)
+                            : digestMessage(assignedCount, projectName, taskName));
+                    created.setIsRead(false);
+                    created.setAssignmentCount(assignedCount);
+                    // Une notification regroupée reste une seule notification non lue
+                    unreadCounter.add(assigneeMember.getUserId(), 1);
+                    return created;
+                });
         
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        // Poussé aux clients par NotificationStreamHub une fois la transaction validée
+        eventPublisher.publishEvent(new NotificationCreatedEvent(
+                assigneeMember.getUserId(), NotificationDTO.fromNotification(savedNotification)));
+        return savedNotification;
+    }
+
+    private static String digestMessage(int count, String projectName, String taskName) {
+        return String.format("%d tâches vous ont été assignées dans le projet '%s', dont '%s'.", count, projectName, taskName);
+    }
+
+    private Optional<Notification> findOpenDigest(ProjectMember assigneeMember) {
+        if (!digestProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        LocalDateTime since = LocalDateTime.now().minus(digestProperties.getWindow());
+        return notificationRepository.findOpenDigests(assigneeMember.getProjectId(), assigneeMember.getUserId(),
+                since, digestProperties.getMaxSize(), Limit.of(1)).stream().findFirst();
+    }
+
+    // Sans transaction, comme UnreadNotificationCounter.getUnreadCount
+    public long getUnreadCount(UUID userId) {
+        return unreadCounter.getUnreadCount(userId);
+    }
+
+    /**
+     * Page de la boîte de réception de l'utilisateur, tous projets confondus, des plus récentes aux plus anciennes.
+     * Le curseur porte (createdAt, id) de la dernière notification lue.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationDTO> findInboxPage(UUID userId, int limit, String cursor, boolean unreadOnly) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Une ligne de plus pour savoir s'il existe une page suivante
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<NotificationDTO> notifications;
+        if (cursor == null || cursor.isEmpty()) {
+            notifications = unreadOnly
+                    ? notificationRepository.findFirstUnreadInboxPage(userId, fetchLimit)
+                    : notificationRepository.findFirstInboxPage(userId, fetchLimit);
+        } else {
+            String[] key = KeysetCursor.decode(cursor, 2);
+            UUID lastId = UUID.fromString(key[1]);
+            LocalDateTime lastCreatedAt;
+            try {
+                lastCreatedAt = LocalDateTime.parse(key[0]);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            notifications = unreadOnly
+                    ? notificationRepository.findUnreadInboxPageAfter(userId, lastCreatedAt, lastId, fetchLimit)
+                    : notificationRepository.findInboxPageAfter(userId, lastCreatedAt, lastId, fetchLimit);
+        }
+
+        List<NotificationDTO> items = notifications.size() > pageSize ? notifications.subList(0, pageSize) : notifications;
+        String nextCursor = null;
+        if (notifications.size() > pageSize) {
+            NotificationDTO last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt().toString(), last.getId().toString());
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Marque toutes les notifications de l'utilisateur comme lues en une seule requête
+     * @return Le nombre de notifications passées à « lue »
+     */
+    public int markAllAsRead(UUID userId) {
+        int updated = notificationRepository.markAllAsRead(userId);
+        if (updated > 0) {
+            // Décrément du nombre exact de lignes modifiées : une notification créée entre-temps reste comptée
+            unreadCounter.add(userId, -updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Marque une notification de l'utilisateur comme lue.
+     * Une notification déjà lue ne modifie ni la ligne ni le compteur.
+     */
+    public void markAsRead(UUID notificationId, UUID userId) {
+        if (notificationRepository.markAsRead(notificationId, userId) == 1) {
+            unreadCounter.add(userId, -1);
+        } else if (!notificationRepository.existsByIdAndProjectMemberUserId(notificationId, userId)) {
+            throw new RuntimeException("Notification not found");
+        }
+    }
+
+    /**
+     * À appeler avant de supprimer la tâche : ses notifications disparaissent par ON DELETE CASCADE,
+     * sans passer par les compteurs de non lues de leurs destinataires
+     */
+    public void beforeTaskDeleted(UUID taskId) {
+        subtractUnread(notificationRepository.countUnreadByRecipientForTask(taskId));
+    }
+
+    public void beforeProjectDeleted(UUID projectId) {
+        subtractUnread(notificationRepository.countUnreadByRecipientForProject(projectId));
+    }
+
+    // Le membre emporte ses notifications et, avec ses tâches, celles des autres membres sur ces tâches
+    public void beforeMemberRemoved(UUID projectId, UUID userId) {
+        subtractUnread(notificationRepository.countUnreadByRecipientForMember(projectId, userId));
+    }
+
+    public void beforeUserDeleted(UUID userId) {
+        subtractUnread(notificationRepository.countUnreadByRecipientForUser(userId));
+    }
+
+    private void subtractUnread(List<Object[]> unreadByRecipient) {
+        for (Object[] row : unreadByRecipient) {
+            unreadCounter.add((UUID) row[0], -((Number) row[1]).longValue());
+        }
     }
 }
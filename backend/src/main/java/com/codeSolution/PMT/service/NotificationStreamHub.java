@@ -0,0 +1,198 @@
+package com.codeSolution.PMT.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Diffusion des notifications aux clients connectés en Server-Sent Events, par utilisateur.
+ * Les connexions inactives ne retiennent aucun thread (requêtes asynchrones Servlet) ;
+ * les envois passent par un petit pool partagé, dans l'ordre pour chaque connexion.
+ * Une connexion trop lente (file d'attente pleine) est fermée : le client se reconnecte
+ * et recharge ses notifications plutôt que de faire grossir la mémoire du serveur.
+ */
+@Component
+@Slf4j
+public class NotificationStreamHub {
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Executor senders;
+    private final int maxConnectionsPerUser;
+    private final int maxPendingEvents;
+
+    @Autowired
+    public NotificationStreamHub(@Value("${app.notifications.stream.timeout:PT30M}") Duration timeout,
+                                 @Value("${app.notifications.stream.sender-threads:4}") int senderThreads,
+                                 @Value("${app.notifications.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                 @Value("${app.notifications.stream.max-pending-events:100}") int maxPendingEvents) {
+        this(() -> new SseEmitter(timeout.toMillis()), Executors.newFixedThreadPool(senderThreads),
+                maxConnectionsPerUser, maxPendingEvents);
+    }
+
+    NotificationStreamHub(Supplier<SseEmitter> emitterFactory, Executor senders,
+                          int maxConnectionsPerUser, int maxPendingEvents) {
+        this.emitterFactory = emitterFactory;
+        this.senders = senders;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    /**
+     * Ouvre un flux pour l'utilisateur. Au-delà de maxConnectionsPerUser,
+     * la plus ancienne connexion de cet utilisateur est fermée.
+     */
+    public SseEmitter subscribe(UUID userId) {
+        Subscriber subscriber = new Subscriber(userId, emitterFactory.get(), sequence.incrementAndGet());
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> remove(subscriber));
+
+        Set<Subscriber> userSubscribers = subscribers.compute(userId, (id, current) -> {
+            Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        if (userSubscribers.size() > maxConnectionsPerUser) {
+            userSubscribers.stream()
+                    .min(Comparator.comparingLong(s -> s.sequence))
+                    .ifPresent(Subscriber::close);
+        }
+
+        // Premier octet envoyé tout de suite pour que proxys et navigateurs ouvrent le flux
+        subscriber.enqueue(() -> SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        publish(event.userId(), () -> SseEmitter.event()
+                .name("notification")
+                .id(event.notification().getId().toString())
+                .data(event.notification()));
+    }
+
+    public void publish(UUID userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.enqueue(event));
+        }
+    }
+
+    /**
+     * Commentaire SSE périodique : garde les connexions ouvertes derrière les proxys
+     * et détecte les clients partis (l'envoi échoue et la connexion est retirée)
+     */
+    @Scheduled(fixedRateString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> subscriber.enqueue(() -> SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int connectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List.copyOf(subscribers.values()).forEach(userSubscribers -> List.copyOf(userSubscribers).forEach(Subscriber::close));
+        if (senders instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final long sequence;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(UUID userId, SseEmitter emitter, long sequence) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.sequence = sequence;
+        }
+
+        private void enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                log.warn("Flux SSE trop lent fermé : user={}", userId);
+                close();
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event.get());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client déconnecté ou flux déjà terminé
+                remove(this);
+                pending.clear();
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+            remove(this);
+            pending.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.codeSolution.PMT.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codeSolution.PMT.dto.DurationStatsDTO;
+import com.codeSolution.PMT.dto.ProjectAnalyticsDTO;
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.TaskHistory;
+import com.codeSolution.PMT.repository.TaskHistoryRepository;
+import com.codeSolution.PMT.repository.TaskRepository;
+import com.codeSolution.PMT.util.AfterCommit;
+import com.codeSolution.PMT.util.CacheLoadGuard;
+import com.codeSolution.PMT.util.ExpiringCache;
+import com.codeSolution.PMT.util.PrimaryRead;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Analytics de flux par projet, calculées à partir des changements de statut de TaskHistory :
+ * lead time (création -> DONE), cycle time (premier IN_PROGRESS -> DONE), débit hebdomadaire et burndown.
+ * Le calcul fait une seule lecture en flux, sans tri, des entrées de statut et de création du projet :
+ * chaque tâche ne garde que des minimums et maximums, qui ne dépendent pas de l'ordre de lecture.
+ * Le burndown part du nombre actuel de tâches non terminées et remonte les semaines ; il ne dépend donc
+ * que des entrées de la période, toujours en base tant qu'elle est plus courte que l'âge d'archivage.
+ * Le lead time d'une tâche dont la création a été archivée n'est pas calculé.
+ * Le résultat est mis en cache par projet et invalidé par TaskService quand un statut change
+ * ou qu'une tâche est créée ou supprimée ; il est calculé sur la base principale (PrimaryRead).
+ */
+@Service
+@Slf4j
+public class ProjectAnalyticsService {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final int MAX_CACHED_PROJECTS = 1_000;
+    private static final String DONE = Task.TaskStatus.DONE.name();
+    private static final String IN_PROGRESS = Task.TaskStatus.IN_PROGRESS.name();
+    private static final Comparator<TaskHistoryDTO> HISTORY_ORDER = Comparator
+            .comparing(TaskHistoryDTO::getModifiedAt)
+            .thenComparing(TaskHistoryDTO::getId);
+
+    private final TaskRepository taskRepository;
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final ProjectMembershipCache membershipCache;
+    private final int weeks;
+    private final Clock clock;
+    private final ExpiringCache<UUID, ProjectAnalyticsDTO> analytics;
+    // Un calcul commencé avant la dernière invalidation de son projet n'est pas mis en cache
+    private final CacheLoadGuard<UUID> loadGuard = new CacheLoadGuard<>();
+
+    @Autowired
+    public ProjectAnalyticsService(TaskRepository taskRepository,
+                                   TaskHistoryRepository taskHistoryRepository,
+                                   ProjectMembershipCache membershipCache,
+                                   @Value("${app.project-analytics.weeks:12}") int weeks) {
+        this(taskRepository, taskHistoryRepository, membershipCache, weeks, Clock.systemDefaultZone());
+    }
+
+    ProjectAnalyticsService(TaskRepository taskRepository,
+                            TaskHistoryRepository taskHistoryRepository,
+                            ProjectMembershipCache membershipCache,
+                            int weeks,
+                            Clock clock) {
+        this.taskRepository = taskRepository;
+        this.taskHistoryRepository = taskHistoryRepository;
+        this.membershipCache = membershipCache;
+        this.weeks = weeks;
+        this.clock = clock;
+        this.analytics = new ExpiringCache<>(MAX_CACHED_PROJECTS, clock);
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectAnalyticsDTO getAnalytics(UUID projectId, UUID userId) {
+        membershipCache.getRole(projectId, userId)
+                .orElseThrow(() -> new RuntimeException("You must be a member of the project to view statistics."));
+
+        Optional<ProjectAnalyticsDTO> cached = analytics.get(projectId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long computation = loadGuard.startLoad();
+        try {
+            return PrimaryRead.load(() -> compute(projectId), computed -> {
+                if (!loadGuard.changedSince(projectId, computation)) {
+                    analytics.put(projectId, computed, TTL);
+                    // Invalidation arrivée entre la vérification et la mise en cache
+                    if (loadGuard.changedSince(projectId, computation)) {
+                        analytics.invalidate(projectId);
+                    }
+                }
+            });
+        } finally {
+            loadGuard.endLoad(computation);
+        }
+    }
+
+    /**
+     * Invalide les analytics du projet après le commit de la transaction courante
+     */
+    public void invalidate(UUID projectId) {
+        AfterCommit.run(() -> {
+            loadGuard.changed(projectId);
+            analytics.invalidate(projectId);
+        });
+    }
+
+    private ProjectAnalyticsDTO compute(UUID projectId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate firstWeek = now.toLocalDate()
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .minusWeeks(weeks - 1L);
+        LocalDateTime periodStart = firstWeek.atStartOfDay();
+
+        Map<UUID, Task.TaskStatus> currentStatuses = new HashMap<>();
+        for (Object[] row : taskRepository.findStatusesByProjectId(projectId)) {
+            currentStatuses.put((UUID) row[0], (Task.TaskStatus) row[1]);
+        }
+
+        Map<UUID, TaskFlow> flows = new HashMap<>();
+        long[] completions = new long[weeks];
+        // Variation du nombre de tâches non terminées, par semaine
+        long[] openDeltas = new long[weeks];
+        try (Stream<TaskHistoryDTO> entries = taskHistoryRepository.streamStatusAndCreationEntriesByProjectId(projectId)) {
+            entries.forEach(entry -> {
+                TaskFlow flow = flows.computeIfAbsent(entry.getTaskId(), taskId -> new TaskFlow());
+                if (entry.getFieldName() == TaskHistory.FieldName.name) {
+                    flow.created(entry.getModifiedAt());
+                    return;
+                }
+                flow.statusChanged(entry);
+                int week = weekIndex(firstWeek, entry.getModifiedAt());
+                if (week < 0) {
+                    return;
+                }
+                boolean wasDone = DONE.equals(entry.getOldValue());
+                boolean isDone = DONE.equals(entry.getNewValue());
+                if (!wasDone && isDone) {
+                    completions[week]++;
+                    openDeltas[week]--;
+                } else if (wasDone && !isDone) {
+                    openDeltas[week]++;
+                }
+            });
+        }
+
+        List<Double> leadTimes = new ArrayList<>();
+        List<Double> cycleTimes = new ArrayList<>();
+        flows.forEach((taskId, flow) -> {
+            Task.TaskStatus currentStatus = currentStatuses.get(taskId);
+            if (currentStatus == null) {
+                return;
+            }
+            // Une tâche créée sur la période s'ajoute au reste à faire, sauf si elle a été créée terminée
+            int createdWeek = flow.createdAt != null ? weekIndex(firstWeek, flow.createdAt) : -1;
+            if (createdWeek >= 0 && flow.initialStatus(currentStatus) != Task.TaskStatus.DONE) {
+                openDeltas[createdWeek]++;
+            }
+            LocalDateTime doneAt = flow.doneAt();
+            if (currentStatus != Task.TaskStatus.DONE || doneAt == null || doneAt.isBefore(periodStart)) {
+                return;
+            }
+            if (flow.createdAt != null && !flow.createdAt.isAfter(doneAt)) {
+                leadTimes.add(hoursBetween(flow.createdAt, doneAt));
+            }
+            if (flow.startedAt != null && !flow.startedAt.isAfter(doneAt)) {
+                cycleTimes.add(hoursBetween(flow.startedAt, doneAt));
+            }
+        });
+
+        long open = currentStatuses.values().stream().filter(status -> status != Task.TaskStatus.DONE).count();
+        long[] openAtWeekEnd = new long[weeks];
+        for (int week = weeks - 1; week >= 0; week--) {
+            openAtWeekEnd[week] = open;
+            open -= openDeltas[week];
+        }
+        Map<LocalDate, Long> throughput = new LinkedHashMap<>();
+        Map<LocalDate, Long> burndown = new LinkedHashMap<>();
+        for (int week = 0; week < weeks; week++) {
+            throughput.put(firstWeek.plusWeeks(week), completions[week]);
+            burndown.put(firstWeek.plusWeeks(week), openAtWeekEnd[week]);
+        }
+
+        log.debug("Project analytics computed: projectId={}, tasks={}", projectId, flows.size());
+        return new ProjectAnalyticsDTO(projectId, now, durationStats(leadTimes), durationStats(cycleTimes),
+                throughput, burndown);
+    }
+
+    /**
+     * Indice de la semaine de la période contenant at, -1 hors période
+     */
+    private int weekIndex(LocalDate firstWeek, LocalDateTime at) {
+        long days = ChronoUnit.DAYS.between(firstWeek, at.toLocalDate());
+        if (days < 0 || days >= weeks * 7L) {
+            return -1;
+        }
+        return (int) (days / 7);
+    }
+
+    private static double hoursBetween(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toMinutes() / 60.0;
+    }
+
+    private static DurationStatsDTO durationStats(List<Double> hours) {
+        if (hours.isEmpty()) {
+            return new DurationStatsDTO(0, null, null, null);
+        }
+        double[] sorted = hours.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        double average = hours.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+        return new DurationStatsDTO(sorted.length, round(average), round(percentile(sorted, 0.5)),
+                round(percentile(sorted, 0.85)));
+    }
+
+    // Percentile au rang le plus proche
+    private static double percentile(double[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double round(double hours) {
+        return Math.round(hours * 10) / 10.0;
+    }
+
+    /**
+     * Repères d'une tâche accumulés pendant la lecture, quel que soit l'ordre des entrées
+     */
+    private static final class TaskFlow {
+        private LocalDateTime createdAt;
+        private LocalDateTime startedAt;
+        private TaskHistoryDTO firstStatusChange;
+        private TaskHistoryDTO lastStatusChange;
+
+        private void created(LocalDateTime at) {
+            if (createdAt == null || at.isBefore(createdAt)) {
+                createdAt = at;
+            }
+        }
+
+        private void statusChanged(TaskHistoryDTO entry) {
+            if (IN_PROGRESS.equals(entry.getNewValue())
+                    && (startedAt == null || entry.getModifiedAt().isBefore(startedAt))) {
+                startedAt = entry.getModifiedAt();
+            }
+            if (firstStatusChange == null || HISTORY_ORDER.compare(entry, firstStatusChange) < 0) {
+                firstStatusChange = entry;
+            }
+            if (lastStatusChange == null || HISTORY_ORDER.compare(entry, lastStatusChange) > 0) {
+                lastStatusChange = entry;
+            }
+        }
+
+        private Task.TaskStatus initialStatus(Task.TaskStatus currentStatus) {
+            if (firstStatusChange == null || firstStatusChange.getOldValue() == null) {
+                return currentStatus;
+            }
+            return Task.TaskStatus.valueOf(firstStatusChange.getOldValue());
+        }
+
+        // Dernier passage à DONE, si la tâche n'a pas été rouverte depuis
+        private LocalDateTime doneAt() {
+            return lastStatusChange != null && DONE.equals(lastStatusChange.getNewValue())
+                    ? lastStatusChange.getModifiedAt() : null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.codeSolution.PMT.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.ProjectMemberId;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.repository.ProjectMemberRepository;
+import com.codeSolution.PMT.util.ExpiringCache;
+import com.codeSolution.PMT.util.PrimaryRead;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache des rôles par couple (projet, utilisateur), utilisé par les vérifications de droits
+ * de TaskService et ProjectService. Doit être invalidé après le commit de chaque modification des membres :
+ * invalidé avant, il serait rechargé par une requête concurrente avec le rôle pas encore modifié.
+ * Les rôles sont chargés depuis la base principale (PrimaryRead), jamais depuis un réplica en retard.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectMembershipCache {
+
+    private static final Duration MEMBER_TTL = Duration.ofMinutes(5);
+    private static final Duration NON_MEMBER_TTL = Duration.ofSeconds(30);
+    private static final int MAX_CACHED_MEMBERSHIPS = 50_000;
+
+    // role null : l'utilisateur n'est pas membre du projet
+    private record Membership(Role role) {
+    }
+
+    private final ProjectMemberRepository projectMemberRepository;
+
+    private final ExpiringCache<ProjectMemberId, Membership> memberships = new ExpiringCache<>(MAX_CACHED_MEMBERSHIPS);
+
+    public Optional<Role> getRole(UUID projectId, UUID userId) {
+        ProjectMemberId key = new ProjectMemberId(projectId, userId);
+        Membership membership = memberships.get(key).orElseGet(() -> PrimaryRead.load(
+                () -> new Membership(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)
+                        .map(ProjectMember::getRole)
+                        .orElse(null)),
+                loaded -> memberships.put(key, loaded, loaded.role() != null ? MEMBER_TTL : NON_MEMBER_TTL)));
+        return Optional.ofNullable(membership.role());
+    }
+
+    /**
+     * Vrai si l'utilisateur peut modifier le projet (ADMIN ou MEMBER)
+     */
+    public boolean canEdit(UUID projectId, UUID userId) {
+        return getRole(projectId, userId)
+                .map(role -> role == Role.ADMIN || role == Role.MEMBER)
+                .orElse(false);
+    }
+
+    public void evict(UUID projectId, UUID userId) {
+        memberships.invalidate(new ProjectMemberId(projectId, userId));
+    }
+
+    public void evictProject(UUID projectId) {
+        memberships.invalidateIf(key -> projectId.equals(key.getProjectId()));
+    }
+
+    public void evictUser(UUID userId) {
+        memberships.invalidateIf(key -> userId.equals(key.getUserId()));
+    }
+}
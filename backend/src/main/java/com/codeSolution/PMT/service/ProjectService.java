@@ -15,11 +15,11 @@ import com.codeSolution.PMT.model.User;
 import com.codeSolution.PMT.repository.ProjectMemberRepository;
 import com.codeSolution.PMT.repository.ProjectRepository;
 import com.codeSolution.PMT.repository.UserRepository;
+import com.codeSolution.PMT.util.AfterCommit;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,15 +30,20 @@ public class ProjectService {
     private final UserRepository userRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final EmailService emailService;
+    private final ProjectMembershipCache membershipCache;
+    private final NotificationService notificationService;
 
+    @Transactional(readOnly = true)
     public List<Project> findAll() {
         return projectRepository.findAll();
     }
 
+    // Lecture-écriture : avec open-in-view, le contrôleur modifie puis sauvegarde l'entité chargée ici
     public Optional<Project> findById(UUID id) {
         return projectRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Project> findByMemberId(UUID memberId) {
         return projectRepository.findByMemberId(memberId);
     }
@@ -52,22 +57,25 @@ public class ProjectService {
         creatorMember.setUserId(creatorId);
         creatorMember.setRole(Role.ADMIN);
         projectMemberRepository.save(creatorMember);
+        AfterCommit.run(() -> membershipCache.evict(savedProject.getId(), creatorId));
         
         return savedProject;
     }
 
     public void deleteById(UUID id) {
+        notificationService.beforeProjectDeleted(id);
         projectRepository.deleteById(id);
+        AfterCommit.run(() -> membershipCache.evictProject(id));
     }
 
     public Project inviteMemberByEmail(UUID projectId, InviteMemberRequest request, UUID inviterId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
         
-        ProjectMember inviterMember = projectMemberRepository.findByProjectIdAndUserId(projectId, inviterId)
+        Role inviterRole = membershipCache.getRole(projectId, inviterId)
                 .orElseThrow(() -> new RuntimeException("You are not a member of this project"));
         
-        if (inviterMember.getRole() != Role.ADMIN) {
+        if (inviterRole != Role.ADMIN) {
             throw new RuntimeException("Only project administrators can invite members");
         }
         
@@ -87,6 +95,7 @@ public class ProjectService {
         member.setUserId(user.getId());
         member.setRole(request.getRole());
         projectMemberRepository.save(member);
+        AfterCommit.run(() -> membershipCache.evict(projectId, user.getId()));
 
         User inviter = userRepository.findById(inviterId)
                 .orElseThrow(() -> new RuntimeException("Inviter not found"));
@@ -109,6 +118,7 @@ public class ProjectService {
         
         member.setRole(request.getRole());
         projectMemberRepository.save(member);
+        AfterCommit.run(() -> membershipCache.evict(projectId, userId));
         
         return projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
@@ -118,47 +128,38 @@ public class ProjectService {
         ProjectMember member = projectMemberRepository.findByProjectIdAndUserId(projectId, userId)
                 .orElseThrow(() -> new RuntimeException("Member not found in project"));
         
+        notificationService.beforeMemberRemoved(projectId, userId);
         projectMemberRepository.delete(member);
+        AfterCommit.run(() -> membershipCache.evict(projectId, userId));
         return projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
     }
 
+    @Transactional(readOnly = true)
     public Optional<Role> getMemberRole(UUID projectId, UUID userId) {
-        return projectMemberRepository.findByProjectIdAndUserId(projectId, userId)
-                .map(ProjectMember::getRole);
+        return membershipCache.getRole(projectId, userId);
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectMember> getProjectMembers(UUID projectId) {
         return projectMemberRepository.findByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectMemberDTO> getProjectMembersWithUserInfo(UUID projectId) {
-        List<ProjectMember> members = projectMemberRepository.findByProjectId(projectId);
-        return members.stream()
-                .map(member -> {
-                    User user = userRepository.findById(member.getUserId())
-                            .orElse(null);
-                    return new ProjectMemberDTO(
-                            member.getProjectId(),
-                            member.getUserId(),
-                            user != null ? user.getEmail() : null,
-                            user != null ? user.getUserName() : null,
-                            member.getRole()
-                    );
-                })
-                .collect(Collectors.toList());
+        return projectMemberRepository.findMemberDTOsByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
     public boolean isProjectAdmin(UUID projectId, UUID userId) {
-        return projectMemberRepository.findByProjectIdAndUserId(projectId, userId)
-                .map(member -> member.getRole() == Role.ADMIN)
+        return membershipCache.getRole(projectId, userId)
+                .map(role -> role == Role.ADMIN)
                 .orElse(false);
     }
 
+    @Transactional(readOnly = true)
     public boolean isProjectMember(UUID projectId, UUID userId) {
-        return projectMemberRepository.findByProjectIdAndUserId(projectId, userId)
-                .map(member -> member.getRole() == Role.ADMIN || member.getRole() == Role.MEMBER)
-                .orElse(false);
+        return membershipCache.canEdit(projectId, userId);
     }
 }
 
@@ -0,0 +1,245 @@
+package com.codeSolution.PMT.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codeSolution.PMT.dto.ProjectStatsDTO;
+import com.codeSolution.PMT.dto.TaskDTO;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.repository.TaskRepository;
+import com.codeSolution.PMT.util.AfterCommit;
+import com.codeSolution.PMT.util.CacheLoadGuard;
+import com.codeSolution.PMT.util.ExpiringCache;
+import com.codeSolution.PMT.util.PrimaryRead;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Statistiques de tableau de bord par projet : effectifs par statut, priorité, assigné et tâches en retard.
+ * Les compteurs sont chargés une fois par une requête GROUP BY, puis ajustés en mémoire après le commit
+ * de chaque modification faite par TaskService ; une lecture ne touche donc pas la table tasks.
+ * Une réconciliation périodique recharge les projets en cache pour corriger les écarts
+ * (modifications faites par une autre instance ou hors de TaskService).
+ * Les compteurs sont chargés depuis la base principale (PrimaryRead), jamais depuis un réplica en retard.
+ */
+@Service
+@Slf4j
+public class ProjectStatsService {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final int MAX_CACHED_PROJECTS = 10_000;
+
+    /**
+     * Champs d'une tâche qui comptent pour les statistiques
+     */
+    public record TaskState(Task.TaskStatus status, Task.TaskPriority priority, UUID assigneeId, LocalDate dueDate) {
+
+        public static TaskState of(Task task) {
+            return new TaskState(task.getStatus(), task.getPriority(),
+                    task.getProjectMember() != null ? task.getProjectMember().getUserId() : null, task.getDueDate());
+        }
+
+        public static TaskState of(TaskDTO task) {
+            return new TaskState(task.getStatus(), task.getPriority(), task.getAssignedUserId(), task.getDueDate());
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final ProjectMembershipCache membershipCache;
+    private final Clock clock;
+    private final ExpiringCache<UUID, ProjectCounters> counters;
+    // Un chargement pendant lequel une modification du projet a été validée n'est pas mis en cache :
+    // le GROUP BY a pu la manquer alors que son ajustement après commit ne portait pas sur ce chargement
+    private final CacheLoadGuard<UUID> loadGuard = new CacheLoadGuard<>();
+
+    @Autowired
+    public ProjectStatsService(TaskRepository taskRepository, ProjectMembershipCache membershipCache) {
+        this(taskRepository, membershipCache, Clock.systemDefaultZone());
+    }
+
+    ProjectStatsService(TaskRepository taskRepository, ProjectMembershipCache membershipCache, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.membershipCache = membershipCache;
+        this.clock = clock;
+        this.counters = new ExpiringCache<>(MAX_CACHED_PROJECTS, clock);
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectStatsDTO getStats(UUID projectId, UUID userId) {
+        membershipCache.getRole(projectId, userId)
+                .orElseThrow(() -> new RuntimeException("You must be a member of the project to view statistics."));
+
+        ProjectCounters projectCounters = counters.get(projectId).orElseGet(() -> loadAndCache(projectId));
+        return projectCounters.toDTO(projectId, LocalDate.now(clock));
+    }
+
+    /**
+     * Enregistre la modification d'une tâche, appliquée aux compteurs après le commit de la transaction courante
+     * @param before État avant la modification, null pour une création
+     * @param after État après la modification, null pour une suppression
+     */
+    public void recordChange(UUID projectId, TaskState before, TaskState after) {
+        if (before != null && before.equals(after)) {
+            return;
+        }
+        recordChanges(projectId, before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of());
+    }
+
+    /**
+     * Variante ensembliste de recordChange pour les opérations en masse
+     */
+    public void recordChanges(UUID projectId, Collection<TaskState> removed, Collection<TaskState> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        List<TaskState> removedCopy = List.copyOf(removed);
+        List<TaskState> addedCopy = List.copyOf(added);
+        // Projet absent du cache : il sera chargé à jour à la prochaine lecture
+        AfterCommit.run(() -> {
+            loadGuard.changed(projectId);
+            counters.computeIfPresent(projectId, current -> current.with(removedCopy, addedCopy));
+        });
+    }
+
+    /**
+     * Recharge depuis la base les compteurs de tous les projets en cache
+     */
+    @Scheduled(fixedDelayString = "${app.project-stats.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        int reconciled = 0;
+        for (UUID projectId : counters.keys()) {
+            if (counters.get(projectId).isEmpty()) {
+                continue;
+            }
+            loadAndCache(projectId);
+            reconciled++;
+        }
+        if (reconciled > 0) {
+            log.debug("Project stats reconciled: projects={}", reconciled);
+        }
+    }
+
+    /**
+     * Charge les compteurs et les met en cache si aucune modification du projet n'a été validée entretemps.
+     * Sinon les compteurs en cache, déjà ajustés, sont gardés ; une modification validée après la vérification
+     * invalide l'entrée, rechargée à la prochaine lecture.
+     */
+    private ProjectCounters loadAndCache(UUID projectId) {
+        long loading = loadGuard.startLoad();
+        try {
+            return PrimaryRead.load(() -> load(projectId), loaded -> {
+                if (!loadGuard.changedSince(projectId, loading)) {
+                    counters.put(projectId, loaded, TTL);
+                    if (loadGuard.changedSince(projectId, loading)) {
+                        counters.invalidate(projectId);
+                    }
+                }
+            });
+        } finally {
+            loadGuard.endLoad(loading);
+        }
+    }
+
+    private ProjectCounters load(UUID projectId) {
+        ProjectCounters.Builder builder = new ProjectCounters.Builder(ProjectCounters.EMPTY);
+        for (Object[] row : taskRepository.countByProjectIdGrouped(projectId)) {
+            TaskState state = new TaskState((Task.TaskStatus) row[0], (Task.TaskPriority) row[1],
+                    (UUID) row[2], (LocalDate) row[3]);
+            builder.add(state, ((Number) row[4]).longValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compteurs immuables d'un projet, remplacés à chaque modification : une lecture concurrente
+     * voit toujours un état cohérent. Les échéances des tâches non terminées sont indexées par date,
+     * le nombre de tâches en retard se calcule donc sans parcourir les tâches.
+     */
+    private record ProjectCounters(long total,
+                                   Map<Task.TaskStatus, Long> byStatus,
+                                   Map<Task.TaskPriority, Long> byPriority,
+                                   Map<UUID, Long> byAssignee,
+                                   NavigableMap<LocalDate, Long> openByDueDate) {
+
+        static final ProjectCounters EMPTY = new ProjectCounters(0, new EnumMap<>(Task.TaskStatus.class),
+                new EnumMap<>(Task.TaskPriority.class), new HashMap<>(), new TreeMap<>());
+
+        ProjectCounters with(List<TaskState> removed, List<TaskState> added) {
+            Builder builder = new Builder(this);
+            removed.forEach(state -> builder.add(state, -1));
+            added.forEach(state -> builder.add(state, 1));
+            return builder.build();
+        }
+
+        ProjectStatsDTO toDTO(UUID projectId, LocalDate today) {
+            Map<Task.TaskStatus, Long> statuses = new EnumMap<>(Task.TaskStatus.class);
+            for (Task.TaskStatus status : Task.TaskStatus.values()) {
+                statuses.put(status, byStatus.getOrDefault(status, 0L));
+            }
+            Map<Task.TaskPriority, Long> priorities = new EnumMap<>(Task.TaskPriority.class);
+            for (Task.TaskPriority priority : Task.TaskPriority.values()) {
+                priorities.put(priority, byPriority.getOrDefault(priority, 0L));
+            }
+            long overdue = 0;
+            for (long count : openByDueDate.headMap(today, false).values()) {
+                overdue += count;
+            }
+            return new ProjectStatsDTO(projectId, total, statuses, priorities, new HashMap<>(byAssignee), overdue);
+        }
+
+        private static final class Builder {
+            private long total;
+            private final Map<Task.TaskStatus, Long> byStatus;
+            private final Map<Task.TaskPriority, Long> byPriority;
+            private final Map<UUID, Long> byAssignee;
+            private final NavigableMap<LocalDate, Long> openByDueDate;
+
+            Builder(ProjectCounters base) {
+                total = base.total();
+                byStatus = new EnumMap<>(base.byStatus());
+                byPriority = new EnumMap<>(base.byPriority());
+                byAssignee = new HashMap<>(base.byAssignee());
+                openByDueDate = new TreeMap<>(base.openByDueDate());
+            }
+
+            void add(TaskState state, long delta) {
+                total = Math.max(0, total + delta);
+                increment(byStatus, state.status(), delta);
+                increment(byPriority, state.priority(), delta);
+                increment(byAssignee, state.assigneeId(), delta);
+                if (state.status() != Task.TaskStatus.DONE) {
+                    increment(openByDueDate, state.dueDate(), delta);
+                }
+            }
+
+            ProjectCounters build() {
+                return new ProjectCounters(total, byStatus, byPriority, byAssignee, openByDueDate);
+            }
+
+            // Les entrées à 0 sont retirées pour que les maps ne grossissent pas avec les dates passées
+            private static <K> void increment(Map<K, Long> counts, K key, long delta) {
+                if (key == null) {
+                    return;
+                }
+                counts.compute(key, (k, count) -> {
+                    long updated = (count != null ? count : 0) + delta;
+                    return updated > 0 ? updated : null;
+                });
+            }
+        }
+    }
+}
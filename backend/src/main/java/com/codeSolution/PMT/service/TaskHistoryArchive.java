@@ -0,0 +1,370 @@
+package com.codeSolution.PMT.service;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.util.AfterCommit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stockage froid de l'historique des tâches : un fichier par tâche, en ajout seul.
+ * Chaque archivage ajoute un membre gzip de lignes JSON à la fin du fichier ;
+ * GZIPInputStream relit les membres concaténés comme un seul flux.
+ * Un index à côté du fichier donne la position et les bornes (modifiedAt, id) de chaque membre :
+ * une page d'historique ne décompresse que les membres qui peuvent y figurer. Les membres absents
+ * de l'index (archives antérieures à l'index, arrêt brutal entre les deux écritures) sont relus en entier.
+ * Les fichiers sont répartis en sous-répertoires selon les deux premiers caractères de l'UUID.
+ * Avec plusieurs instances, le répertoire doit être un stockage partagé monté sur chacune d'elles,
+ * et l'archivage activé sur une seule : les verrous ne protègent que les accès d'un même processus.
+ */
+@Component
+@Slf4j
+public class TaskHistoryArchive {
+
+    private static final String FILE_SUFFIX = ".jsonl.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String INDEX_SEPARATOR = ";";
+    // Ordre de l'historique : (modifiedAt DESC, id DESC)
+    private static final Comparator<TaskHistoryDTO> NEWEST_FIRST = Comparator
+            .comparing(TaskHistoryDTO::getModifiedAt)
+            .thenComparing(TaskHistoryDTO::getId)
+            .reversed();
+    private static final int LOCK_STRIPES = 64;
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private static final ObjectReader ENTRY_READER = JSON_MAPPER.readerFor(TaskHistoryDTO.class);
+    private static final ObjectWriter ENTRY_WRITER = JSON_MAPPER.writerFor(TaskHistoryDTO.class);
+
+    private final Path directory;
+    // Un ajout et une lecture du même fichier ne se chevauchent jamais
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * Membre gzip du fichier ; bornes null pour la fin de fichier non indexée, à lire jusqu'au bout
+     */
+    private record Segment(long offset, long length, TaskHistoryDTO newest, TaskHistoryDTO oldest) {
+        boolean indexed() {
+            return newest != null;
+        }
+    }
+
+    @Autowired
+    public TaskHistoryArchive(@Value("${app.task-history.archive.directory:data/task-history-archive}") String directory) {
+        this(Path.of(directory));
+    }
+
+    TaskHistoryArchive(Path directory) {
+        this.directory = directory;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Ajoute des entrées à l'archive de la tâche et force leur écriture sur disque avant de rendre la main
+     * @throws UncheckedIOException si l'écriture échoue ; le fichier est alors ramené à sa taille précédente
+     */
+    public void append(UUID taskId, List<TaskHistoryDTO> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Path file = fileFor(taskId);
+        synchronized (lockFor(taskId)) {
+            try {
+                Files.createDirectories(file.getParent());
+                long offset;
+                long length;
+                try (FileChannel channel = FileChannel.open(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    offset = channel.size();
+                    try {
+                        GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel));
+                        Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+                        for (TaskHistoryDTO entry : entries) {
+                            writer.write(ENTRY_WRITER.writeValueAsString(entry));
+                            writer.write('\n');
+                        }
+                        writer.flush();
+                        gzip.finish();
+                        channel.force(true);
+                        length = channel.size() - offset;
+                    } catch (IOException e) {
+                        // Pas de membre gzip incomplet au milieu du fichier : les ajouts suivants resteraient illisibles
+                        channel.truncate(offset);
+                        throw e;
+                    }
+                }
+                appendToIndex(taskId, offset, length, entries);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to archive history of task " + taskId, e);
+            }
+        }
+    }
+
+    /**
+     * Sans sa ligne d'index, le membre reste lisible comme fin de fichier non indexée : l'échec n'est pas propagé
+     */
+    private void appendToIndex(UUID taskId, long offset, long length, List<TaskHistoryDTO> entries) {
+        TaskHistoryDTO newest = entries.stream().min(NEWEST_FIRST).orElseThrow();
+        TaskHistoryDTO oldest = entries.stream().max(NEWEST_FIRST).orElseThrow();
+        String line = String.join(INDEX_SEPARATOR, String.valueOf(offset), String.valueOf(length),
+                newest.getModifiedAt().toString(), newest.getId().toString(),
+                oldest.getModifiedAt().toString(), oldest.getId().toString()) + "\n";
+        try (FileChannel channel = FileChannel.open(indexFor(taskId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long previousSize = channel.size();
+            try {
+                channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+                channel.force(true);
+            } catch (IOException e) {
+                channel.truncate(previousSize);
+                throw e;
+            }
+        } catch (IOException e) {
+            log.warn("Unable to index archived history of task {}: {}", taskId, e.getMessage());
+        }
+    }
+
+    /**
+     * Toutes les entrées archivées de la tâche, dans l'ordre d'archivage
+     */
+    public List<TaskHistoryDTO> read(UUID taskId) {
+        Path file = fileFor(taskId);
+        synchronized (lockFor(taskId)) {
+            if (!Files.exists(file)) {
+                return List.of();
+            }
+            List<TaskHistoryDTO> entries = new ArrayList<>();
+            try (InputStream input = Files.newInputStream(file)) {
+                readMembers(taskId, input, entries);
+            } catch (IOException e) {
+                log.warn("Unable to read archived history of task {}: {}", taskId, e.getMessage());
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * Jusqu'à limit entrées archivées distinctes antérieures à before (null : depuis la plus récente),
+     * des plus récentes aux plus anciennes. Les membres sont parcourus du plus récent au plus ancien
+     * d'après l'index, et la lecture s'arrête dès qu'aucun membre restant ne peut entrer dans la page.
+     */
+    public List<TaskHistoryDTO> readPage(UUID taskId, TaskHistoryDTO before, int limit) {
+        Path file = fileFor(taskId);
+        synchronized (lockFor(taskId)) {
+            if (!Files.exists(file)) {
+                return List.of();
+            }
+            Map<UUID, TaskHistoryDTO> found = new HashMap<>();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                List<Segment> segments = segments(taskId, channel.size());
+                // Fin non indexée d'abord, puis du membre le plus récent au plus ancien
+                segments.sort(Comparator.comparing(Segment::newest, Comparator.nullsFirst(NEWEST_FIRST)));
+                for (Segment segment : segments) {
+                    if (found.size() >= limit && segment.indexed()
+                            && NEWEST_FIRST.compare(segment.newest(), nthNewest(found, limit)) > 0) {
+                        break;
+                    }
+                    if (before != null && segment.indexed() && NEWEST_FIRST.compare(segment.oldest(), before) <= 0) {
+                        continue;
+                    }
+                    for (TaskHistoryDTO entry : readSegment(taskId, channel, segment)) {
+                        if (before == null || NEWEST_FIRST.compare(entry, before) > 0) {
+                            found.putIfAbsent(entry.getId(), entry);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Unable to read archived history of task {}: {}", taskId, e.getMessage());
+            }
+            return found.values().stream().sorted(NEWEST_FIRST).limit(limit).toList();
+        }
+    }
+
+    /**
+     * Entrées archivées postérieures à after, dans l'ordre d'archivage.
+     * Toute entrée archivée est antérieure au dernier ajout dans le fichier : s'il n'a pas été écrit
+     * depuis after, aucune entrée ne peut convenir et le fichier n'est pas décompressé.
+     */
+    public List<TaskHistoryDTO> readModifiedAfter(UUID taskId, LocalDateTime after) {
+        Path file = fileFor(taskId);
+        try {
+            Instant lastAppend = Files.getLastModifiedTime(file).toInstant();
+            if (!lastAppend.isAfter(after.atZone(ZoneId.systemDefault()).toInstant())) {
+                return List.of();
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            log.warn("Unable to read modification time of archived history of task {}: {}", taskId, e.getMessage());
+        }
+        synchronized (lockFor(taskId)) {
+            List<TaskHistoryDTO> entries = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (Segment segment : segments(taskId, channel.size())) {
+                    if (segment.indexed() && !segment.newest().getModifiedAt().isAfter(after)) {
+                        continue;
+                    }
+                    for (TaskHistoryDTO entry : readSegment(taskId, channel, segment)) {
+                        if (entry.getModifiedAt().isAfter(after)) {
+                            entries.add(entry);
+                        }
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                return List.of();
+            } catch (IOException e) {
+                log.warn("Unable to read archived history of task {}: {}", taskId, e.getMessage());
+            }
+            return entries;
+        }
+    }
+
+    public void delete(UUID taskId) {
+        synchronized (lockFor(taskId)) {
+            try {
+                Files.deleteIfExists(fileFor(taskId));
+                Files.deleteIfExists(indexFor(taskId));
+            } catch (IOException e) {
+                log.warn("Unable to delete archived history of task {}: {}", taskId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Supprime l'archive de la tâche une fois la transaction courante validée
+     */
+    public void deleteAfterCommit(UUID taskId) {
+        AfterCommit.run(() -> delete(taskId));
+    }
+
+    /**
+     * Membres décrits par l'index, dans l'ordre du fichier, suivis de la fin de fichier qu'il ne couvre pas.
+     * L'index n'est lu que jusqu'à sa première ligne incohérente (ligne tronquée, membre hors du fichier).
+     */
+    private List<Segment> segments(UUID taskId, long fileSize) {
+        List<Segment> segments = new ArrayList<>();
+        long indexedEnd = 0;
+        try {
+            for (String line : Files.readAllLines(indexFor(taskId), StandardCharsets.UTF_8)) {
+                Segment segment = parseSegment(line);
+                if (segment == null || segment.offset() != indexedEnd || segment.offset() + segment.length() > fileSize) {
+                    break;
+                }
+                segments.add(segment);
+                indexedEnd = segment.offset() + segment.length();
+            }
+        } catch (NoSuchFileException e) {
+            // Archive antérieure à l'index : entièrement lue comme fin de fichier
+        } catch (IOException e) {
+            log.warn("Unable to read archive index of task {}: {}", taskId, e.getMessage());
+        }
+        if (indexedEnd < fileSize) {
+            segments.add(new Segment(indexedEnd, fileSize - indexedEnd, null, null));
+        }
+        return segments;
+    }
+
+    private static Segment parseSegment(String line) {
+        String[] values = line.split(INDEX_SEPARATOR, -1);
+        if (values.length != 6) {
+            return null;
+        }
+        try {
+            return new Segment(Long.parseLong(values[0]), Long.parseLong(values[1]),
+                    key(values[2], values[3]), key(values[4], values[5]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static TaskHistoryDTO key(String modifiedAt, String id) {
+        TaskHistoryDTO key = new TaskHistoryDTO();
+        key.setModifiedAt(LocalDateTime.parse(modifiedAt));
+        key.setId(UUID.fromString(id));
+        return key;
+    }
+
+    private List<TaskHistoryDTO> readSegment(UUID taskId, FileChannel channel, Segment segment) throws IOException {
+        InputStream input = Channels.newInputStream(channel.position(segment.offset()));
+        if (segment.indexed()) {
+            // Limité au membre : GZIPInputStream enchaînerait sinon sur les membres suivants
+            input = new ByteArrayInputStream(input.readNBytes((int) segment.length()));
+        }
+        List<TaskHistoryDTO> entries = new ArrayList<>();
+        readMembers(taskId, input, entries);
+        return entries;
+    }
+
+    private void readMembers(UUID taskId, InputStream input, List<TaskHistoryDTO> entries) {
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(input), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    entries.add(ENTRY_READER.readValue(line));
+                }
+            }
+        } catch (IOException e) {
+            // Fin de fichier tronquée par un arrêt brutal : les entrées déjà lues restent valables
+            log.warn("Archived history of task {} is partially unreadable: {}", taskId, e.getMessage());
+        }
+    }
+
+    // limit-ième entrée la plus récente parmi celles déjà trouvées
+    private static TaskHistoryDTO nthNewest(Map<UUID, TaskHistoryDTO> found, int limit) {
+        return found.values().stream().sorted(NEWEST_FIRST).skip(limit - 1L).findFirst().orElseThrow();
+    }
+
+    private Path fileFor(UUID taskId) {
+        String name = taskId.toString();
+        return directory.resolve(name.substring(0, 2)).resolve(name + FILE_SUFFIX);
+    }
+
+    private Path indexFor(UUID taskId) {
+        String name = taskId.toString();
+        return directory.resolve(name.substring(0, 2)).resolve(name + INDEX_SUFFIX);
+    }
+
+    private Object lockFor(UUID taskId) {
+        return locks[Math.floorMod(taskId.hashCode(), locks.length)];
+    }
+}
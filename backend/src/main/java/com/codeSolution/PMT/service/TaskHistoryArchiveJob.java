@@ -0,0 +1,110 @@
+package com.codeSolution.PMT.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.repository.TaskHistoryRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Archivage planifié de l'historique des tâches.
+ * Les entrées plus anciennes que max-age sont écrites dans TaskHistoryArchive puis supprimées de la table,
+ * par lots, chaque lot dans sa propre transaction. L'archive est écrite et synchronisée sur disque
+ * avant la suppression : si elle échoue, la transaction est annulée et rien n'est perdu.
+ * Une entrée archivée deux fois (échec du commit après l'écriture) est dédoublonnée à la lecture.
+ */
+@Component
+@Slf4j
+public class TaskHistoryArchiveJob {
+
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final TaskHistoryArchive taskHistoryArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    @Autowired
+    public TaskHistoryArchiveJob(TaskHistoryRepository taskHistoryRepository,
+                                 TaskHistoryArchive taskHistoryArchive,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.task-history.archive.enabled:false}") boolean enabled,
+                                 @Value("${app.task-history.archive.max-age:P180D}") Duration maxAge,
+                                 @Value("${app.task-history.archive.batch-size:1000}") int batchSize) {
+        this(taskHistoryRepository, taskHistoryArchive, transactionTemplate, enabled, maxAge, batchSize,
+                Clock.systemDefaultZone());
+    }
+
+    TaskHistoryArchiveJob(TaskHistoryRepository taskHistoryRepository,
+                          TaskHistoryArchive taskHistoryArchive,
+                          TransactionTemplate transactionTemplate,
+                          boolean enabled,
+                          Duration maxAge,
+                          int batchSize,
+                          Clock clock) {
+        this.taskHistoryRepository = taskHistoryRepository;
+        this.taskHistoryArchive = taskHistoryArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${app.task-history.archive.cron:0 0 4 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        int archived = archiveOldHistory();
+        if (archived > 0) {
+            log.info("Archivage : {} entrées d'historique archivées", archived);
+        }
+    }
+
+    /**
+     * Archive les entrées plus anciennes que max-age, lot par lot
+     * @return Le nombre d'entrées retirées de la table
+     */
+    public int archiveOldHistory() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(maxAge);
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> {
+                List<TaskHistoryDTO> entries = taskHistoryRepository.findDTOsModifiedBefore(cutoff, Limit.of(batchSize));
+                if (entries.isEmpty()) {
+                    return 0;
+                }
+                // Un seul ajout par tâche et par lot, dans l'ordre chronologique
+                Map<UUID, List<TaskHistoryDTO>> entriesByTask = new LinkedHashMap<>();
+                List<UUID> ids = new ArrayList<>(entries.size());
+                for (TaskHistoryDTO entry : entries) {
+                    entriesByTask.computeIfAbsent(entry.getTaskId(), taskId -> new ArrayList<>()).add(entry);
+                    ids.add(entry.getId());
+                }
+                entriesByTask.forEach(taskHistoryArchive::append);
+                taskHistoryRepository.deleteByIds(ids);
+                return entries.size();
+            });
+            total += archived;
+        } while (archived == batchSize);
+        return total;
+    }
+}
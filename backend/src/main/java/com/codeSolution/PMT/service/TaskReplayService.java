@@ -0,0 +1,164 @@
+package com.codeSolution.PMT.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.dto.TaskStateDTO;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.TaskSnapshot;
+import com.codeSolution.PMT.repository.TaskHistoryRepository;
+import com.codeSolution.PMT.repository.TaskRepository;
+import com.codeSolution.PMT.repository.TaskSnapshotRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Reconstitution de l'état des tâches à une date passée à partir de TaskHistory.
+ * La création d'une tâche n'enregistre que son nom : les valeurs initiales des autres champs sont inconnues
+ * et l'historique ne peut pas être rejoué depuis le début. On part donc d'un état connu postérieur à la date
+ * demandée — le premier snapshot pris à partir de cette date (TaskSnapshotJob), sinon l'état courant —
+ * et on défait les modifications de la plus récente à la plus ancienne en rétablissant oldValue.
+ * Les snapshots périodiques bornent ainsi le rejeu aux modifications d'une seule période.
+ * Les entrées sont lues en flux : la mémoire dépend du nombre de tâches, pas de la longueur de l'historique.
+ * Les tâches supprimées, dont l'historique disparaît avec elles, ne sont pas reconstituées.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskReplayService {
+
+    private static final Comparator<TaskHistoryDTO> NEWEST_FIRST = Comparator
+            .comparing(TaskHistoryDTO::getModifiedAt)
+            .thenComparing(TaskHistoryDTO::getId)
+            .reversed();
+
+    private final TaskRepository taskRepository;
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final TaskSnapshotRepository taskSnapshotRepository;
+    private final TaskHistoryArchive taskHistoryArchive;
+    private final ProjectMembershipCache membershipCache;
+
+    /**
+     * État d'une tâche à la date asOf
+     * @throws RuntimeException "Task not found at this date" si la tâche n'existait pas encore
+     */
+    @Transactional(readOnly = true)
+    public TaskStateDTO getTaskStateAt(UUID taskId, UUID userId, LocalDateTime asOf) {
+        TaskStateDTO current = taskRepository.findStateById(taskId)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        membershipCache.getRole(current.getProjectId(), userId)
+                .orElseThrow(() -> new RuntimeException("You must be a member of the project to view task history."));
+
+        TaskReplay replay = taskSnapshotRepository.findFirstByTaskIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(taskId, asOf)
+                .map(TaskReplay::fromSnapshot)
+                .orElseGet(() -> new TaskReplay(current, null));
+        try (Stream<TaskHistoryDTO> entries = taskHistoryRepository.streamEntriesToUndoByTaskId(taskId, asOf)) {
+            entries.forEach(replay::undo);
+        }
+        replay.undoArchived(taskHistoryArchive.readModifiedAfter(taskId, asOf));
+
+        if (!replay.existed) {
+            throw new RuntimeException("Task not found at this date");
+        }
+        return replay.state;
+    }
+
+    /**
+     * État à la date asOf des tâches actuelles du projet qui existaient déjà à cette date
+     */
+    @Transactional(readOnly = true)
+    public List<TaskStateDTO> getProjectTaskStatesAt(UUID projectId, UUID userId, LocalDateTime asOf) {
+        membershipCache.getRole(projectId, userId)
+                .orElseThrow(() -> new RuntimeException("You must be a member of the project to view task history."));
+
+        Map<UUID, TaskReplay> replays = new LinkedHashMap<>();
+        for (TaskStateDTO current : taskRepository.findStatesByProjectId(projectId)) {
+            replays.put(current.getTaskId(), new TaskReplay(current, null));
+        }
+        // Un snapshot, quand il existe, remplace l'état courant comme point de départ
+        for (TaskSnapshot snapshot : taskSnapshotRepository.findFirstByProjectIdTakenFrom(projectId, asOf)) {
+            replays.replace(snapshot.getTaskId(), TaskReplay.fromSnapshot(snapshot));
+        }
+
+        // Une seule lecture en flux pour tout le projet, par modifiedAt décroissant
+        try (Stream<TaskHistoryDTO> entries = taskHistoryRepository.streamEntriesToUndoByProjectId(projectId, asOf)) {
+            entries.forEach(entry -> {
+                TaskReplay replay = replays.get(entry.getTaskId());
+                if (replay != null) {
+                    replay.undo(entry);
+                }
+            });
+        }
+        replays.forEach((taskId, replay) -> replay.undoArchived(taskHistoryArchive.readModifiedAfter(taskId, asOf)));
+
+        return replays.values().stream()
+                .filter(replay -> replay.existed)
+                .map(replay -> replay.state)
+                .toList();
+    }
+
+    /**
+     * Rejeu en arrière d'une tâche à partir d'un état connu à la date anchoredAt (null : état courant)
+     */
+    private static final class TaskReplay {
+        private final TaskStateDTO state;
+        private final LocalDateTime anchoredAt;
+        private TaskHistoryDTO lastUndone;
+        private boolean existed = true;
+
+        private TaskReplay(TaskStateDTO state, LocalDateTime anchoredAt) {
+            this.state = state;
+            this.anchoredAt = anchoredAt;
+        }
+
+        private static TaskReplay fromSnapshot(TaskSnapshot snapshot) {
+            return new TaskReplay(new TaskStateDTO(snapshot.getTaskId(), snapshot.getProjectId(), snapshot.getName(),
+                    snapshot.getDescription(), snapshot.getStatus(), snapshot.getPriority(), snapshot.getDueDate(),
+                    snapshot.getEndDate(), snapshot.getAssigneeEmail()), snapshot.getTakenAt());
+        }
+
+        /**
+         * Défait une entrée ; les entrées doivent arriver de la plus récente à la plus ancienne
+         */
+        private void undo(TaskHistoryDTO entry) {
+            String oldValue = entry.getOldValue();
+            switch (entry.getFieldName()) {
+                // Seule la création enregistre un nom sans ancienne valeur
+                case name -> {
+                    if (oldValue == null) {
+                        existed = false;
+                    } else {
+                        state.setName(oldValue);
+                    }
+                }
+                case description -> state.setDescription(oldValue);
+                case status -> state.setStatus(oldValue != null ? Task.TaskStatus.valueOf(oldValue) : null);
+                case priority -> state.setPriority(oldValue != null ? Task.TaskPriority.valueOf(oldValue) : null);
+                case dueDate -> state.setDueDate(oldValue != null ? LocalDate.parse(oldValue) : null);
+                case endDate -> state.setEndDate(oldValue != null ? LocalDate.parse(oldValue) : null);
+                case projectMembers -> state.setAssigneeEmail(oldValue);
+            }
+            lastUndone = entry;
+        }
+
+        /**
+         * Défait les entrées archivées, toutes antérieures à celles restées en base.
+         * Une entrée à la fois archivée et encore en base (archivage interrompu) n'est défaite qu'une fois.
+         */
+        private void undoArchived(List<TaskHistoryDTO> archived) {
+            archived.stream()
+                    .filter(entry -> anchoredAt == null || !entry.getModifiedAt().isAfter(anchoredAt))
+                    .filter(entry -> lastUndone == null || NEWEST_FIRST.compare(entry, lastUndone) > 0)
+                    .sorted(NEWEST_FIRST)
+                    .forEach(this::undo);
+        }
+    }
+}
@@ -1,22 +1,48 @@
 package com.codeSolution.PMT.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.codeSolution.PMT.dto.AssignTaskRequest;
+import com.codeSolution.PMT.dto.BatchTaskResponse;
+import com.codeSolution.PMT.dto.BatchTaskResult;
+import com.codeSolution.PMT.dto.BoardColumnDTO;
+import com.codeSolution.PMT.dto.BulkReassignRequest;
+import com.codeSolution.PMT.dto.BulkTaskUpdateRequest;
 import com.codeSolution.PMT.dto.CreateTaskRequest;
+import com.codeSolution.PMT.dto.CursorPage;
+import com.codeSolution.PMT.dto.ProjectBoardDTO;
+import com.codeSolution.PMT.dto.ProjectMemberDTO;
 import com.codeSolution.PMT.dto.TaskDTO;
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
 import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.ProjectMemberId;
 import com.codeSolution.PMT.model.Role;
 import com.codeSolution.PMT.model.Task;
 import com.codeSolution.PMT.model.TaskHistory;
 import com.codeSolution.PMT.repository.ProjectMemberRepository;
 import com.codeSolution.PMT.repository.TaskHistoryRepository;
 import com.codeSolution.PMT.repository.TaskRepository;
-
+import com.codeSolution.PMT.service.ProjectStatsService.TaskState;
+import com.codeSolution.PMT.util.KeysetCursor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -24,20 +50,39 @@ import java.util.UUID;
 @Transactional
 public class TaskService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 5000;
+    public static final int DEFAULT_BOARD_COLUMN_SIZE = 20;
+    public static final int MAX_BOARD_COLUMN_SIZE = 100;
+    private static final Set<String> PATCHABLE_FIELDS =
+            Set.of("name", "description", "status", "priority", "dueDate", "endDate");
+    // Ordre de l'historique et de son curseur : (modifiedAt DESC, id DESC)
+    private static final Comparator<TaskHistoryDTO> HISTORY_ORDER = Comparator
+            .comparing(TaskHistoryDTO::getModifiedAt)
+            .thenComparing(TaskHistoryDTO::getId)
+            .reversed();
+
     private final TaskRepository taskRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final TaskHistoryRepository taskHistoryRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final NotificationService notificationService;
+    private final ProjectMembershipCache membershipCache;
+    private final ProjectStatsService projectStatsService;
+    private final TaskHistoryArchive taskHistoryArchive;
+    private final ProjectAnalyticsService projectAnalyticsService;
 
+    @Transactional(readOnly = true)
     public List<Task> findAll() {
         return taskRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Task> findById(UUID id) {
         return taskRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Task findByIdWithPermission(UUID taskId, UUID userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
@@ -49,32 +94,109 @@ public class TaskService {
 
         UUID projectId = taskProjectMember.getProjectId();
 
-        projectMemberRepository
-                .findByProjectIdAndUserId(projectId, userId)
+        membershipCache.getRole(projectId, userId)
                 .orElseThrow(() -> new RuntimeException("You must be a member of the project to view task details."));
 
         return task;
     }
 
+    @Transactional(readOnly = true)
     public List<Task> findByProjectId(UUID projectId) {
         return taskRepository.findByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> findTaskDTOsByProjectId(UUID projectId, UUID userId) {
-        projectMemberRepository
-                .findByProjectIdAndUserId(projectId, userId)
+        membershipCache.getRole(projectId, userId)
                 .orElseThrow(() -> new RuntimeException("You must be a member of the project to view tasks."));
         
-        List<Task> tasks = taskRepository.findByProjectId(projectId);
-        return tasks.stream()
-                .map(TaskDTO::fromTask)
-                .toList();
+        return taskRepository.findDTOsByProjectId(projectId);
+    }
+
+    /**
+     * Page de tâches d'un projet triées par (dueDate NULLS LAST, id).
+     * Le coût d'une page ne dépend pas de sa profondeur : le curseur porte la clé de la dernière tâche lue.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDTO> findTaskDTOPageByProjectId(UUID projectId, UUID userId, int limit, String cursor) {
+        membershipCache.getRole(projectId, userId)
+                .orElseThrow(() -> new RuntimeException("You must be a member of the project to view tasks."));
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Une ligne de plus pour savoir s'il existe une page suivante
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<TaskDTO> tasks;
+        if (cursor == null || cursor.isEmpty()) {
+            tasks = taskRepository.findFirstPageByProjectId(projectId, fetchLimit);
+        } else {
+            String[] key = KeysetCursor.decode(cursor, 2);
+            UUID lastId = UUID.fromString(key[1]);
+            LocalDate lastDueDate;
+            try {
+                lastDueDate = key[0].isEmpty() ? null : LocalDate.parse(key[0]);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            tasks = lastDueDate == null
+                    ? taskRepository.findPageByProjectIdAfterNullDueDate(projectId, lastId, fetchLimit)
+                    : taskRepository.findPageByProjectIdAfterDueDate(projectId, lastDueDate, lastId, fetchLimit);
+        }
+
+        List<TaskDTO> items = tasks.size() > pageSize ? tasks.subList(0, pageSize) : tasks;
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            TaskDTO last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getDueDate() != null ? last.getDueDate().toString() : "",
+                    last.getId().toString());
+        }
+        return new CursorPage<>(items, nextCursor);
     }
 
+    /**
+     * Tableau kanban du projet : une colonne par statut avec son effectif et ses premières tâches,
+     * lus en une seule requête fenêtrée quel que soit le nombre de colonnes
+     */
+    @Transactional(readOnly = true)
+    public ProjectBoardDTO getBoard(UUID projectId, UUID userId, int perColumn) {
+        membershipCache.getRole(projectId, userId)
+                .orElseThrow(() -> new RuntimeException("You must be a member of the project to view tasks."));
+
+        int columnSize = Math.max(1, Math.min(perColumn, MAX_BOARD_COLUMN_SIZE));
+        Map<Task.TaskStatus, BoardColumnDTO> columns = new EnumMap<>(Task.TaskStatus.class);
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            columns.put(status, new BoardColumnDTO(status, 0, new ArrayList<>()));
+        }
+        for (Object[] row : taskRepository.findBoardRows(projectId, columnSize)) {
+            TaskDTO task = new TaskDTO(toUuid(row[0]), (String) row[1], (String) row[2],
+                    Task.TaskStatus.valueOf((String) row[3]), Task.TaskPriority.valueOf((String) row[4]),
+                    toLocalDate(row[5]), toLocalDate(row[6]), toUuid(row[7]), toUuid(row[8]),
+                    row[9] != null ? ((Number) row[9]).longValue() : null);
+            BoardColumnDTO column = columns.get(task.getStatus());
+            column.setCount(((Number) row[10]).longValue());
+            column.getTasks().add(task);
+        }
+        return new ProjectBoardDTO(projectId, new ArrayList<>(columns.values()));
+    }
+
+    // Les pilotes JDBC ne renvoient pas tous les mêmes types pour une requête native
+    private static UUID toUuid(Object value) {
+        return value instanceof UUID uuid ? uuid : value != null ? UUID.fromString(value.toString()) : null;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    @Transactional(readOnly = true)
     public List<Task> findByAssignedUserId(UUID userId) {
         return taskRepository.findByAssignedUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> findByProjectIdAndStatus(UUID projectId, Task.TaskStatus status) {
         return taskRepository.findByProjectIdAndStatus(projectId, status);
     }
@@ -94,21 +216,24 @@ public class TaskService {
         if (isNew) {
             ProjectMember projectMember = savedTask.getProjectMember();
             createHistoryEntry(savedTask, projectMember, TaskHistory.FieldName.name, null, savedTask.getName());
+            recordChange(projectMember.getProjectId(), null, TaskState.of(savedTask));
         }
         
         return savedTask;
     }
 
     public Task createTask(CreateTaskRequest request, UUID creatorId) {
-        ProjectMember projectMember = projectMemberRepository
-                .findByProjectIdAndUserId(request.getProjectId(), creatorId)
+        Role creatorRole = membershipCache.getRole(request.getProjectId(), creatorId)
                 .orElseThrow(() -> new RuntimeException("You must be a member or administrator of the project to create tasks."));
         
-        if (projectMember.getRole() != Role.ADMIN && 
-            projectMember.getRole() != Role.MEMBER) {
+        if (creatorRole != Role.ADMIN && creatorRole != Role.MEMBER) {
             throw new RuntimeException("You must be a member or administrator of the project to create tasks.");
         }
 
+        // Référence sans requête : le rôle vient d'être vérifié via le cache
+        ProjectMember projectMember = projectMemberRepository
+                .getReferenceById(new ProjectMemberId(request.getProjectId(), creatorId));
+
         Task task = new Task();
         task.setName(request.getName());
         task.setDescription(request.getDescription());
@@ -121,16 +246,252 @@ public class TaskService {
 
         // Créer une entrée d'historique
         createHistoryEntry(savedTask, projectMember, TaskHistory.FieldName.name, null, savedTask.getName());
+        recordChange(request.getProjectId(), null,
+                new TaskState(savedTask.getStatus(), savedTask.getPriority(), creatorId, savedTask.getDueDate()));
 
         return savedTask;
     }
 
+    /**
+     * Création de tâches en masse : les droits sont vérifiés une fois par projet, puis les tâches
+     * et leurs entrées d'historique sont insérées en lots JDBC (hibernate.jdbc.batch_size).
+     * Un élément invalide est signalé dans son résultat sans empêcher la création des autres.
+     */
+    public BatchTaskResponse createTasks(List<CreateTaskRequest> requests, UUID creatorId) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one task is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " tasks");
+        }
+
+        Map<UUID, Optional<ProjectMember>> creatorMembers = new HashMap<>();
+        List<BatchTaskResult> results = new ArrayList<>(requests.size());
+        List<Task> tasks = new ArrayList<>(requests.size());
+        List<TaskHistory> histories = new ArrayList<>(requests.size());
+        Map<UUID, List<TaskState>> createdStates = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTaskRequest request = requests.get(i);
+            if (request == null || request.getProjectId() == null) {
+                results.add(BatchTaskResult.failure(i, null, "Project id is required"));
+                continue;
+            }
+            if (request.getName() == null || request.getName().isBlank()) {
+                results.add(BatchTaskResult.failure(i, null, "Task name is required"));
+                continue;
+            }
+
+            Optional<ProjectMember> projectMember = creatorMembers.computeIfAbsent(request.getProjectId(),
+                    projectId -> membershipCache.canEdit(projectId, creatorId)
+                            ? Optional.of(projectMemberRepository.getReferenceById(new ProjectMemberId(projectId, creatorId)))
+                            : Optional.empty());
+            if (projectMember.isEmpty()) {
+                results.add(BatchTaskResult.failure(i, null,
+                        "You must be a member or administrator of the project to create tasks."));
+                continue;
+            }
+
+            Task task = new Task();
+            task.setName(request.getName());
+            task.setDescription(request.getDescription());
+            task.setDueDate(request.getDueDate());
+            task.setPriority(request.getPriority() != null ? request.getPriority() : Task.TaskPriority.MEDIUM);
+            task.setStatus(Task.TaskStatus.TODO);
+            task.setProjectMember(projectMember.get());
+            tasks.add(task);
+            histories.add(buildHistoryEntry(task, projectMember.get(), TaskHistory.FieldName.name, null, task.getName()));
+            createdStates.computeIfAbsent(request.getProjectId(), projectId -> new ArrayList<>())
+                    .add(new TaskState(task.getStatus(), task.getPriority(), creatorId, task.getDueDate()));
+            // Identifiant renseigné après saveAll, la tâche est gardée à la place de l'élément
+            results.add(null);
+        }
+
+        if (!tasks.isEmpty()) {
+            // Identifiants UUID générés côté application : les INSERT sont regroupés au flush
+            taskRepository.saveAll(tasks);
+            taskHistoryRepository.saveAll(histories);
+            createdStates.forEach((projectId, states) -> recordChanges(projectId, List.of(), states));
+        }
+
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, BatchTaskResult.success(i, tasks.get(created++).getId()));
+            }
+        }
+        return BatchTaskResponse.of(results);
+    }
+
+    /**
+     * Applique un même statut ou une même priorité à une liste de tâches (glisser-déposer multiple du kanban).
+     * Une seule lecture des tâches, un droit vérifié par projet, un UPDATE ensembliste
+     * et un lot d'entrées d'historique pour les seules tâches réellement modifiées.
+     */
+    public BatchTaskResponse updateTasks(BulkTaskUpdateRequest request, UUID updaterId) {
+        if (request == null || request.getTaskIds() == null || request.getTaskIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one task id is required");
+        }
+        if (request.getTaskIds().size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " tasks");
+        }
+        if ((request.getStatus() == null) == (request.getPriority() == null)) {
+            throw new IllegalArgumentException("Exactly one of status or priority must be provided");
+        }
+
+        TaskHistory.FieldName fieldName = request.getStatus() != null
+                ? TaskHistory.FieldName.status : TaskHistory.FieldName.priority;
+        String newValue = request.getStatus() != null
+                ? request.getStatus().toString() : request.getPriority().toString();
+
+        Set<UUID> requestedIds = new HashSet<>(request.getTaskIds());
+        requestedIds.remove(null);
+        Map<UUID, TaskDTO> tasks = new HashMap<>();
+        for (TaskDTO task : taskRepository.findDTOsByIds(requestedIds)) {
+            tasks.put(task.getId(), task);
+        }
+
+        Map<UUID, Boolean> editableProjects = new HashMap<>();
+        List<BatchTaskResult> results = new ArrayList<>(request.getTaskIds().size());
+        Map<UUID, TaskDTO> changedTasks = new LinkedHashMap<>();
+        for (int i = 0; i < request.getTaskIds().size(); i++) {
+            UUID taskId = request.getTaskIds().get(i);
+            TaskDTO task = taskId != null ? tasks.get(taskId) : null;
+            if (task == null) {
+                results.add(BatchTaskResult.failure(i, taskId, "Task not found"));
+                continue;
+            }
+            if (!editableProjects.computeIfAbsent(task.getProjectId(), projectId -> membershipCache.canEdit(projectId, updaterId))) {
+                results.add(BatchTaskResult.failure(i, taskId,
+                        "You must be a member or administrator of the project to update tasks."));
+                continue;
+            }
+
+            String oldValue = fieldName == TaskHistory.FieldName.status
+                    ? task.getStatus().toString() : task.getPriority().toString();
+            if (!newValue.equals(oldValue)) {
+                changedTasks.putIfAbsent(taskId, task);
+            }
+            results.add(BatchTaskResult.success(i, taskId));
+        }
+
+        if (!changedTasks.isEmpty()) {
+            if (request.getStatus() != null) {
+                taskRepository.updateStatus(changedTasks.keySet(), request.getStatus());
+            } else {
+                taskRepository.updatePriority(changedTasks.keySet(), request.getPriority());
+            }
+
+            // Références sans requête : les tâches et les droits ont déjà été vérifiés
+            List<TaskHistory> changes = new ArrayList<>(changedTasks.size());
+            Map<UUID, List<TaskState>> previousStates = new HashMap<>();
+            Map<UUID, List<TaskState>> updatedStates = new HashMap<>();
+            for (TaskDTO task : changedTasks.values()) {
+                String oldValue = fieldName == TaskHistory.FieldName.status
+                        ? task.getStatus().toString() : task.getPriority().toString();
+                changes.add(buildHistoryEntry(taskRepository.getReferenceById(task.getId()),
+                        projectMemberRepository.getReferenceById(new ProjectMemberId(task.getProjectId(), updaterId)),
+                        fieldName, oldValue, newValue));
+                TaskState previous = TaskState.of(task);
+                previousStates.computeIfAbsent(task.getProjectId(), projectId -> new ArrayList<>()).add(previous);
+                updatedStates.computeIfAbsent(task.getProjectId(), projectId -> new ArrayList<>()).add(new TaskState(
+                        request.getStatus() != null ? request.getStatus() : previous.status(),
+                        request.getPriority() != null ? request.getPriority() : previous.priority(),
+                        previous.assigneeId(), previous.dueDate()));
+            }
+            taskHistoryRepository.saveAll(changes);
+            previousStates.forEach((projectId, states) ->
+                    recordChanges(projectId, states, updatedStates.get(projectId)));
+        }
+
+        return BatchTaskResponse.of(results);
+    }
+
+    /**
+     * Réassigne toutes les tâches d'un membre à un autre membre du même projet, par exemple quand il quitte le projet.
+     * Un UPDATE ensembliste, un lot d'historique, une seule notification et un lot d'emails,
+     * quel que soit le nombre de tâches : aucune tâche n'est chargée en tant qu'entité.
+     */
+    public BatchTaskResponse reassignTasks(BulkReassignRequest request, UUID assignedById) {
+        if (request == null || request.getProjectId() == null || request.getFromUserId() == null
+                || request.getToUserId() == null) {
+            throw new IllegalArgumentException("Project id, source user id and target user id are required");
+        }
+        if (request.getFromUserId().equals(request.getToUserId())) {
+            throw new IllegalArgumentException("Source and target users must be different");
+        }
+        UUID projectId = request.getProjectId();
+        if (!membershipCache.canEdit(projectId, assignedById)) {
+            throw new RuntimeException("You must be a member or administrator of the project to assign tasks.");
+        }
+
+        // Emails des deux membres en une requête, pour l'historique et la notification
+        Map<UUID, String> emails = new HashMap<>();
+        for (ProjectMemberDTO member : projectMemberRepository.findMemberDTOsByProjectIdAndUserIds(
+                projectId, List.of(request.getFromUserId(), request.getToUserId()))) {
+            emails.put(member.getUserId(), member.getUserEmail());
+        }
+        if (!emails.containsKey(request.getToUserId())) {
+            throw new RuntimeException("The user is not a member of this project.");
+        }
+
+        List<TaskDTO> tasks = taskRepository.findDTOsByProjectIdAndAssignedUserId(projectId, request.getFromUserId());
+        if (tasks.isEmpty()) {
+            return BatchTaskResponse.of(List.of());
+        }
+
+        Map<UUID, String> taskTitles = new LinkedHashMap<>();
+        // reassign incrémente la version de chaque tâche
+        Map<UUID, Long> reassignedVersions = new HashMap<>();
+        for (TaskDTO task : tasks) {
+            taskTitles.put(task.getId(), task.getName());
+            reassignedVersions.put(task.getId(), task.getVersion() != null ? task.getVersion() + 1 : null);
+        }
+        taskRepository.reassign(taskTitles.keySet(), projectId, request.getToUserId());
+
+        // Références sans requête : les tâches et les membres ont déjà été vérifiés
+        ProjectMember assignedByMember = projectMemberRepository.getReferenceById(new ProjectMemberId(projectId, assignedById));
+        ProjectMember assigneeMember = projectMemberRepository.getReferenceById(new ProjectMemberId(projectId, request.getToUserId()));
+        String fromEmail = emails.get(request.getFromUserId());
+        String toEmail = emails.get(request.getToUserId());
+        List<TaskHistory> changes = new ArrayList<>(tasks.size());
+        List<BatchTaskResult> results = new ArrayList<>(tasks.size());
+        List<TaskState> previousStates = new ArrayList<>(tasks.size());
+        List<TaskState> reassignedStates = new ArrayList<>(tasks.size());
+        for (TaskDTO task : tasks) {
+            changes.add(buildHistoryEntry(taskRepository.getReferenceById(task.getId()), assignedByMember,
+                    TaskHistory.FieldName.projectMembers, fromEmail, toEmail));
+            results.add(BatchTaskResult.success(results.size(), task.getId()));
+            previousStates.add(TaskState.of(task));
+            reassignedStates.add(new TaskState(task.getStatus(), task.getPriority(), request.getToUserId(), task.getDueDate()));
+        }
+        taskHistoryRepository.saveAll(changes);
+        recordChanges(projectId, previousStates, reassignedStates);
+
+        TaskDTO lastTask = tasks.get(tasks.size() - 1);
+        notificationService.createTaskAssignmentNotification(assigneeMember,
+                taskRepository.getReferenceById(lastTask.getId()), lastTask.getName(), tasks.size());
+
+        // Envoi différé : les emails sont écrits dans la même transaction et regroupés par EmailOutboxDispatcher
+        emailOutboxService.enqueueTaskAssignments(request.getToUserId(), taskTitles, reassignedVersions, toEmail,
+                assigneeMember.getProject().getName());
+
+        return BatchTaskResponse.of(results);
+    }
+
     public Task save(Task task) {
         return taskRepository.save(task);
     }
 
     public void deleteById(UUID id) {
+        // Projection lue avant la suppression pour retirer la tâche des statistiques de son projet
+        List<TaskDTO> deleted = taskRepository.findDTOsByIds(List.of(id));
+        notificationService.beforeTaskDeleted(id);
         taskRepository.deleteById(id);
+        taskHistoryArchive.deleteAfterCommit(id);
+        for (TaskDTO task : deleted) {
+            recordChange(task.getProjectId(), TaskState.of(task), null);
+        }
     }
 
     public Task assignToProjectMember(UUID taskId, UUID projectMemberProjectId, UUID projectMemberUserId, UUID assignedByProjectMemberProjectId, UUID assignedByProjectMemberUserId) {
@@ -142,8 +503,18 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("ProjectMember not found"));
         
         ProjectMember previousProjectMember = task.getProjectMember();
+        TaskState previousState = TaskState.of(task);
         task.setProjectMember(projectMember);
         Task savedTask = taskRepository.save(task);
+        if (previousProjectMember != null && previousProjectMember.getProjectId().equals(projectMember.getProjectId())) {
+            recordChange(projectMember.getProjectId(), previousState, TaskState.of(savedTask));
+        } else {
+            // Tâche déplacée vers un autre projet : retirée des statistiques de l'un, ajoutée à celles de l'autre
+            if (previousProjectMember != null) {
+                recordChange(previousProjectMember.getProjectId(), previousState, null);
+            }
+            recordChange(projectMember.getProjectId(), null, TaskState.of(savedTask));
+        }
         
         // Créer une entrée d'historique
         ProjectMember assignedByProjectMember = projectMemberRepository
@@ -156,7 +527,13 @@ public class TaskService {
         
         notificationService.createTaskAssignmentNotification(projectMember, savedTask);
         
-        emailService.sendTaskAssignmentNotification(
+        // Envoi différé : l'email est écrit dans la même transaction et envoyé par EmailOutboxDispatcher.
+        // Le flush fixe la version atteinte par l'assignation, qui sert à dédoublonner l'email.
+        taskRepository.flush();
+        emailOutboxService.enqueueTaskAssignment(
+                savedTask.getId(),
+                projectMember.getUserId(),
+                savedTask.getVersion(),
                 projectMember.getUser().getEmail(), 
                 task.getName(), 
                 projectMember.getProject().getName()
@@ -171,13 +548,14 @@ public class TaskService {
         
         UUID taskProjectId = task.getProjectMember().getProjectId();
         
-        ProjectMember assignedByMember = projectMemberRepository
-                .findByProjectIdAndUserId(taskProjectId, assignedById)
+        Role assignedByRole = membershipCache.getRole(taskProjectId, assignedById)
                 .orElseThrow(() -> new RuntimeException("You must be a member or administrator of the project to assign tasks."));
         
-        if (assignedByMember.getRole() != Role.ADMIN && assignedByMember.getRole() != Role.MEMBER) {
+        if (assignedByRole != Role.ADMIN && assignedByRole != Role.MEMBER) {
             throw new RuntimeException("You must be a member or administrator of the project to assign tasks.");
         }
+        ProjectMember assignedByMember = projectMemberRepository
+                .getReferenceById(new ProjectMemberId(taskProjectId, assignedById));
         
         // Vérifier que le membre à assigner appartient au même projet
         ProjectMember assigneeMember = projectMemberRepository
@@ -189,8 +567,10 @@ public class TaskService {
         }
         
         ProjectMember previousProjectMember = task.getProjectMember();
+        TaskState previousState = TaskState.of(task);
         task.setProjectMember(assigneeMember);
         Task savedTask = taskRepository.save(task);
+        recordChange(taskProjectId, previousState, TaskState.of(savedTask));
         
         createHistoryEntry(savedTask, assignedByMember, TaskHistory.FieldName.projectMembers, 
                 previousProjectMember != null ? previousProjectMember.getUser().getEmail() : null, 
@@ -198,7 +578,13 @@ public class TaskService {
 
         notificationService.createTaskAssignmentNotification(assigneeMember, savedTask);
 
-        emailService.sendTaskAssignmentNotification(
+        // Envoi différé : l'email est écrit dans la même transaction et envoyé par EmailOutboxDispatcher.
+        // Le flush fixe la version atteinte par l'assignation, qui sert à dédoublonner l'email.
+        taskRepository.flush();
+        emailOutboxService.enqueueTaskAssignment(
+                savedTask.getId(),
+                assigneeMember.getUserId(),
+                savedTask.getVersion(),
                 assigneeMember.getUser().getEmail(), 
                 task.getName(), 
                 assigneeMember.getProject().getName()
@@ -208,6 +594,14 @@ public class TaskService {
     }
 
     public Task updateTask(UUID taskId, Task updatedTask, UUID updaterId) {
+        return updateTask(taskId, updatedTask, updaterId, null);
+    }
+
+    /**
+     * @param expectedVersions Versions acceptées par le client (If-Match), null pour ne pas vérifier la version
+     * @throws OptimisticLockingFailureException si la version actuelle de la tâche n'en fait pas partie
+     */
+    public Task updateTask(UUID taskId, Task updatedTask, UUID updaterId, Set<Long> expectedVersions) {
         Task existingTask = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
         
@@ -217,44 +611,49 @@ public class TaskService {
         }
         
         UUID projectId = taskProjectMember.getProjectId();
-        
 
-        ProjectMember projectMember = projectMemberRepository
-                .findByProjectIdAndUserId(projectId, updaterId)
+        Role updaterRole = membershipCache.getRole(projectId, updaterId)
                 .orElseThrow(() -> new RuntimeException("You must be a member or administrator of the project to update tasks."));
         
-        if (projectMember.getRole() != Role.ADMIN && projectMember.getRole() != Role.MEMBER) {
+        if (updaterRole != Role.ADMIN && updaterRole != Role.MEMBER) {
             throw new RuntimeException("You must be a member or administrator of the project to update tasks.");
         }
+        ProjectMember projectMember = projectMemberRepository
+                .getReferenceById(new ProjectMemberId(projectId, updaterId));
         
-        // Tracker les changements
+        checkVersion(existingTask, expectedVersions);
+        TaskState previousState = TaskState.of(existingTask);
+        
+        // Tracker les changements, persistés ensuite en un seul lot JDBC
+        List<TaskHistory> changes = new ArrayList<>();
         if (!existingTask.getName().equals(updatedTask.getName())) {
-            createHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.name, 
-                    existingTask.getName(), updatedTask.getName());
+            changes.add(buildHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.name, 
+                    existingTask.getName(), updatedTask.getName()));
         }
-        if (!existingTask.getDescription().equals(updatedTask.getDescription())) {
-            createHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.description, 
-                    existingTask.getDescription(), updatedTask.getDescription());
+        if (!Objects.equals(existingTask.getDescription(), updatedTask.getDescription())) {
+            changes.add(buildHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.description, 
+                    existingTask.getDescription(), updatedTask.getDescription()));
         }
         if (!existingTask.getStatus().equals(updatedTask.getStatus())) {
-            createHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.status, 
-                    existingTask.getStatus().toString(), updatedTask.getStatus().toString());
+            changes.add(buildHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.status, 
+                    existingTask.getStatus().toString(), updatedTask.getStatus().toString()));
         }
         if (!existingTask.getPriority().equals(updatedTask.getPriority())) {
-            createHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.priority, 
-                    existingTask.getPriority().toString(), updatedTask.getPriority().toString());
+            changes.add(buildHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.priority, 
+                    existingTask.getPriority().toString(), updatedTask.getPriority().toString()));
         }
-        if (existingTask.getDueDate() != null && !existingTask.getDueDate().equals(updatedTask.getDueDate()) ||
-            updatedTask.getDueDate() != null && !updatedTask.getDueDate().equals(existingTask.getDueDate())) {
-            createHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.dueDate, 
+        if (!Objects.equals(existingTask.getDueDate(), updatedTask.getDueDate())) {
+            changes.add(buildHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.dueDate, 
                     existingTask.getDueDate() != null ? existingTask.getDueDate().toString() : null, 
-                    updatedTask.getDueDate() != null ? updatedTask.getDueDate().toString() : null);
+                    updatedTask.getDueDate() != null ? updatedTask.getDueDate().toString() : null));
         }
-        if (existingTask.getEndDate() != null && !existingTask.getEndDate().equals(updatedTask.getEndDate()) ||
-            updatedTask.getEndDate() != null && !updatedTask.getEndDate().equals(existingTask.getEndDate())) {
-            createHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.endDate, 
+        if (!Objects.equals(existingTask.getEndDate(), updatedTask.getEndDate())) {
+            changes.add(buildHistoryEntry(existingTask, projectMember, TaskHistory.FieldName.endDate, 
                     existingTask.getEndDate() != null ? existingTask.getEndDate().toString() : null, 
-                    updatedTask.getEndDate() != null ? updatedTask.getEndDate().toString() : null);
+                    updatedTask.getEndDate() != null ? updatedTask.getEndDate().toString() : null));
+        }
+        if (!changes.isEmpty()) {
+            taskHistoryRepository.saveAll(changes);
         }
         
         // Mettre à jour les champs
@@ -265,10 +664,224 @@ public class TaskService {
         existingTask.setDueDate(updatedTask.getDueDate());
         existingTask.setEndDate(updatedTask.getEndDate());
         
-        return taskRepository.save(existingTask);
+        Task savedTask = taskRepository.save(existingTask);
+        // Flush immédiat : la version renvoyée en ETag est celle de la ligne écrite
+        taskRepository.flush();
+        recordChange(projectId, previousState, TaskState.of(savedTask));
+        return savedTask;
+    }
+
+    /**
+     * Mise à jour partielle au format JSON Merge Patch (RFC 7396) : seuls les champs présents sont modifiés
+     * et historisés. Avec @DynamicUpdate sur Task, l'UPDATE ne contient que les colonnes changées.
+     * @param patch Champs envoyés ; une valeur null efface le champ lorsqu'il est facultatif
+     */
+    public Task patchTask(UUID taskId, Map<String, Object> patch, UUID updaterId) {
+        return patchTask(taskId, patch, updaterId, null);
+    }
+
+    /**
+     * @param expectedVersions Versions acceptées par le client (If-Match), null pour ne pas vérifier la version
+     * @throws OptimisticLockingFailureException si la version actuelle de la tâche n'en fait pas partie
+     */
+    public Task patchTask(UUID taskId, Map<String, Object> patch, UUID updaterId, Set<Long> expectedVersions) {
+        if (patch == null) {
+            throw new IllegalArgumentException("A JSON object is required");
+        }
+        for (String field : patch.keySet()) {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown or read-only field: " + field);
+            }
+        }
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        if (task.getProjectMember() == null) {
+            throw new RuntimeException("Task is not assigned to a project member");
+        }
+        UUID projectId = task.getProjectMember().getProjectId();
+        if (!membershipCache.canEdit(projectId, updaterId)) {
+            throw new RuntimeException("You must be a member or administrator of the project to update tasks.");
+        }
+        ProjectMember projectMember = projectMemberRepository
+                .getReferenceById(new ProjectMemberId(projectId, updaterId));
+        checkVersion(task, expectedVersions);
+        TaskState previousState = TaskState.of(task);
+
+        List<TaskHistory> changes = new ArrayList<>();
+        if (patch.containsKey("name")) {
+            String name = requiredValue(patch, "name");
+            if (name.isBlank()) {
+                throw new IllegalArgumentException("Task name is required");
+            }
+            if (!name.equals(task.getName())) {
+                changes.add(buildHistoryEntry(task, projectMember, TaskHistory.FieldName.name, task.getName(), name));
+                task.setName(name);
+            }
+        }
+        if (patch.containsKey("description")) {
+            String description = optionalValue(patch, "description");
+            if (!Objects.equals(description, task.getDescription())) {
+                changes.add(buildHistoryEntry(task, projectMember, TaskHistory.FieldName.description,
+                        task.getDescription(), description));
+                task.setDescription(description);
+            }
+        }
+        if (patch.containsKey("status")) {
+            Task.TaskStatus status = parseEnum(Task.TaskStatus.class, requiredValue(patch, "status"), "status");
+            if (status != task.getStatus()) {
+                changes.add(buildHistoryEntry(task, projectMember, TaskHistory.FieldName.status,
+                        task.getStatus().toString(), status.toString()));
+                task.setStatus(status);
+            }
+        }
+        if (patch.containsKey("priority")) {
+            Task.TaskPriority priority = parseEnum(Task.TaskPriority.class, requiredValue(patch, "priority"), "priority");
+            if (priority != task.getPriority()) {
+                changes.add(buildHistoryEntry(task, projectMember, TaskHistory.FieldName.priority,
+                        task.getPriority().toString(), priority.toString()));
+                task.setPriority(priority);
+            }
+        }
+        if (patch.containsKey("dueDate")) {
+            LocalDate dueDate = parseDate(optionalValue(patch, "dueDate"), "dueDate");
+            if (!Objects.equals(dueDate, task.getDueDate())) {
+                changes.add(buildHistoryEntry(task, projectMember, TaskHistory.FieldName.dueDate,
+                        Objects.toString(task.getDueDate(), null), Objects.toString(dueDate, null)));
+                task.setDueDate(dueDate);
+            }
+        }
+        if (patch.containsKey("endDate")) {
+            LocalDate endDate = parseDate(optionalValue(patch, "endDate"), "endDate");
+            if (!Objects.equals(endDate, task.getEndDate())) {
+                changes.add(buildHistoryEntry(task, projectMember, TaskHistory.FieldName.endDate,
+                        Objects.toString(task.getEndDate(), null), Objects.toString(endDate, null)));
+                task.setEndDate(endDate);
+            }
+        }
+
+        // Aucun changement : ni historique ni UPDATE (l'entité n'est pas modifiée)
+        if (!changes.isEmpty()) {
+            taskHistoryRepository.saveAll(changes);
+            taskRepository.flush();
+            recordChange(projectId, previousState, TaskState.of(task));
+        }
+        return task;
+    }
+
+    private static void checkVersion(Task task, Set<Long> expectedVersions) {
+        if (expectedVersions != null && (task.getVersion() == null || !expectedVersions.contains(task.getVersion()))) {
+            throw new OptimisticLockingFailureException("Task has been modified by another request");
+        }
+    }
+
+    private static String requiredValue(Map<String, Object> patch, String field) {
+        String value = optionalValue(patch, field);
+        if (value == null) {
+            throw new IllegalArgumentException("Field " + field + " cannot be null");
+        }
+        return value;
+    }
+
+    private static String optionalValue(Map<String, Object> patch, String field) {
+        Object value = patch.get(field);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("Field " + field + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value, String field) {
+        try {
+            return value != null ? LocalDate.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    /**
+     * Historique complet de la tâche, entrées archivées comprises, des plus récentes aux plus anciennes
+     */
+    @Transactional(readOnly = true)
+    public List<TaskHistoryDTO> getTaskHistory(UUID taskId, UUID userId) {
+        checkHistoryPermission(taskId, userId);
+        return mergeHistory(taskHistoryRepository.findDTOsByTaskId(taskId), taskHistoryArchive.read(taskId), null);
+    }
+
+    /**
+     * Page d'historique triée par (modifiedAt DESC, id DESC).
+     * Les entrées récentes sont lues en base par clé ; une fois la base épuisée, la suite est lue
+     * dans TaskHistoryArchive, dont les entrées sont plus anciennes que celles restées en base.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskHistoryDTO> getTaskHistoryPage(UUID taskId, UUID userId, int limit, String cursor) {
+        checkHistoryPermission(taskId, userId);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Une ligne de plus pour savoir s'il existe une page suivante
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        TaskHistoryDTO after = null;
+        List<TaskHistoryDTO> entries;
+        if (cursor == null || cursor.isEmpty()) {
+            entries = taskHistoryRepository.findFirstPageByTaskId(taskId, fetchLimit);
+        } else {
+            String[] key = KeysetCursor.decode(cursor, 2);
+            after = new TaskHistoryDTO();
+            try {
+                after.setModifiedAt(LocalDateTime.parse(key[0]));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            after.setId(UUID.fromString(key[1]));
+            entries = taskHistoryRepository.findPageByTaskIdAfter(taskId, after.getModifiedAt(), after.getId(), fetchLimit);
+        }
+        if (entries.size() <= pageSize) {
+            // Les pageSize + 1 entrées archivées les plus récentes après le curseur suffisent à compléter la page
+            entries = mergeHistory(entries, taskHistoryArchive.readPage(taskId, after, pageSize + 1), after);
+        }
+
+        List<TaskHistoryDTO> items = entries.size() > pageSize ? entries.subList(0, pageSize) : entries;
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            TaskHistoryDTO last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getModifiedAt().toString(), last.getId().toString());
+        }
+        return new CursorPage<>(items, nextCursor);
     }
 
-    public List<TaskHistory> getTaskHistory(UUID taskId, UUID userId) {
+    /**
+     * Fusionne les entrées lues en base et celles de l'archive situées après le curseur.
+     * Une entrée présente des deux côtés (archivage interrompu avant la suppression en base) n'apparaît qu'une fois.
+     */
+    private static List<TaskHistoryDTO> mergeHistory(List<TaskHistoryDTO> stored, List<TaskHistoryDTO> archived,
+                                                     TaskHistoryDTO after) {
+        if (archived.isEmpty()) {
+            return stored;
+        }
+        Map<UUID, TaskHistoryDTO> entries = new LinkedHashMap<>();
+        for (TaskHistoryDTO entry : stored) {
+            entries.put(entry.getId(), entry);
+        }
+        for (TaskHistoryDTO entry : archived) {
+            if (after == null || HISTORY_ORDER.compare(entry, after) > 0) {
+                entries.putIfAbsent(entry.getId(), entry);
+            }
+        }
+        List<TaskHistoryDTO> merged = new ArrayList<>(entries.values());
+        merged.sort(HISTORY_ORDER);
+        return merged;
+    }
+
+    private void checkHistoryPermission(UUID taskId, UUID userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
         
@@ -279,23 +892,49 @@ public class TaskService {
         
         UUID projectId = taskProjectMember.getProjectId();
         
-        projectMemberRepository
-                .findByProjectIdAndUserId(projectId, userId)
+        membershipCache.getRole(projectId, userId)
                 .orElseThrow(() -> new RuntimeException("You must be a member of the project to view task history."));
-        
-        return taskHistoryRepository.findByTaskIdOrderByModifiedAtDesc(taskId);
+    }
+
+    /**
+     * Répercute la modification d'une tâche sur les statistiques du projet ; les analytics de flux
+     * sont invalidées si le statut change ou si la tâche est créée, supprimée ou change de projet
+     */
+    private void recordChange(UUID projectId, TaskState before, TaskState after) {
+        projectStatsService.recordChange(projectId, before, after);
+        if (before == null || after == null || before.status() != after.status()) {
+            projectAnalyticsService.invalidate(projectId);
+        }
+    }
+
+    /**
+     * Variante ensembliste de recordChange ; removed et added décrivent les mêmes tâches dans le même ordre
+     */
+    private void recordChanges(UUID projectId, List<TaskState> removed, List<TaskState> added) {
+        projectStatsService.recordChanges(projectId, removed, added);
+        boolean statusChanged = removed.size() != added.size();
+        for (int i = 0; i < removed.size() && !statusChanged; i++) {
+            statusChanged = removed.get(i).status() != added.get(i).status();
+        }
+        if (statusChanged) {
+            projectAnalyticsService.invalidate(projectId);
+        }
     }
 
     private void createHistoryEntry(Task task, ProjectMember projectMember, TaskHistory.FieldName fieldName, 
                                     String oldValue, String newValue) {
+        taskHistoryRepository.save(buildHistoryEntry(task, projectMember, fieldName, oldValue, newValue));
+    }
+
+    private TaskHistory buildHistoryEntry(Task task, ProjectMember projectMember, TaskHistory.FieldName fieldName, 
+                                          String oldValue, String newValue) {
         TaskHistory history = new TaskHistory();
         history.setTask(task);
         history.setProjectMember(projectMember);
         history.setFieldName(fieldName);
         history.setOldValue(oldValue);
         history.setNewValue(newValue);
-        
-        taskHistoryRepository.save(history);
+        return history;
     }
 }
 
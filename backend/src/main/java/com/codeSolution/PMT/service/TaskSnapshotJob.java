@@ -0,0 +1,58 @@
+package com.codeSolution.PMT.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codeSolution.PMT.repository.TaskSnapshotRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Snapshots planifiés de l'état des tâches, points de départ du rejeu de TaskReplayService.
+ * Seules les tâches modifiées depuis le snapshot précédent sont copiées : pour une tâche inchangée,
+ * il n'y a rien à rejouer jusqu'à son prochain snapshot ou jusqu'à l'état courant.
+ * Chaque passage est un unique INSERT ... SELECT.
+ */
+@Component
+@Slf4j
+public class TaskSnapshotJob {
+
+    private final TaskSnapshotRepository taskSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Autowired
+    public TaskSnapshotJob(TaskSnapshotRepository taskSnapshotRepository, TransactionTemplate transactionTemplate) {
+        this(taskSnapshotRepository, transactionTemplate, Clock.systemDefaultZone());
+    }
+
+    TaskSnapshotJob(TaskSnapshotRepository taskSnapshotRepository, TransactionTemplate transactionTemplate, Clock clock) {
+        this.taskSnapshotRepository = taskSnapshotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${app.task-snapshots.cron:0 0 3 * * SUN}")
+    public void run() {
+        int snapshots = takeSnapshots();
+        log.info("Snapshots : {} tâches copiées", snapshots);
+    }
+
+    /**
+     * @return Le nombre de tâches copiées
+     */
+    public int takeSnapshots() {
+        LocalDateTime takenAt = LocalDateTime.now(clock);
+        return transactionTemplate.execute(status -> {
+            Optional<LocalDateTime> previous = taskSnapshotRepository.findLatestTakenAt();
+            return previous.isPresent()
+                    ? taskSnapshotRepository.snapshotTasksModifiedSince(takenAt, previous.get())
+                    : taskSnapshotRepository.snapshotAllTasks(takenAt);
+        });
+    }
+}
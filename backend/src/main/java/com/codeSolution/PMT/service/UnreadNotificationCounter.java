@@ -0,0 +1,102 @@
+package com.codeSolution.PMT.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codeSolution.PMT.model.NotificationCounter;
+import com.codeSolution.PMT.repository.NotificationCounterRepository;
+import com.codeSolution.PMT.repository.NotificationRepository;
+import com.codeSolution.PMT.util.AfterCommit;
+import com.codeSolution.PMT.util.ExpiringCache;
+import com.codeSolution.PMT.util.PrimaryRead;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Compteur de notifications non lues par utilisateur.
+ * La table notification_counters est mise à jour par incrément atomique dans la transaction
+ * de l'appelant ; la valeur est servie depuis la mémoire et ajustée après le commit.
+ * Le TTL borne l'écart avec les modifications faites par d'autres instances.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final int MAX_ENTRIES = 50_000;
+
+    private final NotificationCounterRepository counterRepository;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate newTransaction;
+    private final ExpiringCache<UUID, Long> counts = new ExpiringCache<>(MAX_ENTRIES);
+
+    public UnreadNotificationCounter(NotificationCounterRepository counterRepository,
+                                     NotificationRepository notificationRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.notificationRepository = notificationRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Sans transaction : la lecture du compteur libère sa connexion avant qu'initialize n'en prenne une,
+     * une requête n'occupe donc jamais deux connexions du pool
+     */
+    public long getUnreadCount(UUID userId) {
+        Optional<Long> cached = counts.get(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Optional<Long> stored = PrimaryRead.load(() -> counterRepository.findUnreadCount(userId),
+                count -> count.ifPresent(value -> counts.put(userId, value, TTL)));
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        return initialize(userId)
+                .map(created -> {
+                    counts.put(userId, created, TTL);
+                    return created;
+                })
+                // Compteur créé en parallèle : relu sur la base principale, sans le mettre en cache
+                .orElseGet(() -> newTransaction.execute(status -> counterRepository.findUnreadCount(userId).orElse(0L)));
+    }
+
+    /**
+     * Ajoute delta au compteur de l'utilisateur dans la transaction courante
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(UUID userId, long delta) {
+        if (counterRepository.addToUnreadCount(userId, delta) == 0) {
+            initialize(userId);
+            counterRepository.addToUnreadCount(userId, delta);
+        }
+        AfterCommit.run(() -> counts.computeIfPresent(userId, count -> Math.max(0, count + delta)));
+    }
+
+    /**
+     * Crée le compteur à partir des notifications déjà validées, dans sa propre transaction sur la base principale.
+     * Le COUNT ne compte ni deux fois ni trop peu tant que toutes les transactions qui modifient des notifications
+     * passent par add, et donc par le compteur, sur la base principale : celles encore en cours ne sont pas comptées
+     * et ajouteront leur delta au compteur créé ici.
+     * @return La valeur du compteur créé, vide s'il a été créé en parallèle par une autre transaction
+     */
+    private Optional<Long> initialize(UUID userId) {
+        try {
+            return Optional.ofNullable(newTransaction.execute(status -> {
+                NotificationCounter counter = new NotificationCounter();
+                counter.setUserId(userId);
+                counter.setUnreadCount(notificationRepository.countByProjectMemberUserIdAndIsReadFalse(userId));
+                return counterRepository.saveAndFlush(counter).getUnreadCount();
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.codeSolution.PMT.config.SessionService;
 import com.codeSolution.PMT.model.User;
 import com.codeSolution.PMT.repository.UserRepository;
+import com.codeSolution.PMT.util.AfterCommit;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,19 +19,26 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final SessionService sessionService;
+    private final ProjectMembershipCache membershipCache;
+    private final NotificationService notificationService;
 
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
+    // Lecture-écriture, comme ProjectService.findById : l'entité chargée ici est ensuite modifiée
     public Optional<User> findById(UUID id) {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findByUserName(String userName) {
         return userRepository.findByUserName(userName);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -39,13 +48,18 @@ public class UserService {
     }
 
     public void deleteById(UUID id) {
+        notificationService.beforeUserDeleted(id);
         userRepository.deleteById(id);
+        AfterCommit.run(() -> sessionService.evict(id));
+        AfterCommit.run(() -> membershipCache.evictUser(id));
     }
 
+    @Transactional(readOnly = true)
     public boolean existsByUserName(String userName) {
         return userRepository.existsByUserName(userName);
     }
 
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -0,0 +1,50 @@
+package com.codeSolution.PMT.util;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Détecte les modifications validées pendant le chargement d'une entrée de cache.
+ * Chargements et modifications sont numérotés par la même séquence : un chargement commencé avant
+ * la dernière modification de sa clé a pu lire l'état antérieur et ne doit pas être mis en cache.
+ * Une modification antérieure au plus ancien chargement en cours ne concerne plus aucun chargement et est oubliée.
+ */
+public class CacheLoadGuard<K> {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<K, Long> lastChanges = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> runningLoads = new TreeSet<>();
+
+    /**
+     * Numéro du chargement, à passer à changedSince puis à endLoad
+     */
+    public long startLoad() {
+        synchronized (runningLoads) {
+            long load = sequence.incrementAndGet();
+            runningLoads.add(load);
+            return load;
+        }
+    }
+
+    public void endLoad(long load) {
+        synchronized (runningLoads) {
+            runningLoads.remove(load);
+            long oldest = runningLoads.isEmpty() ? sequence.get() : runningLoads.first();
+            lastChanges.values().removeIf(change -> change < oldest);
+        }
+    }
+
+    /**
+     * Enregistre une modification validée de key, avant d'ajuster ou d'invalider l'entrée du cache
+     */
+    public void changed(K key) {
+        lastChanges.put(key, sequence.incrementAndGet());
+    }
+
+    public boolean changedSince(K key, long load) {
+        return lastChanges.getOrDefault(key, 0L) > load;
+    }
+}
@@ -0,0 +1,108 @@
+package com.codeSolution.PMT.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache mémoire borné dont chaque entrée expire après un TTL propre.
+ * Lorsque la taille maximale est atteinte, les entrées expirées sont purgées ;
+ * si le cache est toujours plein, un dixième des entrées, celles qui expirent le plus tôt, est évincé.
+ * L'éviction par lots amortit le tri sur les insertions suivantes.
+ */
+public class ExpiringCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Clock clock;
+
+    public ExpiringCache(int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    public ExpiringCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Retourne la valeur associée à la clé si elle est présente et non expirée
+     */
+    public Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() <= clock.millis()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                evictSoonestExpiring();
+            }
+        }
+        entries.put(key, new Entry<>(value, clock.millis() + ttl.toMillis()));
+    }
+
+    /**
+     * Remplace atomiquement la valeur d'une entrée présente et non expirée, sans changer son expiration
+     */
+    public void computeIfPresent(K key, UnaryOperator<V> remapping) {
+        long now = clock.millis();
+        entries.computeIfPresent(key, (k, entry) -> entry.expiresAt() <= now
+                ? null
+                : new Entry<>(remapping.apply(entry.value()), entry.expiresAt()));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Clés présentes à l'instant de l'appel, y compris celles expirées mais pas encore purgées
+     */
+    public Set<K> keys() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void purgeExpired() {
+        long now = clock.millis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private void evictSoonestExpiring() {
+        int toEvict = Math.max(1, maxEntries / 10);
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<K, Entry<V>> entry) -> entry.getValue().expiresAt()))
+                .limit(toEvict)
+                .toList()
+                .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+    }
+}
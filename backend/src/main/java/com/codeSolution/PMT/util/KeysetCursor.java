@@ -0,0 +1,33 @@
+package com.codeSolution.PMT.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodage des curseurs de pagination par clé (keyset) en jeton opaque.
+ * Le jeton contient les valeurs de tri de la dernière ligne renvoyée.
+ */
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(String... values) {
+        String joined = String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException si le curseur est illisible ou n'a pas le nombre de valeurs attendu
+     */
+    public static String[] decode(String cursor, int expectedValues) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] values = decoded.split("\\" + SEPARATOR, -1);
+        if (values.length != expectedValues) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return values;
+    }
+}
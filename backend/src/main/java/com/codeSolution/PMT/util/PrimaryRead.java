@@ -0,0 +1,72 @@
+package com.codeSolution.PMT.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Chargement destiné à un cache partagé par toutes les requêtes : il doit lire la base principale,
+ * un réplica en retard y remettrait une valeur déjà modifiée (un rôle retiré par exemple).
+ * Pendant le chargement, ReadReplicaRoutingDataSource envoie sur la base principale toute connexion demandée,
+ * y compris celle d'une transaction en lecture seule qui n'a encore exécuté aucune requête.
+ * Une transaction déjà servie par un réplica garde sa connexion : la valeur lue est renvoyée
+ * mais pas mise en cache, plutôt que d'ouvrir une seconde connexion.
+ */
+public class PrimaryRead {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private PrimaryRead() {
+    }
+
+    /**
+     * Exécute loader sur la base principale et passe le résultat à cache s'il ne vient pas d'un réplica
+     */
+    public static <T> T load(Supplier<T> loader, Consumer<T> cache) {
+        boolean nested = isRequested();
+        REQUESTED.set(Boolean.TRUE);
+        T value;
+        try {
+            value = loader.get();
+        } finally {
+            if (!nested) {
+                REQUESTED.remove();
+            }
+        }
+        if (!isOnReplica()) {
+            cache.accept(value);
+        }
+        return value;
+    }
+
+    public static boolean isRequested() {
+        return REQUESTED.get() != null;
+    }
+
+    /**
+     * Signale que la transaction courante lit un réplica ; appelé par ReadReplicaRoutingDataSource.
+     * La marque est une synchronisation : elle suit la transaction quand une autre la suspend.
+     */
+    public static void markReplica() {
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !isOnReplica()) {
+            TransactionSynchronizationManager.registerSynchronization(new ReplicaTransaction());
+        }
+    }
+
+    private static boolean isOnReplica() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof ReplicaTransaction) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class ReplicaTransaction implements TransactionSynchronization {
+    }
+}
@@ -0,0 +1,199 @@
+package com.codeSolution.PMT.config;
+
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.repository.ProjectMemberRepository;
+import com.codeSolution.PMT.service.ProjectMembershipCache;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Deux bases H2 jouent le rôle de la base principale et du réplica
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary-" + UUID.randomUUID());
+        replica = h2("replica-" + UUID.randomUUID());
+
+        routing = new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransaction_ShouldUseReplica() {
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testReadWriteTransaction_ShouldUsePrimary() {
+        assertEquals("primary", readWriteTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testReadAfterWriteBySameUser_ShouldStayOnPrimary() {
+        // Given
+        authenticate(UUID.randomUUID());
+        readWriteTransaction.executeWithoutResult(status -> write());
+
+        // When & Then
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testReadAfterReadWriteTransactionWithoutWrite_ShouldUseReplica() {
+        // Given
+        authenticate(UUID.randomUUID());
+        readWriteTransaction.execute(status -> currentDatabase());
+
+        // When & Then
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testReadAfterRolledBackWrite_ShouldUseReplica() {
+        // Given
+        authenticate(UUID.randomUUID());
+        readWriteTransaction.executeWithoutResult(status -> {
+            write();
+            status.setRollbackOnly();
+        });
+
+        // When & Then
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testReadAfterWriteByOtherUser_ShouldUseReplica() {
+        // Given
+        authenticate(UUID.randomUUID());
+        readWriteTransaction.executeWithoutResult(status -> write());
+
+        // When
+        authenticate(UUID.randomUUID());
+
+        // Then
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testWithoutReplica_ShouldAlwaysUsePrimary() {
+        // Given
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(
+                h2("primary-" + UUID.randomUUID()), List.of(), Duration.ofMinutes(1));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+
+        // When & Then
+        assertEquals("primary", transaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void testRevokedMember_ShouldNotBeCachedFromLaggingReplica() {
+        // Given - membre retiré sur la base principale, encore présent sur le réplica en retard
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        new JdbcTemplate(replica).update("INSERT INTO member_role VALUES (?)", Role.MEMBER.name());
+        ProjectMemberRepository projectMemberRepository = mock(ProjectMemberRepository.class);
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenAnswer(invocation ->
+                jdbcTemplate.queryForList("SELECT role FROM member_role", String.class).stream()
+                        .map(role -> member(projectId, userId, Role.valueOf(role)))
+                        .findFirst());
+        ProjectMembershipCache membershipCache = new ProjectMembershipCache(projectMemberRepository);
+
+        // When - transaction déjà servie par le réplica : le rôle périmé est lu mais pas mis en cache
+        Optional<Role> fromReplica = readOnlyTransaction.execute(status -> {
+            currentDatabase();
+            return membershipCache.getRole(projectId, userId);
+        });
+        // Transaction en lecture seule dont le premier accès est le chargement du rôle
+        Optional<Role> loaded = readOnlyTransaction.execute(status -> membershipCache.getRole(projectId, userId));
+
+        // Then
+        assertEquals(Optional.of(Role.MEMBER), fromReplica);
+        assertEquals(Optional.empty(), loaded);
+        assertFalse(membershipCache.canEdit(projectId, userId));
+        verify(projectMemberRepository, times(2)).findByProjectIdAndUserId(projectId, userId);
+    }
+
+    @Test
+    void testWriteStatementInspector_ShouldOnlyDetectModifyingStatements() {
+        assertTrue(WriteStatementInspector.isWrite("insert into tasks (id) values (?)"));
+        assertTrue(WriteStatementInspector.isWrite(" UPDATE tasks SET name = ?"));
+        assertTrue(WriteStatementInspector.isWrite("delete from notifications where id = ?"));
+        assertFalse(WriteStatementInspector.isWrite("select t.id from tasks t"));
+    }
+
+    // Comme WriteStatementInspector pour une requête préparée par Hibernate
+    private void write() {
+        jdbcTemplate.update("UPDATE database_role SET name = name");
+        routing.recordWrite();
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM database_role", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE database_role (name VARCHAR(20))");
+        setup.execute("CREATE TABLE member_role (role VARCHAR(20))");
+        setup.update("INSERT INTO database_role VALUES (?)", name.substring(0, name.indexOf('-')));
+        return dataSource;
+    }
+
+    private static ProjectMember member(UUID projectId, UUID userId, Role role) {
+        ProjectMember member = new ProjectMember();
+        member.setProjectId(projectId);
+        member.setUserId(userId);
+        member.setRole(role);
+        return member;
+    }
+
+    private static void authenticate(UUID userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+}
@@ -0,0 +1,186 @@
+package com.codeSolution.PMT.controller;
+
+import com.codeSolution.PMT.dto.CursorPage;
+import com.codeSolution.PMT.dto.NotificationDTO;
+import com.codeSolution.PMT.dto.UnreadCountResponse;
+import com.codeSolution.PMT.service.NotificationService;
+import com.codeSolution.PMT.service.NotificationStreamHub;
+import com.codeSolution.PMT.util.SecurityUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationControllerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationStreamHub notificationStreamHub;
+
+    @InjectMocks
+    private NotificationController notificationController;
+
+    @Test
+    void testStreamNotifications_ShouldSubscribeCurrentUser() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        SseEmitter emitter = new SseEmitter();
+        when(notificationStreamHub.subscribe(userId)).thenReturn(emitter);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<SseEmitter> response = notificationController.streamNotifications();
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertSame(emitter, response.getBody());
+        }
+    }
+
+    @Test
+    void testStreamNotifications_Unauthorized() {
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(null);
+
+            // When
+            ResponseEntity<SseEmitter> response = notificationController.streamNotifications();
+
+            // Then
+            assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+            verify(notificationStreamHub, never()).subscribe(any());
+        }
+    }
+
+    @Test
+    void testGetUnreadCount() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(notificationService.getUnreadCount(userId)).thenReturn(3L);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<UnreadCountResponse> response = notificationController.getUnreadCount();
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertNotNull(response.getBody());
+            assertEquals(3L, response.getBody().getUnreadCount());
+        }
+    }
+
+    @Test
+    void testMarkAsRead_Success() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID notificationId = UUID.randomUUID();
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = notificationController.markAsRead(notificationId);
+
+            // Then
+            assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+            verify(notificationService).markAsRead(notificationId, userId);
+        }
+    }
+
+    @Test
+    void testMarkAsRead_NotFound() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID notificationId = UUID.randomUUID();
+        doThrow(new RuntimeException("Notification not found"))
+                .when(notificationService).markAsRead(notificationId, userId);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = notificationController.markAsRead(notificationId);
+
+            // Then
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            assertEquals("Notification not found", response.getBody());
+        }
+    }
+
+    @Test
+    void testGetInbox_ShouldReturnPage() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        CursorPage<NotificationDTO> page = new CursorPage<>(List.of(new NotificationDTO()), "next");
+        when(notificationService.findInboxPage(userId, 20, null, true)).thenReturn(page);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = notificationController.getInbox(20, null, true);
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertSame(page, response.getBody());
+        }
+    }
+
+    @Test
+    void testGetInbox_WithInvalidCursor_ShouldReturnBadRequest() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(notificationService.findInboxPage(userId, NotificationService.MAX_PAGE_SIZE, "bad", false))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = notificationController.getInbox(null, "bad", false);
+
+            // Then
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertEquals("Invalid cursor", response.getBody());
+        }
+    }
+
+    @Test
+    void testMarkAllAsRead_ShouldReturnRemainingUnreadCount() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(notificationService.markAllAsRead(userId)).thenReturn(4);
+        when(notificationService.getUnreadCount(userId)).thenReturn(0L);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<UnreadCountResponse> response = notificationController.markAllAsRead();
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertNotNull(response.getBody());
+            assertEquals(0L, response.getBody().getUnreadCount());
+            verify(notificationService).markAllAsRead(userId);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.codeSolution.PMT.controller;
 
 import com.codeSolution.PMT.dto.InviteMemberRequest;
+import com.codeSolution.PMT.dto.ProjectBoardDTO;
 import com.codeSolution.PMT.dto.ProjectMemberDTO;
+import com.codeSolution.PMT.dto.ProjectStatsDTO;
+import com.codeSolution.PMT.dto.TaskStateDTO;
 import com.codeSolution.PMT.dto.UpdateMemberRoleRequest;
 import com.codeSolution.PMT.model.Project;
 import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.service.ProjectAnalyticsService;
 import com.codeSolution.PMT.service.ProjectService;
+import com.codeSolution.PMT.service.ProjectStatsService;
+import com.codeSolution.PMT.service.TaskReplayService;
+import com.codeSolution.PMT.service.TaskService;
 import com.codeSolution.PMT.util.SecurityUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,8 +24,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,6 +42,18 @@ class ProjectControllerTest {
     @Mock
     private ProjectService projectService;
 
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private ProjectStatsService projectStatsService;
+
+    @Mock
+    private TaskReplayService taskReplayService;
+
+    @Mock
+    private ProjectAnalyticsService projectAnalyticsService;
+
     @InjectMocks
     private ProjectController projectController;
 
@@ -53,6 +74,112 @@ class ProjectControllerTest {
         testProject.setDescription("Test Description");
     }
 
+    @Test
+    void testGetProjectBoard_ShouldUseDefaultColumnSize() {
+        // Given
+        ProjectBoardDTO board = new ProjectBoardDTO(projectId, List.of());
+        when(taskService.getBoard(projectId, userId, TaskService.DEFAULT_BOARD_COLUMN_SIZE)).thenReturn(board);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = projectController.getProjectBoard(projectId, null);
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(board, response.getBody());
+        }
+    }
+
+    @Test
+    void testGetProjectBoard_WhenNotMember_ShouldReturnForbidden() {
+        // Given
+        when(taskService.getBoard(projectId, userId, 5))
+                .thenThrow(new RuntimeException("You must be a member of the project to view tasks."));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = projectController.getProjectBoard(projectId, 5);
+
+            // Then
+            assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void testGetProjectStats_ShouldReturnStats() {
+        // Given
+        ProjectStatsDTO stats = new ProjectStatsDTO(projectId, 0, Map.of(), Map.of(), Map.of(), 0);
+        when(projectStatsService.getStats(projectId, userId)).thenReturn(stats);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = projectController.getProjectStats(projectId);
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(stats, response.getBody());
+        }
+    }
+
+    @Test
+    void testGetProjectStats_WhenNotMember_ShouldReturnForbidden() {
+        // Given
+        when(projectStatsService.getStats(projectId, userId))
+                .thenThrow(new RuntimeException("You must be a member of the project to view statistics."));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = projectController.getProjectStats(projectId);
+
+            // Then
+            assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void testGetProjectAnalytics_WhenNotMember_ShouldReturnForbidden() {
+        // Given
+        when(projectAnalyticsService.getAnalytics(projectId, userId))
+                .thenThrow(new RuntimeException("You must be a member of the project to view statistics."));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = projectController.getProjectAnalytics(projectId);
+
+            // Then
+            assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void testGetProjectTaskStatesAt_ShouldReturnStates() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<TaskStateDTO> states = List.of(new TaskStateDTO());
+        when(taskReplayService.getProjectTaskStatesAt(projectId, userId, at)).thenReturn(states);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = projectController.getProjectTaskStatesAt(projectId, at);
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(states, response.getBody());
+        }
+    }
+
     @Test
     void testGetAllProjects() {
         // Given
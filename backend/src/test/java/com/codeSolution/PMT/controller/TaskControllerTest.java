@@ -2,15 +2,20 @@ package com.codeSolution.PMT.controller;
 
 import com.codeSolution.PMT.dto.AssignTaskRequest;
 import com.codeSolution.PMT.dto.AssignTaskResponse;
+import com.codeSolution.PMT.dto.BatchTaskResponse;
+import com.codeSolution.PMT.dto.BatchTaskResult;
+import com.codeSolution.PMT.dto.BulkReassignRequest;
+import com.codeSolution.PMT.dto.BulkTaskUpdateRequest;
 import com.codeSolution.PMT.dto.CreateTaskRequest;
+import com.codeSolution.PMT.dto.CursorPage;
 import com.codeSolution.PMT.dto.TaskDTO;
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
 import com.codeSolution.PMT.model.Project;
 import com.codeSolution.PMT.model.ProjectMember;
 import com.codeSolution.PMT.model.Role;
 import com.codeSolution.PMT.model.Task;
-import com.codeSolution.PMT.model.TaskHistory;
 import com.codeSolution.PMT.model.User;
-import com.codeSolution.PMT.service.EmailService;
+import com.codeSolution.PMT.service.TaskReplayService;
 import com.codeSolution.PMT.service.TaskService;
 import com.codeSolution.PMT.util.SecurityUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,18 +25,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,7 +52,7 @@ class TaskControllerTest {
     private TaskService taskService;
 
     @Mock
-    private EmailService emailService;
+    private TaskReplayService taskReplayService;
 
     @InjectMocks
     private TaskController taskController;
@@ -106,7 +117,7 @@ class TaskControllerTest {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
             when(taskService.findByIdWithPermission(taskId, userId)).thenReturn(testTask);
 
-            ResponseEntity<?> response = taskController.getTaskById(taskId);
+            ResponseEntity<?> response = taskController.getTaskById(taskId, null);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertNotNull(response.getBody());
@@ -120,7 +131,7 @@ class TaskControllerTest {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(null);
 
-            ResponseEntity<?> response = taskController.getTaskById(taskId);
+            ResponseEntity<?> response = taskController.getTaskById(taskId, null);
 
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
             verify(taskService, never()).findByIdWithPermission(any(), any());
@@ -134,7 +145,7 @@ class TaskControllerTest {
             when(taskService.findByIdWithPermission(taskId, userId))
                     .thenThrow(new RuntimeException("Task not found"));
 
-            ResponseEntity<?> response = taskController.getTaskById(taskId);
+            ResponseEntity<?> response = taskController.getTaskById(taskId, null);
 
             assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
             assertEquals("Task not found", response.getBody());
@@ -149,7 +160,7 @@ class TaskControllerTest {
             when(taskService.findByIdWithPermission(taskId, userId))
                     .thenThrow(new RuntimeException("You must be a member of the project to view task details."));
 
-            ResponseEntity<?> response = taskController.getTaskById(taskId);
+            ResponseEntity<?> response = taskController.getTaskById(taskId, null);
 
             assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
             assertEquals("You must be a member of the project to view task details.", response.getBody());
@@ -166,7 +177,7 @@ class TaskControllerTest {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
             when(taskService.findTaskDTOsByProjectId(projectId, userId)).thenReturn(taskDTOs);
 
-            ResponseEntity<?> response = taskController.getTasksByProject(projectId);
+            ResponseEntity<?> response = taskController.getTasksByProject(projectId, null, null);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertNotNull(response.getBody());
@@ -175,12 +186,41 @@ class TaskControllerTest {
         }
     }
 
+    @Test
+    void testGetTasksByProject_WithLimit_ShouldReturnPage() {
+        CursorPage<TaskDTO> page = new CursorPage<>(List.of(TaskDTO.fromTask(testTask)), "next");
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+            when(taskService.findTaskDTOPageByProjectId(projectId, userId, 50, null)).thenReturn(page);
+
+            ResponseEntity<?> response = taskController.getTasksByProject(projectId, 50, null);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(page, response.getBody());
+            verify(taskService, never()).findTaskDTOsByProjectId(any(), any());
+        }
+    }
+
+    @Test
+    void testGetTasksByProject_WithInvalidCursor_ShouldReturnBadRequest() {
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+            when(taskService.findTaskDTOPageByProjectId(projectId, userId, TaskService.MAX_PAGE_SIZE, "bad"))
+                    .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+            ResponseEntity<?> response = taskController.getTasksByProject(projectId, null, "bad");
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        }
+    }
+
     @Test
     void testGetTasksByProject_Unauthorized() {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(null);
 
-            ResponseEntity<?> response = taskController.getTasksByProject(projectId);
+            ResponseEntity<?> response = taskController.getTasksByProject(projectId, null, null);
 
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
             verify(taskService, never()).findTaskDTOsByProjectId(any(), any());
@@ -194,7 +234,7 @@ class TaskControllerTest {
             when(taskService.findTaskDTOsByProjectId(projectId, userId))
                     .thenThrow(new RuntimeException("You must be a member of the project to view tasks."));
 
-            ResponseEntity<?> response = taskController.getTasksByProject(projectId);
+            ResponseEntity<?> response = taskController.getTasksByProject(projectId, null, null);
 
             assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
             assertEquals("You must be a member of the project to view tasks.", response.getBody());
@@ -248,27 +288,65 @@ class TaskControllerTest {
     void testGetTaskHistory_Success() {
         // Given
         UUID viewerId = UUID.randomUUID();
-        TaskHistory history = new TaskHistory();
+        TaskHistoryDTO history = new TaskHistoryDTO();
         history.setId(UUID.randomUUID());
-        List<TaskHistory> histories = Arrays.asList(history);
+        List<TaskHistoryDTO> histories = Arrays.asList(history);
         when(taskService.getTaskHistory(taskId, viewerId)).thenReturn(histories);
 
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(viewerId);
 
             // When
-            ResponseEntity<?> response = taskController.getTaskHistory(taskId);
+            ResponseEntity<?> response = taskController.getTaskHistory(taskId, null, null);
 
             // Then
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertNotNull(response.getBody());
             @SuppressWarnings("unchecked")
-            List<TaskHistory> body = (List<TaskHistory>) response.getBody();
+            List<TaskHistoryDTO> body = (List<TaskHistoryDTO>) response.getBody();
             assertEquals(1, body.size());
             verify(taskService, times(1)).getTaskHistory(taskId, viewerId);
         }
     }
 
+    @Test
+    void testGetTaskStateAt_WhenTaskDidNotExist_ShouldReturnNotFound() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(taskReplayService.getTaskStateAt(taskId, userId, at))
+                .thenThrow(new RuntimeException("Task not found at this date"));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = taskController.getTaskStateAt(taskId, at);
+
+            // Then
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void testGetTaskHistory_WithLimit_ShouldReturnPage() {
+        // Given
+        UUID viewerId = UUID.randomUUID();
+        CursorPage<TaskHistoryDTO> page = new CursorPage<>(List.of(new TaskHistoryDTO()), "next");
+        when(taskService.getTaskHistoryPage(taskId, viewerId, 20, null)).thenReturn(page);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(viewerId);
+
+            // When
+            ResponseEntity<?> response = taskController.getTaskHistory(taskId, 20, null);
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(page, response.getBody());
+            verify(taskService, never()).getTaskHistory(any(), any());
+        }
+    }
+
     @Test
     void testGetTaskHistory_Unauthorized() {
         // Given
@@ -276,7 +354,7 @@ class TaskControllerTest {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(null);
 
             // When
-            ResponseEntity<?> response = taskController.getTaskHistory(taskId);
+            ResponseEntity<?> response = taskController.getTaskHistory(taskId, null, null);
 
             // Then
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
@@ -353,6 +431,276 @@ class TaskControllerTest {
         }
     }
 
+    @Test
+    void testCreateTasks_ShouldReturnPerItemResults() {
+        // Given
+        UUID creatorId = UUID.randomUUID();
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setProjectId(projectId);
+        request.setName("New Task");
+        BatchTaskResponse batchResponse = BatchTaskResponse.of(List.of(
+                BatchTaskResult.success(0, UUID.randomUUID()),
+                BatchTaskResult.failure(1, null, "Task name is required")));
+
+        when(taskService.createTasks(anyList(), eq(creatorId))).thenReturn(batchResponse);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(creatorId);
+
+            // When
+            ResponseEntity<?> response = taskController.createTasks(List.of(request, new CreateTaskRequest()));
+
+            // Then
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            BatchTaskResponse body = (BatchTaskResponse) response.getBody();
+            assertEquals(1, body.getSucceeded());
+            assertEquals(1, body.getFailed());
+        }
+    }
+
+    @Test
+    void testCreateTasks_WhenBatchInvalid_ShouldReturnBadRequest() {
+        // Given
+        UUID creatorId = UUID.randomUUID();
+        when(taskService.createTasks(anyList(), eq(creatorId)))
+                .thenThrow(new IllegalArgumentException("At least one task is required"));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(creatorId);
+
+            // When
+            ResponseEntity<?> response = taskController.createTasks(List.of());
+
+            // Then
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertEquals("At least one task is required", response.getBody());
+        }
+    }
+
+    @Test
+    void testUpdateTasks_ShouldReturnPerItemResults() {
+        // Given
+        UUID updaterId = UUID.randomUUID();
+        BulkTaskUpdateRequest request = new BulkTaskUpdateRequest();
+        request.setTaskIds(List.of(taskId));
+        request.setStatus(Task.TaskStatus.DONE);
+        when(taskService.updateTasks(request, updaterId))
+                .thenReturn(BatchTaskResponse.of(List.of(BatchTaskResult.success(0, taskId))));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> response = taskController.updateTasks(request);
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(1, ((BatchTaskResponse) response.getBody()).getSucceeded());
+        }
+    }
+
+    @Test
+    void testReassignTasks_WhenTargetNotMember_ShouldReturnBadRequest() {
+        // Given
+        UUID assignedById = UUID.randomUUID();
+        BulkReassignRequest request = new BulkReassignRequest();
+        request.setProjectId(projectId);
+        request.setFromUserId(UUID.randomUUID());
+        request.setToUserId(UUID.randomUUID());
+        when(taskService.reassignTasks(request, assignedById))
+                .thenThrow(new RuntimeException("The user is not a member of this project."));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(assignedById);
+
+            // When
+            ResponseEntity<?> response = taskController.reassignTasks(request);
+
+            // Then
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertEquals("The user is not a member of this project.", response.getBody());
+        }
+    }
+
+    @Test
+    void testGetTaskById_ShouldReturnVersionAsETag() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        testTask.setVersion(3L);
+        when(taskService.findByIdWithPermission(taskId, userId)).thenReturn(testTask);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(userId);
+
+            // When
+            ResponseEntity<?> response = taskController.getTaskById(taskId, null);
+            ResponseEntity<?> notModified = taskController.getTaskById(taskId, "\"2\", W/\"3\"");
+            ResponseEntity<?> stale = taskController.getTaskById(taskId, "\"2\"");
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("\"3\"", response.getHeaders().getETag());
+            assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+            assertNull(notModified.getBody());
+            assertEquals("\"3\"", notModified.getHeaders().getETag());
+            assertEquals(HttpStatus.OK, stale.getStatusCode());
+        }
+    }
+
+    @Test
+    void testPatchTask_WithIfMatch_ShouldPassExpectedVersionAndReturnNewETag() {
+        // Given
+        UUID updaterId = UUID.randomUUID();
+        Map<String, Object> patch = Map.of("status", "DONE");
+        testTask.setVersion(5L);
+        when(taskService.patchTask(taskId, patch, updaterId, Set.of(4L))).thenReturn(testTask);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> response = taskController.patchTask(taskId, patch, "\"4\"");
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("\"5\"", response.getHeaders().getETag());
+        }
+    }
+
+    @Test
+    void testUpdateTask_WhenVersionConflict_ShouldReturnPreconditionFailed() {
+        // Given
+        UUID updaterId = UUID.randomUUID();
+        when(taskService.updateTask(taskId, testTask, updaterId, Set.of(1L)))
+                .thenThrow(new OptimisticLockingFailureException("Task has been modified by another request"));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> response = taskController.updateTask(taskId, testTask, "\"1\"");
+
+            // Then
+            assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void testPatchTask_WithMalformedIfMatch_ShouldNeverMatch() {
+        // Given
+        UUID updaterId = UUID.randomUUID();
+        Map<String, Object> patch = Map.of("status", "DONE");
+        when(taskService.patchTask(taskId, patch, updaterId, Set.of()))
+                .thenThrow(new OptimisticLockingFailureException("Task has been modified by another request"));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> response = taskController.patchTask(taskId, patch, "not-an-etag");
+
+            // Then
+            assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void testPatchTask_WithIfMatchList_ShouldAcceptAnyListedVersion() {
+        // Given
+        UUID updaterId = UUID.randomUUID();
+        Map<String, Object> patch = Map.of("status", "DONE");
+        testTask.setVersion(5L);
+        when(taskService.patchTask(taskId, patch, updaterId, Set.of(3L, 4L))).thenReturn(testTask);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> response = taskController.patchTask(taskId, patch, "\"3\", \"4\"");
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void testPatchTask_WithWeakIfMatch_ShouldIgnoreWeakTags() {
+        // Given - If-Match utilise la comparaison forte
+        UUID updaterId = UUID.randomUUID();
+        Map<String, Object> patch = Map.of("status", "DONE");
+        when(taskService.patchTask(taskId, patch, updaterId, Set.of()))
+                .thenThrow(new OptimisticLockingFailureException("Task has been modified by another request"));
+        when(taskService.patchTask(taskId, patch, updaterId, Set.of(4L))).thenReturn(testTask);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> weakOnly = taskController.patchTask(taskId, patch, "W/\"4\"");
+            ResponseEntity<?> mixed = taskController.patchTask(taskId, patch, "W/\"3\", \"4\"");
+
+            // Then
+            assertEquals(HttpStatus.PRECONDITION_FAILED, weakOnly.getStatusCode());
+            assertEquals(HttpStatus.OK, mixed.getStatusCode());
+        }
+    }
+
+    @Test
+    void testPatchTask_ShouldReturnPatchedTask() {
+        // Given
+        UUID updaterId = UUID.randomUUID();
+        Map<String, Object> patch = Map.of("status", "DONE");
+        when(taskService.patchTask(taskId, patch, updaterId, null)).thenReturn(testTask);
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> response = taskController.patchTask(taskId, patch, null);
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(testTask, response.getBody());
+        }
+    }
+
+    @Test
+    void testPatchTask_WithInvalidField_ShouldReturnBadRequest() {
+        // Given
+        UUID updaterId = UUID.randomUUID();
+        Map<String, Object> patch = Map.of("id", "x");
+        when(taskService.patchTask(taskId, patch, updaterId, null))
+                .thenThrow(new IllegalArgumentException("Unknown or read-only field: id"));
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> response = taskController.patchTask(taskId, patch, null);
+
+            // Then
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        }
+    }
+
+    @Test
+    void testPatchTask_WithExceptionWithoutMessage_ShouldReturnForbidden() {
+        // Given
+        UUID updaterId = UUID.randomUUID();
+        Map<String, Object> patch = Map.of("name", "Renamed");
+        when(taskService.patchTask(taskId, patch, updaterId, null)).thenThrow(new NullPointerException());
+
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
+
+            // When
+            ResponseEntity<?> response = taskController.patchTask(taskId, patch, null);
+
+            // Then
+            assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        }
+    }
+
     @Test
     void testUpdateTask_WhenTaskExists() {
         // Given
@@ -360,20 +708,20 @@ class TaskControllerTest {
         Task updatedTask = new Task();
         updatedTask.setId(taskId);
         updatedTask.setName("Updated Task");
-        when(taskService.updateTask(any(UUID.class), any(Task.class), any(UUID.class)))
+        when(taskService.updateTask(any(UUID.class), any(Task.class), any(UUID.class), isNull()))
                 .thenReturn(updatedTask);
 
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
 
             // When
-            ResponseEntity<?> response = taskController.updateTask(taskId, updatedTask);
+            ResponseEntity<?> response = taskController.updateTask(taskId, updatedTask, null);
 
             // Then
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertNotNull(response.getBody());
             assertEquals("Updated Task", ((Task) response.getBody()).getName());
-            verify(taskService, times(1)).updateTask(eq(taskId), eq(updatedTask), eq(updaterId));
+            verify(taskService, times(1)).updateTask(eq(taskId), eq(updatedTask), eq(updaterId), isNull());
         }
     }
 
@@ -381,19 +729,19 @@ class TaskControllerTest {
     void testUpdateTask_WhenTaskDoesNotExist() {
         // Given
         UUID updaterId = UUID.randomUUID();
-        when(taskService.updateTask(any(UUID.class), any(Task.class), any(UUID.class)))
+        when(taskService.updateTask(any(UUID.class), any(Task.class), any(UUID.class), isNull()))
                 .thenThrow(new RuntimeException("Task not found"));
 
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
 
             // When
-            ResponseEntity<?> response = taskController.updateTask(taskId, testTask);
+            ResponseEntity<?> response = taskController.updateTask(taskId, testTask, null);
 
             // Then
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertEquals("Task not found", response.getBody());
-            verify(taskService, times(1)).updateTask(eq(taskId), eq(testTask), eq(updaterId));
+            verify(taskService, times(1)).updateTask(eq(taskId), eq(testTask), eq(updaterId), isNull());
         }
     }
 
@@ -408,11 +756,11 @@ class TaskControllerTest {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(null);
 
             // When
-            ResponseEntity<?> response = taskController.updateTask(taskId, updatedTask);
+            ResponseEntity<?> response = taskController.updateTask(taskId, updatedTask, null);
 
             // Then
             assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
-            verify(taskService, never()).updateTask(any(), any(), any());
+            verify(taskService, never()).updateTask(any(), any(), any(), any());
         }
     }
 
@@ -424,19 +772,19 @@ class TaskControllerTest {
         updatedTask.setId(taskId);
         updatedTask.setName("Updated Task");
 
-        when(taskService.updateTask(any(UUID.class), any(Task.class), any(UUID.class)))
+        when(taskService.updateTask(any(UUID.class), any(Task.class), any(UUID.class), isNull()))
                 .thenThrow(new RuntimeException("You must be a member or administrator of the project to update tasks."));
 
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(updaterId);
 
             // When
-            ResponseEntity<?> response = taskController.updateTask(taskId, updatedTask);
+            ResponseEntity<?> response = taskController.updateTask(taskId, updatedTask, null);
 
             // Then
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertEquals("You must be a member or administrator of the project to update tasks.", response.getBody());
-            verify(taskService, times(1)).updateTask(eq(taskId), eq(updatedTask), eq(updaterId));
+            verify(taskService, times(1)).updateTask(eq(taskId), eq(updatedTask), eq(updaterId), isNull());
         }
     }
 
@@ -451,7 +799,7 @@ class TaskControllerTest {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(viewerId);
 
             // When
-            ResponseEntity<?> response = taskController.getTaskHistory(taskId);
+            ResponseEntity<?> response = taskController.getTaskHistory(taskId, null, null);
 
             // Then
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -499,11 +847,6 @@ class TaskControllerTest {
         
         when(taskService.assignTask(any(UUID.class), any(AssignTaskRequest.class), any(UUID.class)))
                 .thenReturn(testTask);
-        
-        EmailService.EmailNotificationResult emailResult = new EmailService.EmailNotificationResult(
-                "test@example.com", "Test Task", "Test Project", true);
-        when(emailService.sendTaskAssignmentNotification(anyString(), anyString(), anyString()))
-                .thenReturn(emailResult);
 
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(assignedById);
@@ -518,9 +861,8 @@ class TaskControllerTest {
             assertEquals("test@example.com", assignResponse.getUserEmail());
             assertEquals("Test Task", assignResponse.getTaskTitle());
             assertEquals("Test Project", assignResponse.getProjectName());
-            assertTrue(assignResponse.isEmailSent());
+            assertTrue(assignResponse.isEmailQueued());
             verify(taskService, times(1)).assignTask(eq(taskId), eq(request), eq(assignedById));
-            verify(emailService, times(1)).sendTaskAssignmentNotification(anyString(), anyString(), anyString());
         }
     }
 
@@ -0,0 +1,122 @@
+package com.codeSolution.PMT.repository;
+
+import com.codeSolution.PMT.model.EmailOutbox;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class EmailOutboxRepositoryTest {
+
+    private static final Set<EmailOutbox.Status> CLAIMABLE = EnumSet.of(EmailOutbox.Status.PENDING, EmailOutbox.Status.SENDING);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testClaim_ShouldOnlyClaimDueEmailsOnce() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox due = persistEmail("due", now.minusSeconds(1));
+        persistEmail("later", now.plusMinutes(10));
+        List<UUID> dueIds = emailOutboxRepository.findDueIds(CLAIMABLE, now, Limit.of(10));
+        UUID firstToken = UUID.randomUUID();
+        UUID secondToken = UUID.randomUUID();
+
+        // When
+        int firstClaim = emailOutboxRepository.claim(dueIds, CLAIMABLE, EmailOutbox.Status.SENDING,
+                firstToken, now, now.plusMinutes(5));
+        // Un second dispatcher qui a lu les mêmes identifiants ne doit rien obtenir
+        int secondClaim = emailOutboxRepository.claim(dueIds, CLAIMABLE, EmailOutbox.Status.SENDING,
+                secondToken, now, now.plusMinutes(5));
+
+        // Then
+        assertEquals(List.of(due.getId()), dueIds);
+        assertEquals(1, firstClaim);
+        assertEquals(0, secondClaim);
+        List<EmailOutbox> claimed = emailOutboxRepository.findByClaimToken(firstToken);
+        assertEquals(1, claimed.size());
+        assertEquals(EmailOutbox.Status.SENDING, claimed.get(0).getStatus());
+        assertEquals(1, claimed.get(0).getAttempts());
+        assertTrue(emailOutboxRepository.findByClaimToken(secondToken).isEmpty());
+    }
+
+    @Test
+    void testClaim_ShouldReclaimExpiredLease() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox email = persistEmail("stale", now.minusMinutes(10));
+        UUID staleToken = UUID.randomUUID();
+        emailOutboxRepository.claim(List.of(email.getId()), CLAIMABLE, EmailOutbox.Status.SENDING,
+                staleToken, now.minusMinutes(10), now.minusMinutes(5));
+
+        // When
+        List<UUID> dueIds = emailOutboxRepository.findDueIds(CLAIMABLE, now, Limit.of(10));
+        UUID token = UUID.randomUUID();
+        int claimed = emailOutboxRepository.claim(dueIds, CLAIMABLE, EmailOutbox.Status.SENDING,
+                token, now, now.plusMinutes(5));
+
+        // Then
+        assertEquals(1, claimed);
+        // L'ancien dispatcher ne peut plus acquitter l'email
+        assertEquals(0, emailOutboxRepository.markSent(List.of(email.getId()), staleToken,
+                EmailOutbox.Status.SENT, now));
+        assertEquals(1, emailOutboxRepository.markSent(List.of(email.getId()), token,
+                EmailOutbox.Status.SENT, now));
+        assertEquals(EmailOutbox.Status.SENT, emailOutboxRepository.findById(email.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testReleasePending_ShouldMakeRecipientEmailsDueNow() {
+        // Given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        EmailOutbox first = persistEmail("first", now.plusMinutes(2));
+        persistEmail("second", now.plusMinutes(2)).setRecipient(first.getRecipient());
+        EmailOutbox other = persistEmail("other", now.plusMinutes(2));
+        entityManager.flush();
+
+        // When
+        int released = emailOutboxRepository.releasePending(first.getRecipient(), EmailOutbox.EmailType.TASK_ASSIGNMENT,
+                EmailOutbox.Status.PENDING, now);
+
+        // Then
+        assertEquals(2, released);
+        assertEquals(2, emailOutboxRepository.countByRecipientAndTypeAndStatus(first.getRecipient(),
+                EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING));
+        assertEquals(now, emailOutboxRepository.findPendingDueAt(first.getRecipient(),
+                EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING).orElseThrow());
+        assertEquals(now.plusMinutes(2), emailOutboxRepository.findPendingDueAt(other.getRecipient(),
+                EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING).orElseThrow());
+        assertTrue(emailOutboxRepository.findPendingDueAt("nobody@example.com",
+                EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING).isEmpty());
+    }
+
+    private EmailOutbox persistEmail(String key, LocalDateTime nextAttemptAt) {
+        EmailOutbox email = new EmailOutbox();
+        email.setType(EmailOutbox.EmailType.TASK_ASSIGNMENT);
+        email.setDedupeKey(key);
+        email.setRecipient(key + "@example.com");
+        email.setTaskTitle("Task " + key);
+        email.setProjectName("Project");
+        email.setNextAttemptAt(nextAttemptAt);
+        email = entityManager.persist(email);
+        entityManager.flush();
+        return email;
+    }
+}
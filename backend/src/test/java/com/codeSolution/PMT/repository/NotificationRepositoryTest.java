@@ -0,0 +1,229 @@
+package com.codeSolution.PMT.repository;
+
+import com.codeSolution.PMT.dto.NotificationDTO;
+import com.codeSolution.PMT.model.Notification;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class NotificationRepositoryTest {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ProjectMember member;
+    private ProjectMember otherProjectMember;
+    private Task task;
+    private Task otherProjectTask;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUserName("reader");
+        user.setEmail("reader@example.com");
+        user.setPassword("password123");
+        user = entityManager.persist(user);
+
+        Project project = new Project();
+        project.setName("Inbox project");
+        project = entityManager.persist(project);
+
+        member = new ProjectMember();
+        member.setProjectId(project.getId());
+        member.setUserId(user.getId());
+        member.setRole(Role.MEMBER);
+        member = entityManager.persist(member);
+
+        task = new Task();
+        task.setName("Task");
+        task.setProjectMember(member);
+        task = entityManager.persist(task);
+
+        Project otherProject = new Project();
+        otherProject.setName("Other project");
+        otherProject = entityManager.persist(otherProject);
+
+        otherProjectMember = new ProjectMember();
+        otherProjectMember.setProjectId(otherProject.getId());
+        otherProjectMember.setUserId(user.getId());
+        otherProjectMember.setRole(Role.MEMBER);
+        otherProjectMember = entityManager.persist(otherProjectMember);
+
+        otherProjectTask = new Task();
+        otherProjectTask.setName("Other task");
+        otherProjectTask.setProjectMember(otherProjectMember);
+        otherProjectTask = entityManager.persist(otherProjectTask);
+    }
+
+    @Test
+    void testMarkAsRead_ShouldOnlyUpdateUnreadNotificationOfOwner() {
+        // Given
+        Notification notification = persistNotification();
+
+        // When & Then
+        assertEquals(0, notificationRepository.markAsRead(notification.getId(), UUID.randomUUID()));
+        assertEquals(1, notificationRepository.markAsRead(notification.getId(), member.getUserId()));
+        // Déjà lue : aucune ligne modifiée, le compteur n'est décrémenté qu'une fois
+        assertEquals(0, notificationRepository.markAsRead(notification.getId(), member.getUserId()));
+        assertEquals(0, notificationRepository.countByProjectMemberUserIdAndIsReadFalse(member.getUserId()));
+    }
+
+    @Test
+    void testCountUnread_ShouldCountAcrossProjects() {
+        // Given
+        persistNotification();
+        persistNotification();
+        Notification read = persistNotification();
+        notificationRepository.markAsRead(read.getId(), member.getUserId());
+
+        // When & Then
+        assertEquals(2, notificationRepository.countByProjectMemberUserIdAndIsReadFalse(member.getUserId()));
+        assertTrue(notificationRepository.existsByIdAndProjectMemberUserId(read.getId(), member.getUserId()));
+        assertFalse(notificationRepository.existsByIdAndProjectMemberUserId(read.getId(), UUID.randomUUID()));
+    }
+
+    @Test
+    void testInboxPages_ShouldWalkAllProjectsNewestFirst() {
+        // Given : 5 notifications réparties sur deux projets, dont deux à la même date
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 10, 0);
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            boolean otherProject = i % 2 == 1;
+            Notification notification = persistNotification(otherProject ? otherProjectMember : member,
+                    otherProject ? otherProjectTask : task);
+            notification.setCreatedAt(base.plusMinutes(i == 4 ? 3 : i));
+            expected.add(notification.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<NotificationDTO> walked = new ArrayList<>();
+        List<NotificationDTO> page = notificationRepository.findFirstInboxPage(member.getUserId(), Limit.of(2));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            NotificationDTO last = page.get(page.size() - 1);
+            page = notificationRepository.findInboxPageAfter(member.getUserId(), last.getCreatedAt(), last.getId(), Limit.of(2));
+        }
+
+        // Then
+        assertEquals(5, walked.size());
+        assertEquals(5, walked.stream().map(NotificationDTO::getId).distinct().count());
+        assertTrue(walked.stream().map(NotificationDTO::getId).toList().containsAll(expected));
+        // Même ordre qu'une lecture en une seule page (ordre des UUID défini par la base)
+        assertEquals(notificationRepository.findFirstInboxPage(member.getUserId(), Limit.of(10)), walked);
+        for (int i = 1; i < walked.size(); i++) {
+            assertFalse(walked.get(i - 1).getCreatedAt().isBefore(walked.get(i).getCreatedAt()));
+        }
+        assertEquals(2, walked.stream().map(NotificationDTO::getProjectId).distinct().count());
+    }
+
+    @Test
+    void testMarkAllAsRead_ShouldUpdateEveryUnreadNotificationInOneStatement() {
+        // Given
+        persistNotification();
+        persistNotification(otherProjectMember, otherProjectTask);
+        Notification alreadyRead = persistNotification();
+        notificationRepository.markAsRead(alreadyRead.getId(), member.getUserId());
+
+        // When
+        int updated = notificationRepository.markAllAsRead(member.getUserId());
+
+        // Then
+        assertEquals(2, updated);
+        assertEquals(0, notificationRepository.countByProjectMemberUserIdAndIsReadFalse(member.getUserId()));
+        assertTrue(notificationRepository.findFirstUnreadInboxPage(member.getUserId(), Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    void testFindOpenDigests_ShouldOnlyReturnRecentUnreadNotFullNotifications() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Notification open = persistNotification();
+        open.setAssignmentCount(3);
+        Notification full = persistNotification();
+        full.setAssignmentCount(20);
+        Notification old = persistNotification();
+        old.setCreatedAt(now.minusMinutes(10));
+        Notification read = persistNotification();
+        notificationRepository.markAsRead(read.getId(), member.getUserId());
+        persistNotification(otherProjectMember, otherProjectTask);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Notification> digests = notificationRepository.findOpenDigests(member.getProjectId(), member.getUserId(),
+                now.minusMinutes(2), 20, Limit.of(10));
+
+        // Then
+        assertEquals(List.of(open.getId()), digests.stream().map(Notification::getId).toList());
+    }
+
+    @Test
+    void testCountUnreadByRecipientForMember_ShouldIncludeNotificationsOnTasksOfMember() {
+        // Given : un autre membre a été notifié sur la tâche du membre retiré
+        User colleague = new User();
+        colleague.setUserName("colleague");
+        colleague.setEmail("colleague@example.com");
+        colleague.setPassword("password123");
+        colleague = entityManager.persist(colleague);
+        ProjectMember colleagueMember = new ProjectMember();
+        colleagueMember.setProjectId(member.getProjectId());
+        colleagueMember.setUserId(colleague.getId());
+        colleagueMember.setRole(Role.MEMBER);
+        colleagueMember = entityManager.persist(colleagueMember);
+        persistNotification();
+        persistNotification();
+        persistNotification(colleagueMember, task);
+        persistNotification(otherProjectMember, otherProjectTask);
+        Notification read = persistNotification(colleagueMember, task);
+        notificationRepository.markAsRead(read.getId(), colleague.getId());
+
+        // When
+        List<Object[]> rows = notificationRepository.countUnreadByRecipientForMember(member.getProjectId(),
+                member.getUserId());
+
+        // Then
+        assertEquals(2, rows.size());
+        for (Object[] row : rows) {
+            assertEquals(row[0].equals(member.getUserId()) ? 2L : 1L, ((Number) row[1]).longValue());
+        }
+        assertEquals(3, notificationRepository.countUnreadByRecipientForTask(task.getId()).stream()
+                .mapToLong(row -> ((Number) row[1]).longValue()).sum());
+    }
+
+    private Notification persistNotification() {
+        return persistNotification(member, task);
+    }
+
+    private Notification persistNotification(ProjectMember recipient, Task notifiedTask) {
+        Notification notification = new Notification();
+        notification.setProjectMember(recipient);
+        notification.setTask(notifiedTask);
+        notification.setMessage("Tâche assignée");
+        notification = entityManager.persist(notification);
+        entityManager.flush();
+        return notification;
+    }
+}
@@ -0,0 +1,104 @@
+package com.codeSolution.PMT.repository;
+
+import com.codeSolution.PMT.dto.ProjectMemberDTO;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ProjectMemberRepositoryTest {
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testFindMemberDTOsByProjectId_ShouldReturnUserInfo() {
+        // Given
+        Project project = createProjectWithMembers(2);
+
+        // When
+        List<ProjectMemberDTO> members = projectMemberRepository.findMemberDTOsByProjectId(project.getId());
+
+        // Then
+        assertEquals(2, members.size());
+        for (ProjectMemberDTO member : members) {
+            assertEquals(project.getId(), member.getProjectId());
+            assertNotNull(member.getUserId());
+            assertTrue(member.getUserEmail().endsWith("@example.com"));
+            assertTrue(member.getUserName().startsWith("member"));
+            assertEquals(Role.MEMBER, member.getRole());
+        }
+    }
+
+    @Test
+    void testFindMemberDTOsByProjectId_StatementCountShouldNotGrowWithMembers() {
+        // Given
+        Project smallProject = createProjectWithMembers(2);
+        Project largeProject = createProjectWithMembers(30);
+
+        // When
+        long smallCount = countStatements(() -> projectMemberRepository.findMemberDTOsByProjectId(smallProject.getId()));
+        long largeCount = countStatements(() -> projectMemberRepository.findMemberDTOsByProjectId(largeProject.getId()));
+
+        // Then
+        assertEquals(1, smallCount);
+        assertEquals(smallCount, largeCount);
+    }
+
+    private long countStatements(Runnable query) {
+        entityManager.clear();
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Project createProjectWithMembers(int memberCount) {
+        Project project = new Project();
+        project.setName("Project " + memberCount);
+        project = entityManager.persist(project);
+
+        for (int i = 0; i < memberCount; i++) {
+            User user = new User();
+            user.setUserName("member" + memberCount + "-" + i);
+            user.setEmail("member" + memberCount + "-" + i + "@example.com");
+            user.setPassword("password123");
+            user = entityManager.persist(user);
+
+            ProjectMember member = new ProjectMember();
+            member.setProjectId(project.getId());
+            member.setUserId(user.getId());
+            member.setRole(Role.MEMBER);
+            entityManager.persist(member);
+        }
+        entityManager.flush();
+        return project;
+    }
+}
@@ -0,0 +1,33 @@
+package com.codeSolution.PMT.repository;
+
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.TaskHistory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrées d'historique datées pour les tests JPA
+ */
+public final class TaskHistoryFixtures {
+
+    private TaskHistoryFixtures() {
+    }
+
+    public static TaskHistory persistHistory(TestEntityManager entityManager, Task task, ProjectMember member,
+                                             TaskHistory.FieldName fieldName, String oldValue, String newValue,
+                                             LocalDateTime modifiedAt) {
+        TaskHistory history = new TaskHistory();
+        history.setTask(task);
+        history.setProjectMember(member);
+        history.setFieldName(fieldName);
+        history.setOldValue(oldValue);
+        history.setNewValue(newValue);
+        history = entityManager.persist(history);
+        // modified_at est fixé par @PrePersist : on le réécrit pour dater l'entrée
+        history.setModifiedAt(modifiedAt);
+        entityManager.flush();
+        return history;
+    }
+}
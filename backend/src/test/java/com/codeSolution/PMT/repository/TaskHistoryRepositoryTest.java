@@ -0,0 +1,99 @@
+package com.codeSolution.PMT.repository;
+
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.TaskHistory;
+import com.codeSolution.PMT.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.codeSolution.PMT.repository.TaskHistoryFixtures.persistHistory;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TaskHistoryRepositoryTest {
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProjectMember member;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUserName("history");
+        user.setEmail("history@example.com");
+        user.setPassword("password123");
+        user = entityManager.persist(user);
+
+        Project project = new Project();
+        project.setName("History project");
+        project = entityManager.persist(project);
+
+        member = new ProjectMember();
+        member.setProjectId(project.getId());
+        member.setUserId(user.getId());
+        member.setRole(Role.MEMBER);
+        member = entityManager.persist(member);
+
+        task = new Task();
+        task.setName("Task");
+        task.setProjectMember(member);
+        task = entityManager.persist(task);
+    }
+
+    @Test
+    void testKeysetPages_ShouldWalkHistoryNewestFirstWithoutDuplicates() {
+        // Given - 7 entrées dont deux partagent la même date
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 8, 0);
+        for (int i = 0; i < 6; i++) {
+            persistHistory(entityManager, task, member, TaskHistory.FieldName.name, null, "Task", start.plusHours(i));
+        }
+        persistHistory(entityManager, task, member, TaskHistory.FieldName.name, null, "Task", start.plusHours(5));
+        entityManager.clear();
+        List<TaskHistoryDTO> expected = taskHistoryRepository.findDTOsByTaskId(task.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // When
+        List<TaskHistoryDTO> walked = new ArrayList<>();
+        List<TaskHistoryDTO> page = taskHistoryRepository.findFirstPageByTaskId(task.getId(), Limit.of(3));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            TaskHistoryDTO last = page.get(page.size() - 1);
+            statistics.clear();
+            page = taskHistoryRepository.findPageByTaskIdAfter(task.getId(), last.getModifiedAt(), last.getId(), Limit.of(3));
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        // Then
+        assertEquals(7, walked.size());
+        assertEquals(expected, walked);
+        assertEquals(start.plusHours(5), walked.get(0).getModifiedAt());
+        assertEquals(member.getUserId(), walked.get(0).getModifiedBy());
+        assertEquals(task.getId(), walked.get(0).getTaskId());
+    }
+}
@@ -0,0 +1,259 @@
+package com.codeSolution.PMT.repository;
+
+import com.codeSolution.PMT.dto.TaskDTO;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProjectMember projectMember;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUserName("owner");
+        user.setEmail("owner@example.com");
+        user.setPassword("password123");
+        user = entityManager.persist(user);
+
+        Project project = new Project();
+        project.setName("Keyset Project");
+        project = entityManager.persist(project);
+        projectId = project.getId();
+
+        projectMember = new ProjectMember();
+        projectMember.setProjectId(projectId);
+        projectMember.setUserId(user.getId());
+        projectMember.setRole(Role.ADMIN);
+        projectMember = entityManager.persist(projectMember);
+    }
+
+    @Test
+    void testKeysetPages_ShouldWalkAllTasksInOrderWithoutDuplicates() {
+        // Given - plusieurs tâches par date, dont certaines sans échéance
+        LocalDate today = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 7; i++) {
+            createTask("Task " + i, i % 3 == 0 ? null : today.plusDays(i % 2));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<UUID> expected = taskRepository.findByProjectId(projectId).stream().map(Task::getId).toList();
+
+        // When - parcours par pages de 2
+        List<TaskDTO> walked = new ArrayList<>();
+        List<TaskDTO> page = taskRepository.findFirstPageByProjectId(projectId, Limit.of(2));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            TaskDTO last = page.get(page.size() - 1);
+            page = last.getDueDate() == null
+                    ? taskRepository.findPageByProjectIdAfterNullDueDate(projectId, last.getId(), Limit.of(2))
+                    : taskRepository.findPageByProjectIdAfterDueDate(projectId, last.getDueDate(), last.getId(), Limit.of(2));
+        }
+
+        // Then
+        assertEquals(7, walked.size());
+        assertEquals(7, walked.stream().map(TaskDTO::getId).distinct().count());
+        assertEquals(expected.stream().sorted().toList(), walked.stream().map(TaskDTO::getId).sorted().toList());
+        // Les tâches sans échéance arrivent en dernier
+        assertTrue(walked.subList(0, 4).stream().allMatch(task -> task.getDueDate() != null));
+        assertTrue(walked.subList(4, 7).stream().allMatch(task -> task.getDueDate() == null));
+    }
+
+    @Test
+    void testFindDTOsByProjectId_ShouldProjectAllColumns() {
+        // Given
+        createTask("Projected", LocalDate.of(2026, 2, 1));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<TaskDTO> tasks = taskRepository.findDTOsByProjectId(projectId);
+
+        // Then - aucune entité n'est chargée dans le contexte de persistance
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, tasks.size());
+        TaskDTO dto = tasks.get(0);
+        assertEquals("Projected", dto.getName());
+        assertEquals(Task.TaskStatus.TODO, dto.getStatus());
+        assertEquals(Task.TaskPriority.MEDIUM, dto.getPriority());
+        assertEquals(LocalDate.of(2026, 2, 1), dto.getDueDate());
+        assertEquals(projectId, dto.getProjectId());
+        assertEquals(projectMember.getUserId(), dto.getAssignedUserId());
+    }
+
+    @Test
+    void testUpdateStatus_ShouldUpdateAllTasksInOneStatementAndSkipUnchanged() {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(createTask("Task " + i, null).getId());
+        }
+        Task done = createTask("Done", null);
+        done.setStatus(Task.TaskStatus.DONE);
+        ids.add(done.getId());
+        UUID untouched = createTask("Untouched", null).getId();
+        entityManager.flush();
+        Long doneVersion = done.getVersion();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        int updated = taskRepository.updateStatus(ids, Task.TaskStatus.DONE);
+
+        // Then
+        assertEquals(3, updated);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        // La version des lignes modifiées est incrémentée, celle des autres reste inchangée
+        assertTrue(taskRepository.findDTOsByIds(ids.subList(0, 3)).stream().allMatch(task -> task.getVersion() == 1L));
+        assertEquals(doneVersion, taskRepository.findDTOsByIds(List.of(done.getId())).get(0).getVersion());
+        assertTrue(taskRepository.findDTOsByIds(ids).stream().allMatch(task -> task.getStatus() == Task.TaskStatus.DONE));
+        assertEquals(Task.TaskStatus.TODO, taskRepository.findById(untouched).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testReassign_ShouldMoveOnlyGivenTasksToOtherMember() {
+        // Given
+        User other = new User();
+        other.setUserName("other");
+        other.setEmail("other@example.com");
+        other.setPassword("password123");
+        other = entityManager.persist(other);
+        ProjectMember otherMember = new ProjectMember();
+        otherMember.setProjectId(projectId);
+        otherMember.setUserId(other.getId());
+        otherMember.setRole(Role.MEMBER);
+        entityManager.persist(otherMember);
+        UUID first = createTask("First", null).getId();
+        UUID second = createTask("Second", null).getId();
+        UUID kept = createTask("Kept", null).getId();
+        entityManager.flush();
+
+        // When
+        int updated = taskRepository.reassign(List.of(first, second), projectId, other.getId());
+
+        // Then
+        assertEquals(2, updated);
+        assertEquals(List.of(kept), taskRepository.findDTOsByProjectIdAndAssignedUserId(projectId, projectMember.getUserId())
+                .stream().map(TaskDTO::getId).toList());
+        assertEquals(List.of(first, second).stream().sorted().toList(),
+                taskRepository.findDTOsByProjectIdAndAssignedUserId(projectId, other.getId())
+                        .stream().map(TaskDTO::getId).sorted().toList());
+    }
+
+    @Test
+    void testFindBoardRows_ShouldReturnFirstTasksOfEachStatusWithColumnCounts() {
+        // Given - 5 TODO, 2 IN_PROGRESS, aucune DONE
+        LocalDate today = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 5; i++) {
+            createTask("Todo " + i, i == 0 ? null : today.plusDays(5 - i));
+        }
+        for (int i = 0; i < 2; i++) {
+            createTask("Doing " + i, today).setStatus(Task.TaskStatus.IN_PROGRESS);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<Object[]> rows = taskRepository.findBoardRows(projectId, 3);
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("IN_PROGRESS", "IN_PROGRESS", "TODO", "TODO", "TODO"),
+                rows.stream().map(row -> (String) row[3]).toList());
+        assertEquals(List.of(2L, 2L, 5L, 5L, 5L), rows.stream().map(row -> ((Number) row[10]).longValue()).toList());
+        // Les premières tâches TODO sont celles aux échéances les plus proches
+        assertEquals(List.of("Todo 4", "Todo 3", "Todo 2"), rows.subList(2, 5).stream().map(row -> (String) row[1]).toList());
+    }
+
+    @Test
+    void testCountByProjectIdGrouped_ShouldAggregateTasksInOneStatement() {
+        // Given - 3 tâches identiques et une tâche terminée
+        LocalDate dueDate = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 3; i++) {
+            createTask("Same " + i, dueDate);
+        }
+        Task done = createTask("Done", null);
+        done.setStatus(Task.TaskStatus.DONE);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<Object[]> rows = taskRepository.countByProjectIdGrouped(projectId);
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, rows.size());
+        Object[] grouped = rows.stream().filter(row -> row[0] == Task.TaskStatus.TODO).findFirst().orElseThrow();
+        assertEquals(Task.TaskPriority.MEDIUM, grouped[1]);
+        assertEquals(projectMember.getUserId(), grouped[2]);
+        assertEquals(dueDate, grouped[3]);
+        assertEquals(3L, ((Number) grouped[4]).longValue());
+    }
+
+    @Test
+    void testVersion_ShouldRejectStaleUpdate() {
+        // Given
+        UUID id = createTask("Versioned", null).getId();
+        entityManager.flush();
+        entityManager.clear();
+        Task stale = taskRepository.findById(id).orElseThrow();
+        entityManager.detach(stale);
+        Task current = taskRepository.findById(id).orElseThrow();
+        current.setName("Updated");
+        taskRepository.saveAndFlush(current);
+        assertEquals(1L, current.getVersion());
+
+        // When & Then
+        stale.setName("Lost update");
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> taskRepository.saveAndFlush(stale));
+    }
+
+    private Task createTask(String name, LocalDate dueDate) {
+        Task task = new Task();
+        task.setName(name);
+        task.setDueDate(dueDate);
+        task.setProjectMember(projectMember);
+        return entityManager.persist(task);
+    }
+}
@@ -1,5 +1,8 @@
 package com.codeSolution.PMT.security;
 
+import com.codeSolution.PMT.config.JwtAuthenticationFilter;
+import com.codeSolution.PMT.config.JwtService;
+import com.codeSolution.PMT.config.SessionService;
 import com.codeSolution.PMT.model.User;
 import com.codeSolution.PMT.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +10,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -14,14 +20,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Tests d'intégration pour vérifier le comportement du filtre d'authentification
- * via des requêtes HTTP réelles
+ * via des requêtes HTTP réelles ; l'en-tête X-User-Id historique y est activé explicitement
  */
-@SpringBootTest
+@SpringBootTest(properties = "security.legacy-user-id-header.enabled=true")
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Transactional
@@ -33,6 +41,12 @@ class JwtAuthenticationFilterTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private SessionService sessionService;
+
     private User testUser;
     private UUID validUserId;
     private UUID invalidUserId;
@@ -82,4 +96,65 @@ class JwtAuthenticationFilterTest {
                 .header("X-User-Id", "not-a-valid-uuid"))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    void testFilter_WithLegacyHeaderDisabledByDefault_ShouldIgnoreUserIdHeader() throws Exception {
+        // Given - filtre construit sans configuration : l'en-tête historique est désactivé
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(sessionService, jwtService);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("X-User-Id", validUserId.toString());
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testFilter_WithValidBearerToken_ShouldSetAuthentication() throws Exception {
+        // Given
+        String token = jwtService.generateToken(validUserId);
+
+        // When & Then
+        mockMvc.perform(get("/api/projects")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testFilter_WithTamperedBearerToken_ShouldNotSetAuthentication() throws Exception {
+        // Given
+        String token = jwtService.generateToken(validUserId);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then - L'en-tête X-User-Id n'est pas utilisé en repli d'un jeton invalide
+        mockMvc.perform(get("/api/projects")
+                .header("Authorization", "Bearer " + tampered)
+                .header("X-User-Id", validUserId.toString()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testFilter_WithAccessTokenParameterOnNotificationStream_ShouldSetAuthentication() throws Exception {
+        // Given
+        String token = jwtService.generateToken(validUserId);
+
+        // When & Then - Flux SSE ouvert en mode asynchrone
+        mockMvc.perform(get("/api/notifications/stream")
+                .param("access_token", token))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void testFilter_WithAccessTokenParameterOnOtherPath_ShouldNotSetAuthentication() throws Exception {
+        // Given
+        String token = jwtService.generateToken(validUserId);
+
+        // When & Then - Le paramètre n'est accepté que pour le flux de notifications
+        mockMvc.perform(get("/api/projects")
+                .param("access_token", token))
+                .andExpect(status().isForbidden());
+    }
 }
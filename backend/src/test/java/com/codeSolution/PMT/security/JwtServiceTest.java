@@ -0,0 +1,86 @@
+package com.codeSolution.PMT.security;
+
+import com.codeSolution.PMT.config.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-hmac-sha256-signatures-only";
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private JwtService jwtService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void testGenerateToken_ShouldBeParsable() {
+        // When
+        String token = jwtService.generateToken(userId);
+
+        // Then
+        assertEquals(3, token.split("\\.").length);
+        assertEquals(Optional.of(userId), jwtService.parseUserId(token));
+    }
+
+    @Test
+    void testParseUserId_WithExpiredToken_ShouldReturnEmpty() {
+        // Given
+        String token = jwtService.generateToken(userId);
+        JwtService later = new JwtService(SECRET, Duration.ofHours(1),
+                Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+
+        // When & Then
+        assertTrue(later.parseUserId(token).isEmpty());
+    }
+
+    @Test
+    void testParseUserId_WithOtherSecret_ShouldReturnEmpty() {
+        // Given
+        String token = jwtService.generateToken(userId);
+        JwtService other = new JwtService("another-secret-key-for-hmac-sha256-signatures",
+                Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When & Then
+        assertTrue(other.parseUserId(token).isEmpty());
+    }
+
+    @Test
+    void testParseUserId_WithForgedPayload_ShouldReturnEmpty() {
+        // Given
+        String token = jwtService.generateToken(userId);
+        String[] parts = token.split("\\.");
+        String forgedPayload = jwtService.generateToken(UUID.randomUUID()).split("\\.")[1];
+
+        // When & Then
+        assertTrue(jwtService.parseUserId(parts[0] + "." + forgedPayload + "." + parts[2]).isEmpty());
+    }
+
+    @Test
+    void testParseUserId_WithMalformedToken_ShouldReturnEmpty() {
+        assertTrue(jwtService.parseUserId(null).isEmpty());
+        assertTrue(jwtService.parseUserId("").isEmpty());
+        assertTrue(jwtService.parseUserId("not-a-token").isEmpty());
+        assertTrue(jwtService.parseUserId("a.b.c").isEmpty());
+    }
+
+    @Test
+    void testConstructor_WithShortSecret_ShouldThrow() {
+        assertThrows(IllegalStateException.class,
+                () -> new JwtService("too-short", Duration.ofHours(1), Clock.systemUTC()));
+    }
+}
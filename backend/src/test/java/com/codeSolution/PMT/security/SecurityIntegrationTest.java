@@ -18,7 +18,8 @@ import java.util.UUID;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+// Les routes protégées y sont appelées avec l'en-tête X-User-Id historique, activé explicitement
+@SpringBootTest(properties = "security.legacy-user-id-header.enabled=true")
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Transactional
@@ -71,4 +71,33 @@ class SessionServiceTest {
         // Then
         assertFalse(isValid);
     }
+
+    @Test
+    void testIsValidUser_CachesValidUser() {
+        // Given
+        assertTrue(sessionService.isValidUser(validUserId));
+        userRepository.delete(testUser);
+        userRepository.flush();
+
+        // When - Le résultat positif est servi depuis le cache
+        boolean isValid = sessionService.isValidUser(validUserId);
+
+        // Then
+        assertTrue(isValid);
+    }
+
+    @Test
+    void testEvict_AfterUserDeleted_ShouldReturnFalse() {
+        // Given
+        assertTrue(sessionService.isValidUser(validUserId));
+        userRepository.delete(testUser);
+        userRepository.flush();
+
+        // When
+        sessionService.evict(validUserId);
+        boolean isValid = sessionService.isValidUser(validUserId);
+
+        // Then
+        assertFalse(isValid);
+    }
 }
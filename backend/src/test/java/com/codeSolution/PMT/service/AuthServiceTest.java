@@ -1,5 +1,6 @@
 package com.codeSolution.PMT.service;
 
+import com.codeSolution.PMT.config.JwtService;
 import com.codeSolution.PMT.dto.AuthResponse;
 import com.codeSolution.PMT.dto.LoginRequest;
 import com.codeSolution.PMT.dto.RegisterRequest;
@@ -26,6 +27,9 @@ class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private JwtService jwtService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -126,6 +130,7 @@ class AuthServiceTest {
         request.setPassword(plainPassword);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(jwtService.generateToken(testUserId)).thenReturn("signed-token");
 
         // When
         AuthResponse response = authService.login(request);
@@ -135,6 +140,7 @@ class AuthServiceTest {
         assertEquals(testUserId, response.getUserId());
         assertEquals("testuser", response.getUsername());
         assertEquals("test@example.com", response.getEmail());
+        assertEquals("signed-token", response.getToken());
         verify(userRepository, times(1)).findByEmail("test@example.com");
     }
 
@@ -0,0 +1,177 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.model.EmailOutbox;
+import com.codeSolution.PMT.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+    private static final LocalDateTime NOW_LOCAL = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService senders;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        senders = Executors.newFixedThreadPool(4);
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, emailService,
+                new TransactionTemplate(transactionManager), 10, 3, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                senders, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testDispatchBatch_WithNothingDue_ShouldNotClaim() {
+        // Given
+        when(emailOutboxRepository.findDueIds(anyCollection(), eq(NOW_LOCAL), any(Limit.class))).thenReturn(List.of());
+
+        // When
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(0, dispatched);
+        verify(emailOutboxRepository, never()).claim(any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testDispatchBatch_ShouldSendClaimedEmailsAndMarkThemSentTogether() {
+        // Given
+        EmailOutbox first = email(1);
+        EmailOutbox second = email(1);
+        List<UUID> ids = List.of(first.getId(), second.getId());
+        when(emailOutboxRepository.findDueIds(anyCollection(), eq(NOW_LOCAL), any(Limit.class))).thenReturn(ids);
+        when(emailOutboxRepository.findByClaimToken(any(UUID.class))).thenReturn(List.of(first, second));
+
+        // When
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(2, dispatched);
+        verify(emailOutboxRepository).claim(eq(ids), anyCollection(), eq(EmailOutbox.Status.SENDING),
+                any(UUID.class), eq(NOW_LOCAL), eq(NOW_LOCAL.plusMinutes(5)));
+        verify(emailService).sendTaskAssignmentNotification(first.getRecipient(), first.getTaskTitle(), first.getProjectName());
+        verify(emailService).sendTaskAssignmentNotification(second.getRecipient(), second.getTaskTitle(), second.getProjectName());
+        verify(emailOutboxRepository, times(1)).markSent(
+                argThat((Collection<UUID> sent) -> sent.size() == 2 && sent.containsAll(ids)),
+                any(UUID.class), eq(EmailOutbox.Status.SENT), eq(NOW_LOCAL));
+        verify(emailOutboxRepository, never()).release(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testDispatchBatch_ShouldSendOneDigestPerRecipient() {
+        // Given
+        EmailOutbox first = email(1);
+        EmailOutbox second = email(1);
+        second.setRecipient(first.getRecipient());
+        second.setTaskTitle("Other Task");
+        EmailOutbox alone = email(1);
+        List<UUID> ids = List.of(first.getId(), second.getId(), alone.getId());
+        when(emailOutboxRepository.findDueIds(anyCollection(), eq(NOW_LOCAL), any(Limit.class))).thenReturn(ids);
+        when(emailOutboxRepository.findByClaimToken(any(UUID.class))).thenReturn(List.of(first, second, alone));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        verify(emailService).sendTaskAssignmentDigest(first.getRecipient(), List.of(
+                new EmailService.TaskAssignmentItem("Task", "Project"),
+                new EmailService.TaskAssignmentItem("Other Task", "Project")));
+        verify(emailService).sendTaskAssignmentNotification(alone.getRecipient(), alone.getTaskTitle(), alone.getProjectName());
+        verify(emailService, times(1)).sendTaskAssignmentNotification(anyString(), anyString(), anyString());
+        verify(emailOutboxRepository, times(1)).markSent(
+                argThat((Collection<UUID> sent) -> sent.size() == 3 && sent.containsAll(ids)),
+                any(UUID.class), eq(EmailOutbox.Status.SENT), eq(NOW_LOCAL));
+    }
+
+    @Test
+    void testDispatchBatch_WhenSendFails_ShouldRescheduleWithBackoff() {
+        // Given
+        EmailOutbox email = email(2);
+        when(emailOutboxRepository.findDueIds(anyCollection(), eq(NOW_LOCAL), any(Limit.class))).thenReturn(List.of(email.getId()));
+        when(emailOutboxRepository.findByClaimToken(any(UUID.class))).thenReturn(List.of(email));
+        when(emailService.sendTaskAssignmentNotification(anyString(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("SMTP unavailable"));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then : deuxième tentative, délai doublé
+        verify(emailOutboxRepository).release(eq(email.getId()), any(UUID.class), eq(EmailOutbox.Status.PENDING),
+                eq(NOW_LOCAL.plusSeconds(60)), eq("SMTP unavailable"));
+        verify(emailOutboxRepository, never()).markSent(any(), any(), any(), any());
+    }
+
+    @Test
+    void testDispatchBatch_WhenMaxAttemptsReached_ShouldMarkFailed() {
+        // Given
+        EmailOutbox email = email(3);
+        when(emailOutboxRepository.findDueIds(anyCollection(), eq(NOW_LOCAL), any(Limit.class))).thenReturn(List.of(email.getId()));
+        when(emailOutboxRepository.findByClaimToken(any(UUID.class))).thenReturn(List.of(email));
+        when(emailService.sendTaskAssignmentNotification(anyString(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("SMTP unavailable"));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        verify(emailOutboxRepository).release(eq(email.getId()), any(UUID.class), eq(EmailOutbox.Status.FAILED),
+                eq(NOW_LOCAL), eq("SMTP unavailable"));
+    }
+
+    private EmailOutbox email(int attempts) {
+        EmailOutbox email = new EmailOutbox();
+        email.setId(UUID.randomUUID());
+        email.setType(EmailOutbox.EmailType.TASK_ASSIGNMENT);
+        email.setDedupeKey("TASK_ASSIGNMENT:" + email.getId());
+        email.setRecipient(email.getId() + "@example.com");
+        email.setTaskTitle("Task");
+        email.setProjectName("Project");
+        email.setStatus(EmailOutbox.Status.SENDING);
+        email.setAttempts(attempts);
+        return email;
+    }
+}
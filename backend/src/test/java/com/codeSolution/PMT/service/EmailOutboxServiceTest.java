@@ -0,0 +1,172 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.config.NotificationDigestProperties;
+import com.codeSolution.PMT.model.EmailOutbox;
+import com.codeSolution.PMT.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    private static final String RECIPIENT = "user@example.com";
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Captor
+    private ArgumentCaptor<EmailOutbox> emailCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<EmailOutbox>> emailsCaptor;
+
+    private NotificationDigestProperties digestProperties;
+    private EmailOutboxService emailOutboxService;
+    private UUID taskId;
+    private UUID assigneeId;
+
+    @BeforeEach
+    void setUp() {
+        digestProperties = new NotificationDigestProperties();
+        emailOutboxService = new EmailOutboxService(emailOutboxRepository, digestProperties);
+        taskId = UUID.randomUUID();
+        assigneeId = UUID.randomUUID();
+    }
+
+    @Test
+    void testEnqueueTaskAssignment_ShouldSavePendingEmailDelayedByDigestWindow() {
+        // Given
+        String dedupeKey = "TASK_ASSIGNMENT:" + taskId + ":" + assigneeId + ":3";
+        when(emailOutboxRepository.existsByDedupeKey(dedupeKey)).thenReturn(false);
+        when(emailOutboxRepository.findPendingDueAt(RECIPIENT, EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING))
+                .thenReturn(Optional.empty());
+        when(emailOutboxRepository.countByRecipientAndTypeAndStatus(RECIPIENT, EmailOutbox.EmailType.TASK_ASSIGNMENT,
+                EmailOutbox.Status.PENDING)).thenReturn(1L);
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        boolean queued = emailOutboxService.enqueueTaskAssignment(taskId, assigneeId, 3L, RECIPIENT, "Task", "Project");
+
+        // Then
+        assertTrue(queued);
+        verify(emailOutboxRepository).save(emailCaptor.capture());
+        EmailOutbox email = emailCaptor.getValue();
+        assertEquals(EmailOutbox.EmailType.TASK_ASSIGNMENT, email.getType());
+        assertEquals(EmailOutbox.Status.PENDING, email.getStatus());
+        assertEquals(dedupeKey, email.getDedupeKey());
+        assertEquals(RECIPIENT, email.getRecipient());
+        assertEquals("Task", email.getTaskTitle());
+        assertEquals("Project", email.getProjectName());
+        assertFalse(email.getNextAttemptAt().isBefore(before.plus(digestProperties.getWindow())));
+        verify(emailOutboxRepository, never()).releasePending(any(), any(), any(), any());
+    }
+
+    @Test
+    void testEnqueueTaskAssignment_ShouldJoinPendingDigestOfRecipient() {
+        // Given
+        LocalDateTime dueAt = LocalDateTime.now().plusSeconds(30);
+        when(emailOutboxRepository.existsByDedupeKey(any())).thenReturn(false);
+        when(emailOutboxRepository.findPendingDueAt(RECIPIENT, EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING))
+                .thenReturn(Optional.of(dueAt));
+        when(emailOutboxRepository.countByRecipientAndTypeAndStatus(RECIPIENT, EmailOutbox.EmailType.TASK_ASSIGNMENT,
+                EmailOutbox.Status.PENDING)).thenReturn(2L);
+
+        // When
+        emailOutboxService.enqueueTaskAssignment(taskId, assigneeId, 3L, RECIPIENT, "Task", "Project");
+
+        // Then : même échéance que les emails déjà en attente, envoyés ensemble
+        verify(emailOutboxRepository).save(emailCaptor.capture());
+        assertEquals(dueAt, emailCaptor.getValue().getNextAttemptAt());
+    }
+
+    @Test
+    void testEnqueueTaskAssignment_WhenDigestFull_ShouldReleasePendingEmails() {
+        // Given
+        when(emailOutboxRepository.existsByDedupeKey(any())).thenReturn(false);
+        when(emailOutboxRepository.findPendingDueAt(RECIPIENT, EmailOutbox.EmailType.TASK_ASSIGNMENT, EmailOutbox.Status.PENDING))
+                .thenReturn(Optional.of(LocalDateTime.now().plusSeconds(30)));
+        when(emailOutboxRepository.countByRecipientAndTypeAndStatus(RECIPIENT, EmailOutbox.EmailType.TASK_ASSIGNMENT,
+                EmailOutbox.Status.PENDING)).thenReturn((long) digestProperties.getMaxSize());
+
+        // When
+        emailOutboxService.enqueueTaskAssignment(taskId, assigneeId, 3L, RECIPIENT, "Task", "Project");
+
+        // Then
+        verify(emailOutboxRepository).releasePending(eq(RECIPIENT), eq(EmailOutbox.EmailType.TASK_ASSIGNMENT),
+                eq(EmailOutbox.Status.PENDING), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testEnqueueTaskAssignment_WithDigestDisabled_ShouldBeDueImmediately() {
+        // Given
+        digestProperties.setWindow(Duration.ZERO);
+        when(emailOutboxRepository.existsByDedupeKey(any())).thenReturn(false);
+
+        // When
+        emailOutboxService.enqueueTaskAssignment(taskId, assigneeId, 3L, RECIPIENT, "Task", "Project");
+
+        // Then : l'échéance est fixée à la création (@PrePersist)
+        verify(emailOutboxRepository).save(emailCaptor.capture());
+        assertNull(emailCaptor.getValue().getNextAttemptAt());
+        verify(emailOutboxRepository, never()).countByRecipientAndTypeAndStatus(any(), any(), any());
+    }
+
+    @Test
+    void testEnqueueTaskAssignment_WhenAlreadyQueued_ShouldNotSaveTwice() {
+        // Given
+        when(emailOutboxRepository.existsByDedupeKey("TASK_ASSIGNMENT:" + taskId + ":" + assigneeId + ":3")).thenReturn(true);
+
+        // When
+        boolean queued = emailOutboxService.enqueueTaskAssignment(taskId, assigneeId, 3L, RECIPIENT, "Task", "Project");
+
+        // Then
+        assertFalse(queued);
+        verify(emailOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    void testEnqueueTaskAssignments_ShouldSaveNewEmailsInOneBatchAndReleaseDigest() {
+        // Given
+        UUID otherTaskId = UUID.randomUUID();
+        Map<UUID, String> taskTitles = new LinkedHashMap<>();
+        taskTitles.put(taskId, "Task");
+        taskTitles.put(otherTaskId, "Other Task");
+        when(emailOutboxRepository.findExistingDedupeKeys(anyCollection()))
+                .thenReturn(List.of("TASK_ASSIGNMENT:" + taskId + ":" + assigneeId + ":3"));
+
+        // When
+        int queued = emailOutboxService.enqueueTaskAssignments(assigneeId, taskTitles,
+                Map.of(taskId, 3L, otherTaskId, 1L), RECIPIENT, "Project");
+
+        // Then
+        assertEquals(1, queued);
+        verify(emailOutboxRepository).saveAll(emailsCaptor.capture());
+        assertEquals(1, emailsCaptor.getValue().size());
+        EmailOutbox email = emailsCaptor.getValue().get(0);
+        assertEquals("TASK_ASSIGNMENT:" + otherTaskId + ":" + assigneeId + ":1", email.getDedupeKey());
+        assertEquals("Other Task", email.getTaskTitle());
+        assertNotNull(email.getNextAttemptAt());
+        verify(emailOutboxRepository).releasePending(eq(RECIPIENT), eq(EmailOutbox.EmailType.TASK_ASSIGNMENT),
+                eq(EmailOutbox.Status.PENDING), eq(email.getNextAttemptAt()));
+        verify(emailOutboxRepository, never()).existsByDedupeKey(any());
+    }
+}
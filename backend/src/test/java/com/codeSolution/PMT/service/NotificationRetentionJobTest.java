@@ -0,0 +1,130 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.model.Notification;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.User;
+import com.codeSolution.PMT.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class NotificationRetentionJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 15, 12, 0);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private NotificationRetentionJob job;
+    private ProjectMember member;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        ZoneId zone = ZoneId.systemDefault();
+        job = new NotificationRetentionJob(notificationRepository, new TransactionTemplate(transactionManager),
+                new JdbcTemplate(dataSource), Duration.ofDays(30), 2, false, Duration.ofDays(365),
+                Clock.fixed(NOW.atZone(zone).toInstant(), zone));
+
+        User user = new User();
+        user.setUserName("retention");
+        user.setEmail("retention@example.com");
+        user.setPassword("password123");
+        user = entityManager.persist(user);
+
+        Project project = new Project();
+        project.setName("Retention project");
+        project = entityManager.persist(project);
+
+        member = new ProjectMember();
+        member.setProjectId(project.getId());
+        member.setUserId(user.getId());
+        member.setRole(Role.MEMBER);
+        member = entityManager.persist(member);
+
+        task = new Task();
+        task.setName("Task");
+        task.setProjectMember(member);
+        task = entityManager.persist(task);
+    }
+
+    @Test
+    void testPurgeReadNotifications_ShouldDeleteOnlyOldReadOnesInBatches() {
+        // Given : 5 anciennes lues (3 lots de 2), 1 ancienne non lue, 1 récente lue
+        for (int i = 0; i < 5; i++) {
+            persistNotification(NOW.minusDays(40 + i), true);
+        }
+        Notification oldUnread = persistNotification(NOW.minusDays(60), false);
+        Notification recentRead = persistNotification(NOW.minusDays(5), true);
+        entityManager.clear();
+
+        // When
+        int deleted = job.purgeReadNotifications();
+
+        // Then
+        assertEquals(5, deleted);
+        assertEquals(2, notificationRepository.count());
+        assertTrue(notificationRepository.existsById(oldUnread.getId()));
+        assertTrue(notificationRepository.existsById(recentRead.getId()));
+    }
+
+    @Test
+    void testPurgeReadNotifications_WithNothingToDelete_ShouldReturnZero() {
+        persistNotification(NOW.minusDays(1), true);
+        entityManager.clear();
+
+        assertEquals(0, job.purgeReadNotifications());
+        assertEquals(1, notificationRepository.count());
+    }
+
+    @Test
+    void testPartitionEnd_ShouldParseMonthlyPartitionNames() {
+        assertEquals(Optional.of(LocalDate.of(2026, 2, 1)), NotificationRetentionJob.partitionEnd("notifications_p202601"));
+        assertEquals(Optional.of(LocalDate.of(2027, 1, 1)), NotificationRetentionJob.partitionEnd("notifications_p202612"));
+        assertTrue(NotificationRetentionJob.partitionEnd("notifications_default").isEmpty());
+        assertTrue(NotificationRetentionJob.partitionEnd("notifications_p202613").isEmpty());
+    }
+
+    private Notification persistNotification(LocalDateTime createdAt, boolean read) {
+        Notification notification = new Notification();
+        notification.setProjectMember(member);
+        notification.setTask(task);
+        notification.setMessage("Tâche assignée");
+        notification.setIsRead(read);
+        notification = entityManager.persist(notification);
+        // created_at est fixé par @PrePersist : on le réécrit pour simuler l'ancienneté
+        notification.setCreatedAt(createdAt);
+        entityManager.flush();
+        return notification;
+    }
+}
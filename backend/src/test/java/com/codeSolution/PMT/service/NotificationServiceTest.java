@@ -0,0 +1,312 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.config.NotificationDigestProperties;
+import com.codeSolution.PMT.dto.CursorPage;
+import com.codeSolution.PMT.dto.NotificationDTO;
+import com.codeSolution.PMT.model.Notification;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    private NotificationDigestProperties digestProperties;
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        digestProperties = new NotificationDigestProperties();
+        notificationService = new NotificationService(notificationRepository, eventPublisher, unreadCounter, digestProperties);
+    }
+
+    @Test
+    void testCreateTaskAssignmentNotification_ShouldPublishEventForAssignee() {
+        // Given
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        Project project = new Project();
+        project.setId(projectId);
+        project.setName("Project Name");
+
+        ProjectMember assignee = new ProjectMember();
+        assignee.setProjectId(projectId);
+        assignee.setUserId(userId);
+        assignee.setProject(project);
+
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        task.setName("Task Name");
+
+        when(notificationRepository.findOpenDigests(eq(projectId), eq(userId), any(LocalDateTime.class),
+                eq(digestProperties.getMaxSize()), eq(Limit.of(1)))).thenReturn(List.of());
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
+            Notification saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+
+        // When
+        Notification notification = notificationService.createTaskAssignmentNotification(assignee, task);
+
+        // Then
+        ArgumentCaptor<NotificationCreatedEvent> captor = ArgumentCaptor.forClass(NotificationCreatedEvent.class);
+        verify(unreadCounter).add(userId, 1);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(userId, captor.getValue().userId());
+        assertEquals(notification.getId(), captor.getValue().notification().getId());
+        assertEquals(projectId, captor.getValue().notification().getProjectId());
+        assertEquals(task.getId(), captor.getValue().notification().getTaskId());
+        assertEquals("La tâche 'Task Name' vous a été assignée dans le projet 'Project Name'.",
+                captor.getValue().notification().getMessage());
+    }
+
+    @Test
+    void testCreateTaskAssignmentNotification_WithOpenDigest_ShouldMergeIntoIt() {
+        // Given
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        Project project = new Project();
+        project.setName("Project Name");
+
+        ProjectMember assignee = new ProjectMember();
+        assignee.setProjectId(projectId);
+        assignee.setUserId(userId);
+        assignee.setProject(project);
+
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        task.setName("Third Task");
+
+        Notification digest = new Notification();
+        digest.setId(UUID.randomUUID());
+        digest.setProjectMember(assignee);
+        digest.setAssignmentCount(2);
+        digest.setIsRead(false);
+        when(notificationRepository.findOpenDigests(eq(projectId), eq(userId), any(LocalDateTime.class),
+                eq(digestProperties.getMaxSize()), eq(Limit.of(1)))).thenReturn(List.of(digest));
+        when(notificationRepository.save(digest)).thenReturn(digest);
+
+        // When
+        Notification notification = notificationService.createTaskAssignmentNotification(assignee, task);
+
+        // Then : aucune nouvelle notification non lue, le client reçoit la notification mise à jour
+        assertSame(digest, notification);
+        assertEquals(3, notification.getAssignmentCount());
+        assertSame(task, notification.getTask());
+        assertEquals("3 tâches vous ont été assignées dans le projet 'Project Name', dont 'Third Task'.",
+                notification.getMessage());
+        verify(unreadCounter, never()).add(any(), anyLong());
+        verify(eventPublisher).publishEvent(any(NotificationCreatedEvent.class));
+    }
+
+    @Test
+    void testCreateTaskAssignmentNotification_WithDigestDisabled_ShouldAlwaysInsert() {
+        // Given
+        digestProperties.setWindow(Duration.ZERO);
+        Project project = new Project();
+        project.setName("Project Name");
+        ProjectMember assignee = new ProjectMember();
+        assignee.setProjectId(UUID.randomUUID());
+        assignee.setUserId(UUID.randomUUID());
+        assignee.setProject(project);
+        Task task = new Task();
+        task.setName("Task Name");
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Notification notification = notificationService.createTaskAssignmentNotification(assignee, task);
+
+        // Then
+        assertEquals(1, notification.getAssignmentCount());
+        verify(notificationRepository, never()).findOpenDigests(any(), any(), any(), anyInt(), any());
+        verify(unreadCounter).add(assignee.getUserId(), 1);
+    }
+
+    @Test
+    void testCreateTaskAssignmentNotification_ForBulkAssignment_ShouldCreateOneDigest() {
+        // Given
+        digestProperties.setWindow(Duration.ZERO);
+        Project project = new Project();
+        project.setName("Project Name");
+        ProjectMember assignee = new ProjectMember();
+        assignee.setProjectId(UUID.randomUUID());
+        assignee.setUserId(UUID.randomUUID());
+        assignee.setProject(project);
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Notification notification = notificationService.createTaskAssignmentNotification(assignee, new Task(), "Last Task", 42);
+
+        // Then
+        assertEquals(42, notification.getAssignmentCount());
+        assertEquals("42 tâches vous ont été assignées dans le projet 'Project Name', dont 'Last Task'.",
+                notification.getMessage());
+        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(unreadCounter).add(assignee.getUserId(), 1);
+    }
+
+    @Test
+    void testMarkAsRead_ShouldDecrementCounterOnce() {
+        // Given
+        UUID notificationId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.markAsRead(notificationId, userId)).thenReturn(1);
+
+        // When
+        notificationService.markAsRead(notificationId, userId);
+
+        // Then
+        verify(unreadCounter).add(userId, -1);
+        verify(notificationRepository, never()).existsByIdAndProjectMemberUserId(any(), any());
+    }
+
+    @Test
+    void testMarkAsRead_WhenAlreadyRead_ShouldNotTouchCounter() {
+        // Given
+        UUID notificationId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.markAsRead(notificationId, userId)).thenReturn(0);
+        when(notificationRepository.existsByIdAndProjectMemberUserId(notificationId, userId)).thenReturn(true);
+
+        // When
+        notificationService.markAsRead(notificationId, userId);
+
+        // Then
+        verify(unreadCounter, never()).add(any(), anyLong());
+    }
+
+    @Test
+    void testMarkAsRead_WhenNotFound_ShouldThrow() {
+        // Given
+        UUID notificationId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.markAsRead(notificationId, userId)).thenReturn(0);
+        when(notificationRepository.existsByIdAndProjectMemberUserId(notificationId, userId)).thenReturn(false);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> notificationService.markAsRead(notificationId, userId));
+        assertEquals("Notification not found", exception.getMessage());
+        verify(unreadCounter, never()).add(any(), anyLong());
+    }
+
+    @Test
+    void testFindInboxPage_ShouldReturnCursorToNextPage() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 10, 0);
+        NotificationDTO newest = new NotificationDTO(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "a", now, false, 1);
+        NotificationDTO older = new NotificationDTO(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "b", now.minusMinutes(1), false, 1);
+        NotificationDTO oldest = new NotificationDTO(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "c", now.minusMinutes(2), true, 1);
+        when(notificationRepository.findFirstInboxPage(userId, Limit.of(3))).thenReturn(List.of(newest, older, oldest));
+        when(notificationRepository.findInboxPageAfter(userId, older.getCreatedAt(), older.getId(), Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        // When
+        CursorPage<NotificationDTO> first = notificationService.findInboxPage(userId, 2, null, false);
+        CursorPage<NotificationDTO> second = notificationService.findInboxPage(userId, 2, first.getNextCursor(), false);
+
+        // Then
+        assertEquals(List.of(newest, older), first.getItems());
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of(oldest), second.getItems());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testFindInboxPage_UnreadOnly_ShouldUseUnreadQuery() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.findFirstUnreadInboxPage(userId, Limit.of(NotificationService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        // When
+        CursorPage<NotificationDTO> page = notificationService.findInboxPage(userId, 10_000, null, true);
+
+        // Then
+        assertTrue(page.getItems().isEmpty());
+        verify(notificationRepository, never()).findFirstInboxPage(any(), any());
+    }
+
+    @Test
+    void testFindInboxPage_WithInvalidCursor_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> notificationService.findInboxPage(UUID.randomUUID(), 10, "bm90LWEtZGF0ZXw0Mg", false));
+    }
+
+    @Test
+    void testMarkAllAsRead_ShouldDecrementCounterByUpdatedRows() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.markAllAsRead(userId)).thenReturn(12);
+
+        // When
+        int updated = notificationService.markAllAsRead(userId);
+
+        // Then
+        assertEquals(12, updated);
+        verify(unreadCounter).add(userId, -12);
+    }
+
+    @Test
+    void testMarkAllAsRead_WhenNothingUnread_ShouldNotTouchCounter() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.markAllAsRead(userId)).thenReturn(0);
+
+        // When
+        notificationService.markAllAsRead(userId);
+
+        // Then
+        verify(unreadCounter, never()).add(any(), anyLong());
+    }
+
+    @Test
+    void testBeforeTaskDeleted_ShouldSubtractUnreadNotificationsOfEachRecipient() {
+        // Given
+        UUID taskId = UUID.randomUUID();
+        UUID firstUserId = UUID.randomUUID();
+        UUID secondUserId = UUID.randomUUID();
+        when(notificationRepository.countUnreadByRecipientForTask(taskId)).thenReturn(List.of(
+                new Object[]{firstUserId, 2L},
+                new Object[]{secondUserId, 1L}));
+
+        // When
+        notificationService.beforeTaskDeleted(taskId);
+
+        // Then
+        verify(unreadCounter).add(firstUserId, -2);
+        verify(unreadCounter).add(secondUserId, -1);
+    }
+}
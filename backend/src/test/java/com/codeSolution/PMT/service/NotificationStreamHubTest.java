@@ -0,0 +1,120 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.dto.NotificationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationStreamHubTest {
+
+    /**
+     * Emitter qui enregistre les événements envoyés au lieu d'écrire dans une réponse HTTP
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private boolean completed;
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private NotificationStreamHub hub;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        hub = new NotificationStreamHub(() -> {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }, Runnable::run, 2, 3);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void testOnNotificationCreated_ShouldOnlyReachRecipient() {
+        // Given
+        RecordingEmitter recipient = (RecordingEmitter) hub.subscribe(userId);
+        RecordingEmitter other = (RecordingEmitter) hub.subscribe(UUID.randomUUID());
+        NotificationDTO notification = new NotificationDTO();
+        notification.setId(UUID.randomUUID());
+        notification.setMessage("Tâche assignée");
+
+        // When
+        hub.onNotificationCreated(new NotificationCreatedEvent(userId, notification));
+
+        // Then
+        assertEquals(2, recipient.events.size());
+        assertTrue(recipient.events.get(1).contains("event:notification"));
+        assertTrue(recipient.events.get(1).contains("id:" + notification.getId()));
+        assertEquals(1, other.events.size());
+    }
+
+    @Test
+    void testSubscribe_BeyondMaxConnections_ShouldCloseOldest() {
+        // Given
+        RecordingEmitter first = (RecordingEmitter) hub.subscribe(userId);
+        RecordingEmitter second = (RecordingEmitter) hub.subscribe(userId);
+
+        // When
+        RecordingEmitter third = (RecordingEmitter) hub.subscribe(userId);
+
+        // Then
+        assertTrue(first.completed);
+        assertFalse(second.completed);
+        assertFalse(third.completed);
+        assertEquals(2, hub.connectionCount());
+    }
+
+    @Test
+    void testSendHeartbeats_WhenClientGone_ShouldRemoveConnection() {
+        // Given
+        RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(userId);
+        emitter.failing = true;
+
+        // When
+        hub.sendHeartbeats();
+
+        // Then
+        assertEquals(0, hub.connectionCount());
+    }
+
+    @Test
+    void testPublish_WhenClientTooSlow_ShouldCloseConnection() {
+        // Given : les envois ne sont jamais exécutés, la file de la connexion se remplit
+        List<Runnable> stalled = new ArrayList<>();
+        NotificationStreamHub slowHub = new NotificationStreamHub(RecordingEmitter::new, stalled::add, 2, 3);
+        RecordingEmitter emitter = (RecordingEmitter) slowHub.subscribe(userId);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            slowHub.publish(userId, () -> SseEmitter.event().comment("event"));
+        }
+
+        // Then
+        assertTrue(emitter.completed);
+        assertEquals(0, slowHub.connectionCount());
+        assertEquals(1, stalled.size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.dto.ProjectAnalyticsDTO;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.TaskHistory;
+import com.codeSolution.PMT.model.User;
+import com.codeSolution.PMT.repository.TaskHistoryRepository;
+import com.codeSolution.PMT.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.codeSolution.PMT.repository.TaskHistoryFixtures.persistHistory;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ProjectAnalyticsServiceTest {
+
+    // Mercredi : la période de 4 semaines commence le lundi 2 mars
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 25, 12, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProjectAnalyticsService projectAnalyticsService;
+    private ProjectMember member;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        ProjectMembershipCache membershipCache = mock(ProjectMembershipCache.class);
+        when(membershipCache.getRole(any(), any())).thenReturn(Optional.of(Role.MEMBER));
+        ZoneId zone = ZoneId.systemDefault();
+        projectAnalyticsService = new ProjectAnalyticsService(taskRepository, taskHistoryRepository, membershipCache,
+                4, Clock.fixed(NOW.atZone(zone).toInstant(), zone));
+
+        User user = new User();
+        user.setUserName("analytics");
+        user.setEmail("analytics@example.com");
+        user.setPassword("password123");
+        user = entityManager.persist(user);
+        userId = user.getId();
+
+        Project project = new Project();
+        project.setName("Analytics project");
+        project = entityManager.persist(project);
+
+        member = new ProjectMember();
+        member.setProjectId(project.getId());
+        member.setUserId(user.getId());
+        member.setRole(Role.MEMBER);
+        member = entityManager.persist(member);
+
+        // Créée avant la période, terminée la première semaine
+        Task done = persistTask("Done", Task.TaskStatus.DONE);
+        persistHistory(entityManager, done, member,
+                TaskHistory.FieldName.name, null, "Done", LocalDateTime.of(2026, 2, 20, 10, 0));
+        persistHistory(entityManager, done, member,
+                TaskHistory.FieldName.status, "TODO", "IN_PROGRESS", LocalDateTime.of(2026, 3, 3, 10, 0));
+        persistHistory(entityManager, done, member,
+                TaskHistory.FieldName.status, "IN_PROGRESS", "DONE", LocalDateTime.of(2026, 3, 4, 10, 0));
+        // Créée la deuxième semaine, jamais démarrée
+        Task todo = persistTask("Todo", Task.TaskStatus.TODO);
+        persistHistory(entityManager, todo, member,
+                TaskHistory.FieldName.name, null, "Todo", LocalDateTime.of(2026, 3, 10, 10, 0));
+        // Créée et terminée la deuxième semaine, rouverte la troisième
+        Task reopened = persistTask("Reopened", Task.TaskStatus.IN_PROGRESS);
+        persistHistory(entityManager, reopened, member,
+                TaskHistory.FieldName.name, null, "Reopened", LocalDateTime.of(2026, 3, 10, 10, 0));
+        persistHistory(entityManager, reopened, member,
+                TaskHistory.FieldName.status, "TODO", "IN_PROGRESS", LocalDateTime.of(2026, 3, 11, 10, 0));
+        persistHistory(entityManager, reopened, member,
+                TaskHistory.FieldName.status, "IN_PROGRESS", "DONE", LocalDateTime.of(2026, 3, 12, 10, 0));
+        persistHistory(entityManager, reopened, member,
+                TaskHistory.FieldName.status, "DONE", "IN_PROGRESS", LocalDateTime.of(2026, 3, 17, 10, 0));
+        entityManager.clear();
+    }
+
+    @Test
+    void testGetAnalytics_ShouldComputeFlowMetricsFromStatusHistory() {
+        // When
+        ProjectAnalyticsDTO analytics = projectAnalyticsService.getAnalytics(member.getProjectId(), userId);
+
+        // Then
+        assertEquals(1, analytics.getLeadTime().getCount());
+        assertEquals(288.0, analytics.getLeadTime().getMedianHours());
+        assertEquals(1, analytics.getCycleTime().getCount());
+        assertEquals(24.0, analytics.getCycleTime().getAverageHours());
+        assertEquals(Map.of(LocalDate.of(2026, 3, 2), 1L, LocalDate.of(2026, 3, 9), 1L,
+                LocalDate.of(2026, 3, 16), 0L, LocalDate.of(2026, 3, 23), 0L), analytics.getWeeklyThroughput());
+        // 1 tâche ouverte avant la période : terminée, puis 2 créées dont 1 terminée, puis 1 rouverte
+        assertEquals(Map.of(LocalDate.of(2026, 3, 2), 0L, LocalDate.of(2026, 3, 9), 1L,
+                LocalDate.of(2026, 3, 16), 2L, LocalDate.of(2026, 3, 23), 2L), analytics.getBurndown());
+    }
+
+    @Test
+    void testGetAnalytics_ShouldServeCacheUntilInvalidationIsCommitted() {
+        // Given
+        ProjectAnalyticsDTO first = projectAnalyticsService.getAnalytics(member.getProjectId(), userId);
+        assertSame(first, projectAnalyticsService.getAnalytics(member.getProjectId(), userId));
+
+        // When
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> projectAnalyticsService.invalidate(member.getProjectId()));
+
+        // Then
+        ProjectAnalyticsDTO recomputed = projectAnalyticsService.getAnalytics(member.getProjectId(), userId);
+        assertNotSame(first, recomputed);
+        assertSame(recomputed, projectAnalyticsService.getAnalytics(member.getProjectId(), userId));
+    }
+
+    private Task persistTask(String name, Task.TaskStatus status) {
+        Task task = new Task();
+        task.setName(name);
+        task.setStatus(status);
+        task.setProjectMember(member);
+        return entityManager.persist(task);
+    }
+}
@@ -12,7 +12,6 @@ import com.codeSolution.PMT.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -40,7 +39,11 @@ class ProjectServiceTest {
     @Mock
     private EmailService emailService;
 
-    @InjectMocks
+    @Mock
+    private NotificationService notificationService;
+
+    private ProjectMembershipCache membershipCache;
+
     private ProjectService projectService;
 
     private Project testProject;
@@ -51,6 +54,10 @@ class ProjectServiceTest {
 
     @BeforeEach
     void setUp() {
+        membershipCache = new ProjectMembershipCache(projectMemberRepository);
+        projectService = new ProjectService(projectRepository, userRepository, projectMemberRepository,
+                emailService, membershipCache, notificationService);
+
         projectId = UUID.randomUUID();
         userId = UUID.randomUUID();
 
@@ -136,6 +143,7 @@ class ProjectServiceTest {
         projectService.deleteById(projectId);
 
         // Then
+        verify(notificationService, times(1)).beforeProjectDeleted(projectId);
         verify(projectRepository, times(1)).deleteById(projectId);
     }
 
@@ -377,6 +385,7 @@ class ProjectServiceTest {
         // Then
         assertNotNull(result);
         verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, userId);
+        verify(notificationService, times(1)).beforeMemberRemoved(projectId, userId);
         verify(projectMemberRepository, times(1)).delete(testProjectMember);
         verify(projectRepository, times(1)).findById(projectId);
     }
@@ -417,6 +426,33 @@ class ProjectServiceTest {
         assertTrue(projectService.isProjectMember(projectId, userId));
 
         testProjectMember.setRole(Role.OBSERVER);
+        membershipCache.evict(projectId, userId);
+        assertFalse(projectService.isProjectMember(projectId, userId));
+    }
+
+    @Test
+    void testMembershipChecks_ShouldHitRepositoryOnce() {
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+
+        assertFalse(projectService.isProjectAdmin(projectId, userId));
+        assertTrue(projectService.isProjectMember(projectId, userId));
+        assertEquals(Optional.of(Role.MEMBER), projectService.getMemberRole(projectId, userId));
+
+        verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, userId);
+    }
+
+    @Test
+    void testRemoveMember_ShouldEvictCachedRole() {
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember))
+                .thenReturn(Optional.of(testProjectMember))
+                .thenReturn(Optional.empty());
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+
+        assertTrue(projectService.isProjectMember(projectId, userId));
+        projectService.removeMember(projectId, userId);
+
         assertFalse(projectService.isProjectMember(projectId, userId));
     }
 
@@ -0,0 +1,207 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.dto.ProjectStatsDTO;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.repository.ProjectMemberRepository;
+import com.codeSolution.PMT.repository.TaskRepository;
+import com.codeSolution.PMT.service.ProjectStatsService.TaskState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectStatsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    private ProjectStatsService statsService;
+    private UUID projectId;
+    private UUID userId;
+    private UUID otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-03-10T12:00:00Z"), ZoneOffset.UTC);
+        statsService = new ProjectStatsService(taskRepository, new ProjectMembershipCache(projectMemberRepository), clock);
+        projectId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        otherUserId = UUID.randomUUID();
+
+        ProjectMember member = new ProjectMember();
+        member.setProjectId(projectId);
+        member.setUserId(userId);
+        member.setRole(Role.OBSERVER);
+        lenient().when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.of(member));
+    }
+
+    @Test
+    void testGetStats_ShouldLoadOnceAndCountOverdueOpenTasks() {
+        // Given
+        when(taskRepository.countByProjectIdGrouped(projectId)).thenReturn(rows(
+                row(Task.TaskStatus.TODO, Task.TaskPriority.HIGH, userId, TODAY.minusDays(2), 3),
+                row(Task.TaskStatus.DONE, Task.TaskPriority.HIGH, userId, TODAY.minusDays(5), 4),
+                row(Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.LOW, otherUserId, TODAY, 2),
+                row(Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM, otherUserId, null, 1)));
+
+        // When
+        ProjectStatsDTO stats = statsService.getStats(projectId, userId);
+        statsService.getStats(projectId, userId);
+
+        // Then
+        assertEquals(10, stats.getTotal());
+        assertEquals(4L, stats.getByStatus().get(Task.TaskStatus.TODO));
+        assertEquals(2L, stats.getByStatus().get(Task.TaskStatus.IN_PROGRESS));
+        assertEquals(4L, stats.getByStatus().get(Task.TaskStatus.DONE));
+        assertEquals(7L, stats.getByPriority().get(Task.TaskPriority.HIGH));
+        assertEquals(1L, stats.getByPriority().get(Task.TaskPriority.MEDIUM));
+        assertEquals(7L, stats.getByAssignee().get(userId));
+        assertEquals(3L, stats.getByAssignee().get(otherUserId));
+        // Les tâches terminées et celles dues aujourd'hui ne sont pas en retard
+        assertEquals(3, stats.getOverdue());
+        verify(taskRepository, times(1)).countByProjectIdGrouped(projectId);
+    }
+
+    @Test
+    void testRecordChange_ShouldUpdateCachedCountersWithoutQuery() {
+        // Given
+        when(taskRepository.countByProjectIdGrouped(projectId)).thenReturn(rows(
+                row(Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM, userId, TODAY.minusDays(1), 2)));
+        statsService.getStats(projectId, userId);
+        TaskState overdue = new TaskState(Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM, userId, TODAY.minusDays(1));
+
+        // When
+        statsService.recordChange(projectId, overdue,
+                new TaskState(Task.TaskStatus.DONE, Task.TaskPriority.MEDIUM, otherUserId, TODAY.minusDays(1)));
+        statsService.recordChange(projectId, null,
+                new TaskState(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null));
+        statsService.recordChange(projectId, overdue, null);
+        ProjectStatsDTO stats = statsService.getStats(projectId, userId);
+
+        // Then
+        assertEquals(2, stats.getTotal());
+        assertEquals(1L, stats.getByStatus().get(Task.TaskStatus.TODO));
+        assertEquals(1L, stats.getByStatus().get(Task.TaskStatus.DONE));
+        assertEquals(1L, stats.getByPriority().get(Task.TaskPriority.MEDIUM));
+        assertEquals(1L, stats.getByPriority().get(Task.TaskPriority.LOW));
+        assertEquals(1L, stats.getByAssignee().get(userId));
+        assertEquals(1L, stats.getByAssignee().get(otherUserId));
+        assertEquals(0, stats.getOverdue());
+        verify(taskRepository, times(1)).countByProjectIdGrouped(projectId);
+    }
+
+    @Test
+    void testRecordChange_WhenProjectNotCached_ShouldBeIgnored() {
+        // Given
+        statsService.recordChange(projectId, null, new TaskState(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null));
+        when(taskRepository.countByProjectIdGrouped(projectId)).thenReturn(rows(
+                row(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null, 1)));
+
+        // When
+        ProjectStatsDTO stats = statsService.getStats(projectId, userId);
+
+        // Then
+        assertEquals(1, stats.getTotal());
+    }
+
+    @Test
+    void testReconcile_ShouldReloadCachedProjects() {
+        // Given
+        when(taskRepository.countByProjectIdGrouped(projectId))
+                .thenReturn(rows(row(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null, 1)))
+                .thenReturn(rows(row(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null, 5)));
+        statsService.getStats(projectId, userId);
+
+        // When
+        statsService.reconcile();
+        ProjectStatsDTO stats = statsService.getStats(projectId, userId);
+
+        // Then
+        assertEquals(5, stats.getTotal());
+        verify(taskRepository, times(2)).countByProjectIdGrouped(projectId);
+    }
+
+    @Test
+    void testGetStats_WhenChangeCommittedDuringLoad_ShouldNotCacheLoadedCounters() {
+        // Given - création validée après le GROUP BY, avant la mise en cache
+        TaskState created = new TaskState(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null);
+        when(taskRepository.countByProjectIdGrouped(projectId))
+                .thenAnswer(invocation -> {
+                    statsService.recordChange(projectId, null, created);
+                    return rows(row(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null, 1));
+                })
+                .thenReturn(rows(row(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null, 2)));
+
+        // When
+        ProjectStatsDTO first = statsService.getStats(projectId, userId);
+        ProjectStatsDTO second = statsService.getStats(projectId, userId);
+
+        // Then
+        assertEquals(1, first.getTotal());
+        assertEquals(2, second.getTotal());
+        verify(taskRepository, times(2)).countByProjectIdGrouped(projectId);
+    }
+
+    @Test
+    void testReconcile_WhenChangeCommittedDuringLoad_ShouldKeepAdjustedCounters() {
+        // Given
+        TaskState created = new TaskState(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null);
+        when(taskRepository.countByProjectIdGrouped(projectId))
+                .thenReturn(rows(row(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null, 1)))
+                .thenAnswer(invocation -> {
+                    statsService.recordChange(projectId, null, created);
+                    return rows(row(Task.TaskStatus.TODO, Task.TaskPriority.LOW, userId, null, 1));
+                });
+        statsService.getStats(projectId, userId);
+
+        // When - le chargement antérieur à la création ne remplace pas les compteurs ajustés
+        statsService.reconcile();
+        ProjectStatsDTO stats = statsService.getStats(projectId, userId);
+
+        // Then
+        assertEquals(2, stats.getTotal());
+        verify(taskRepository, times(2)).countByProjectIdGrouped(projectId);
+    }
+
+    @Test
+    void testGetStats_WhenNotMember_ShouldThrow() {
+        // Given
+        UUID strangerId = UUID.randomUUID();
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, strangerId)).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> statsService.getStats(projectId, strangerId));
+        assertEquals("You must be a member of the project to view statistics.", exception.getMessage());
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static Object[] row(Task.TaskStatus status, Task.TaskPriority priority, UUID userId, LocalDate dueDate, long count) {
+        return new Object[]{status, priority, userId, dueDate, count};
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,117 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.TaskHistory;
+import com.codeSolution.PMT.model.User;
+import com.codeSolution.PMT.repository.TaskHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static com.codeSolution.PMT.repository.TaskHistoryFixtures.persistHistory;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskHistoryArchiveJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 15, 12, 0);
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private TaskHistoryArchive archive;
+    private TaskHistoryArchiveJob job;
+    private ProjectMember member;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        ZoneId zone = ZoneId.systemDefault();
+        archive = new TaskHistoryArchive(directory);
+        job = new TaskHistoryArchiveJob(taskHistoryRepository, archive, new TransactionTemplate(transactionManager),
+                true, Duration.ofDays(180), 2, Clock.fixed(NOW.atZone(zone).toInstant(), zone));
+
+        User user = new User();
+        user.setUserName("archive");
+        user.setEmail("archive@example.com");
+        user.setPassword("password123");
+        user = entityManager.persist(user);
+
+        Project project = new Project();
+        project.setName("Archive project");
+        project = entityManager.persist(project);
+
+        member = new ProjectMember();
+        member.setProjectId(project.getId());
+        member.setUserId(user.getId());
+        member.setRole(Role.MEMBER);
+        member = entityManager.persist(member);
+
+        task = new Task();
+        task.setName("Task");
+        task.setProjectMember(member);
+        task = entityManager.persist(task);
+    }
+
+    @Test
+    void testArchiveOldHistory_ShouldMoveOnlyOldEntriesToArchiveInBatches() {
+        // Given : 3 entrées anciennes (2 lots), 1 récente
+        for (int i = 0; i < 3; i++) {
+            persistHistory(entityManager, task, member,
+                    TaskHistory.FieldName.status, "TODO", "DONE", NOW.minusDays(200 + i));
+        }
+        TaskHistory recent = persistHistory(entityManager, task, member,
+                TaskHistory.FieldName.status, "TODO", "DONE", NOW.minusDays(10));
+        entityManager.clear();
+
+        // When
+        int archived = job.archiveOldHistory();
+
+        // Then
+        assertEquals(3, archived);
+        assertEquals(List.of(recent.getId()),
+                taskHistoryRepository.findDTOsByTaskId(task.getId()).stream().map(TaskHistoryDTO::getId).toList());
+        List<TaskHistoryDTO> archivedEntries = archive.read(task.getId());
+        assertEquals(3, archivedEntries.size());
+        // Ordre chronologique conservé d'un lot à l'autre
+        assertEquals(List.of(NOW.minusDays(202), NOW.minusDays(201), NOW.minusDays(200)),
+                archivedEntries.stream().map(TaskHistoryDTO::getModifiedAt).toList());
+        assertEquals(member.getUserId(), archivedEntries.get(0).getModifiedBy());
+    }
+
+    @Test
+    void testArchiveOldHistory_WithNothingToArchive_ShouldReturnZero() {
+        persistHistory(entityManager, task, member, TaskHistory.FieldName.status, "TODO", "DONE", NOW.minusDays(1));
+        entityManager.clear();
+
+        assertEquals(0, job.archiveOldHistory());
+        assertTrue(archive.read(task.getId()).isEmpty());
+    }
+}
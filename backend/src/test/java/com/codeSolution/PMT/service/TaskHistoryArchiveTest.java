@@ -0,0 +1,147 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.model.TaskHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskHistoryArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private TaskHistoryArchive archive;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        archive = new TaskHistoryArchive(directory);
+        taskId = UUID.randomUUID();
+    }
+
+    @Test
+    void testAppend_ShouldKeepEarlierEntriesAndReadAllMembers() {
+        // Given
+        TaskHistoryDTO first = entry(LocalDateTime.of(2025, 1, 1, 9, 30));
+        TaskHistoryDTO second = entry(LocalDateTime.of(2025, 2, 1, 9, 30));
+        TaskHistoryDTO third = entry(LocalDateTime.of(2025, 3, 1, 9, 30));
+
+        // When - deux archivages successifs ajoutent deux membres gzip au même fichier
+        archive.append(taskId, List.of(first, second));
+        archive.append(taskId, List.of(third));
+
+        // Then
+        assertEquals(List.of(first, second, third), archive.read(taskId));
+        assertTrue(archive.read(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testRead_WithTruncatedTail_ShouldReturnReadableEntries() throws IOException {
+        // Given
+        TaskHistoryDTO first = entry(LocalDateTime.of(2025, 1, 1, 9, 30));
+        archive.append(taskId, List.of(first));
+        Path file = archiveFile();
+        // Arrêt brutal pendant un ajout : début d'un membre gzip sans sa fin
+        Files.write(file, new byte[]{0x1f, (byte) 0x8b, 8, 0}, StandardOpenOption.APPEND);
+
+        // When
+        List<TaskHistoryDTO> entries = archive.read(taskId);
+
+        // Then
+        assertEquals(List.of(first), entries);
+    }
+
+    @Test
+    void testReadPage_ShouldOnlyDecompressMembersInPage() throws IOException {
+        // Given
+        TaskHistoryDTO first = entry(LocalDateTime.of(2025, 1, 1, 9, 30));
+        TaskHistoryDTO second = entry(LocalDateTime.of(2025, 2, 1, 9, 30));
+        TaskHistoryDTO third = entry(LocalDateTime.of(2025, 3, 1, 9, 30));
+        TaskHistoryDTO fourth = entry(LocalDateTime.of(2025, 4, 1, 9, 30));
+        archive.append(taskId, List.of(first, second));
+        archive.append(taskId, List.of(third, fourth));
+        // Le premier membre devient illisible : seule une lecture qui le décompresse peut le remarquer
+        try (FileChannel channel = FileChannel.open(archiveFile(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0}), 0);
+        }
+
+        // When
+        List<TaskHistoryDTO> page = archive.readPage(taskId, null, 2);
+
+        // Then
+        assertEquals(List.of(fourth, third), page);
+        assertTrue(archive.read(taskId).isEmpty());
+    }
+
+    @Test
+    void testReadPage_ShouldContinueAfterCursor() {
+        // Given
+        TaskHistoryDTO first = entry(LocalDateTime.of(2025, 1, 1, 9, 30));
+        TaskHistoryDTO second = entry(LocalDateTime.of(2025, 2, 1, 9, 30));
+        TaskHistoryDTO third = entry(LocalDateTime.of(2025, 3, 1, 9, 30));
+        archive.append(taskId, List.of(first, second));
+        // Archivage interrompu puis repris : l'entrée figure dans deux membres
+        archive.append(taskId, List.of(second, third));
+
+        // When
+        List<TaskHistoryDTO> page = archive.readPage(taskId, third, 5);
+
+        // Then
+        assertEquals(List.of(second, first), page);
+    }
+
+    @Test
+    void testRead_WithoutIndex_ShouldReadWholeFile() throws IOException {
+        // Given - archive écrite avant l'index
+        TaskHistoryDTO first = entry(LocalDateTime.of(2025, 1, 1, 9, 30));
+        TaskHistoryDTO second = entry(LocalDateTime.of(2025, 2, 1, 9, 30));
+        archive.append(taskId, List.of(first));
+        archive.append(taskId, List.of(second));
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path index : files.filter(path -> path.toString().endsWith(".idx")).toList()) {
+                Files.delete(index);
+            }
+        }
+
+        // When / Then
+        assertEquals(List.of(second, first), archive.readPage(taskId, null, 2));
+        assertEquals(List.of(second), archive.readModifiedAfter(taskId, first.getModifiedAt()));
+    }
+
+    @Test
+    void testDelete_ShouldRemoveArchive() throws IOException {
+        archive.append(taskId, List.of(entry(LocalDateTime.of(2025, 1, 1, 9, 30))));
+
+        archive.delete(taskId);
+
+        assertTrue(archive.read(taskId).isEmpty());
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    private Path archiveFile() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(path -> path.toString().endsWith(".jsonl.gz")).findFirst().orElseThrow();
+        }
+    }
+
+    private TaskHistoryDTO entry(LocalDateTime modifiedAt) {
+        return new TaskHistoryDTO(UUID.randomUUID(), taskId, TaskHistory.FieldName.status, "TODO", "DONE",
+                modifiedAt, UUID.randomUUID());
+    }
+}
@@ -0,0 +1,199 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
+import com.codeSolution.PMT.dto.TaskStateDTO;
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.TaskHistory;
+import com.codeSolution.PMT.model.User;
+import com.codeSolution.PMT.repository.TaskHistoryRepository;
+import com.codeSolution.PMT.repository.TaskRepository;
+import com.codeSolution.PMT.repository.TaskSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.codeSolution.PMT.repository.TaskHistoryFixtures.persistHistory;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskReplayServiceTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private TaskSnapshotRepository taskSnapshotRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private TaskHistoryArchive archive;
+    private TaskReplayService taskReplayService;
+    private ProjectMember member;
+    private UUID userId;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        ProjectMembershipCache membershipCache = mock(ProjectMembershipCache.class);
+        when(membershipCache.getRole(any(), any())).thenReturn(Optional.of(Role.MEMBER));
+        archive = new TaskHistoryArchive(directory);
+        taskReplayService = new TaskReplayService(taskRepository, taskHistoryRepository, taskSnapshotRepository,
+                archive, membershipCache);
+
+        User user = new User();
+        user.setUserName("replay");
+        user.setEmail("replay@example.com");
+        user.setPassword("password123");
+        user = entityManager.persist(user);
+        userId = user.getId();
+
+        Project project = new Project();
+        project.setName("Replay project");
+        project = entityManager.persist(project);
+
+        member = new ProjectMember();
+        member.setProjectId(project.getId());
+        member.setUserId(user.getId());
+        member.setRole(Role.MEMBER);
+        member = entityManager.persist(member);
+
+        // Créée le jour 1, démarrée le jour 2, priorité relevée le jour 3, échéance fixée le jour 4
+        task = persistTask("Task", Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.HIGH);
+        task.setDueDate(LocalDate.of(2026, 2, 1));
+        persistHistory(entityManager, task, member, TaskHistory.FieldName.name, null, "Task", DAY_1);
+        persistHistory(entityManager, task, member,
+                TaskHistory.FieldName.status, "TODO", "IN_PROGRESS", DAY_1.plusDays(1));
+        persistHistory(entityManager, task, member,
+                TaskHistory.FieldName.priority, "MEDIUM", "HIGH", DAY_1.plusDays(2));
+        persistHistory(entityManager, task, member,
+                TaskHistory.FieldName.dueDate, null, "2026-02-01", DAY_1.plusDays(3));
+    }
+
+    @Test
+    void testGetTaskStateAt_ShouldUndoLaterChanges() {
+        // When
+        TaskStateDTO state = taskReplayService.getTaskStateAt(task.getId(), userId, DAY_1.plusDays(1).plusHours(2));
+
+        // Then
+        assertEquals("Task", state.getName());
+        assertEquals(Task.TaskStatus.IN_PROGRESS, state.getStatus());
+        assertEquals(Task.TaskPriority.MEDIUM, state.getPriority());
+        assertNull(state.getDueDate());
+        assertEquals("replay@example.com", state.getAssigneeEmail());
+    }
+
+    @Test
+    void testGetTaskStateAt_BeforeCreation_ShouldThrowNotFound() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> taskReplayService.getTaskStateAt(task.getId(), userId, DAY_1.minusHours(1)));
+
+        assertEquals("Task not found at this date", exception.getMessage());
+    }
+
+    @Test
+    void testGetTaskStateAt_WithSnapshot_ShouldOnlyUndoChangesUntilSnapshot() {
+        // Given : snapshot pris le jour 3 à midi, avant la dernière modification
+        task.setDueDate(null);
+        entityManager.flush();
+        takeSnapshot(DAY_1.plusDays(2).plusHours(2));
+        task.setDueDate(LocalDate.of(2026, 2, 1));
+        entityManager.flush();
+        LocalDateTime asOf = DAY_1.plusDays(1).plusHours(2);
+
+        // When
+        TaskStateDTO state = taskReplayService.getTaskStateAt(task.getId(), userId, asOf);
+
+        // Then : seule la modification de priorité, antérieure au snapshot, est rejouée
+        try (Stream<TaskHistoryDTO> entries = taskHistoryRepository.streamEntriesToUndoByTaskId(task.getId(), asOf)) {
+            assertEquals(List.of(TaskHistory.FieldName.priority),
+                    entries.map(TaskHistoryDTO::getFieldName).toList());
+        }
+        assertEquals(Task.TaskStatus.IN_PROGRESS, state.getStatus());
+        assertEquals(Task.TaskPriority.MEDIUM, state.getPriority());
+        assertNull(state.getDueDate());
+    }
+
+    @Test
+    void testGetTaskStateAt_ShouldUndoArchivedChanges() {
+        // Given : les deux premières entrées ont été archivées
+        List<TaskHistoryDTO> oldest = taskHistoryRepository.findDTOsByTaskId(task.getId()).subList(2, 4);
+        archive.append(task.getId(), oldest);
+        taskHistoryRepository.deleteByIds(oldest.stream().map(TaskHistoryDTO::getId).toList());
+
+        // When
+        TaskStateDTO state = taskReplayService.getTaskStateAt(task.getId(), userId, DAY_1.plusHours(2));
+
+        // Then
+        assertEquals(Task.TaskStatus.TODO, state.getStatus());
+        assertEquals(Task.TaskPriority.MEDIUM, state.getPriority());
+    }
+
+    @Test
+    void testGetProjectTaskStatesAt_ShouldSkipTasksCreatedLater() {
+        // Given
+        Task later = persistTask("Later", Task.TaskStatus.TODO, Task.TaskPriority.LOW);
+        persistHistory(entityManager, later, member, TaskHistory.FieldName.name, null, "Later", DAY_1.plusDays(2));
+        persistHistory(entityManager, task, member, TaskHistory.FieldName.name, "Task", "Renamed", DAY_1.plusDays(4));
+        task.setName("Renamed");
+        entityManager.flush();
+
+        // When
+        List<TaskStateDTO> states = taskReplayService.getProjectTaskStatesAt(member.getProjectId(), userId,
+                DAY_1.plusDays(1).plusHours(2));
+
+        // Then
+        assertEquals(1, states.size());
+        assertEquals(task.getId(), states.get(0).getTaskId());
+        assertEquals("Task", states.get(0).getName());
+        assertEquals(Task.TaskPriority.MEDIUM, states.get(0).getPriority());
+    }
+
+    private void takeSnapshot(LocalDateTime takenAt) {
+        ZoneId zone = ZoneId.systemDefault();
+        new TaskSnapshotJob(taskSnapshotRepository, new TransactionTemplate(transactionManager),
+                Clock.fixed(takenAt.atZone(zone).toInstant(), zone)).takeSnapshots();
+    }
+
+    private Task persistTask(String name, Task.TaskStatus status, Task.TaskPriority priority) {
+        Task newTask = new Task();
+        newTask.setName(name);
+        newTask.setStatus(status);
+        newTask.setPriority(priority);
+        newTask.setProjectMember(member);
+        return entityManager.persist(newTask);
+    }
+}
@@ -1,31 +1,55 @@
 package com.codeSolution.PMT.service;
 
 import com.codeSolution.PMT.dto.AssignTaskRequest;
+import com.codeSolution.PMT.dto.BatchTaskResponse;
+import com.codeSolution.PMT.dto.BoardColumnDTO;
+import com.codeSolution.PMT.dto.BulkReassignRequest;
+import com.codeSolution.PMT.dto.BulkTaskUpdateRequest;
 import com.codeSolution.PMT.dto.CreateTaskRequest;
+import com.codeSolution.PMT.dto.CursorPage;
+import com.codeSolution.PMT.dto.ProjectBoardDTO;
+import com.codeSolution.PMT.dto.ProjectMemberDTO;
+import com.codeSolution.PMT.dto.TaskDTO;
+import com.codeSolution.PMT.dto.TaskHistoryDTO;
 import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.ProjectMemberId;
 import com.codeSolution.PMT.model.Role;
 import com.codeSolution.PMT.model.Task;
 import com.codeSolution.PMT.model.TaskHistory;
 import com.codeSolution.PMT.model.User;
+import com.codeSolution.PMT.model.Notification;
 import com.codeSolution.PMT.model.Project;
 import com.codeSolution.PMT.repository.ProjectMemberRepository;
 import com.codeSolution.PMT.repository.TaskHistoryRepository;
 import com.codeSolution.PMT.repository.TaskRepository;
+import com.codeSolution.PMT.service.ProjectStatsService.TaskState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,8 +64,11 @@ class TaskServiceTest {
     @Mock
     private TaskHistoryRepository taskHistoryRepository;
 
+    @Captor
+    private ArgumentCaptor<List<TaskHistory>> historyCaptor;
+
     @Mock
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
 
     @Mock
     private NotificationService notificationService;
@@ -49,7 +76,15 @@ class TaskServiceTest {
     @Mock
     private ProjectService projectService;
 
-    @InjectMocks
+    @Mock
+    private ProjectStatsService projectStatsService;
+
+    @Mock
+    private TaskHistoryArchive taskHistoryArchive;
+
+    @Mock
+    private ProjectAnalyticsService projectAnalyticsService;
+
     private TaskService taskService;
 
     private Task testTask;
@@ -60,6 +95,10 @@ class TaskServiceTest {
 
     @BeforeEach
     void setUp() {
+        taskService = new TaskService(taskRepository, projectMemberRepository, taskHistoryRepository,
+                emailOutboxService, notificationService, new ProjectMembershipCache(projectMemberRepository),
+                projectStatsService, taskHistoryArchive, projectAnalyticsService);
+
         taskId = UUID.randomUUID();
         projectId = UUID.randomUUID();
         userId = UUID.randomUUID();
@@ -252,9 +291,26 @@ class TaskServiceTest {
         taskService.deleteById(taskId);
 
         // Then
+        verify(notificationService, times(1)).beforeTaskDeleted(taskId);
         verify(taskRepository, times(1)).deleteById(taskId);
     }
 
+    @Test
+    void testDeleteById_ShouldRemoveTaskFromProjectStats() {
+        // Given
+        TaskDTO task = new TaskDTO(taskId, "Test Task", null, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.HIGH,
+                null, null, projectId, userId, 0L);
+        when(taskRepository.findDTOsByIds(List.of(taskId))).thenReturn(List.of(task));
+
+        // When
+        taskService.deleteById(taskId);
+
+        // Then
+        verify(taskRepository).deleteById(taskId);
+        verify(projectStatsService).recordChange(projectId, TaskState.of(task), null);
+        verify(projectAnalyticsService).invalidate(projectId);
+    }
+
     @Test
     void testUpdateTask_Success() {
         // Given
@@ -271,7 +327,6 @@ class TaskServiceTest {
         when(projectMemberRepository.findByProjectIdAndUserId(projectId, updaterId))
                 .thenReturn(Optional.of(testProjectMember));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
-        when(taskHistoryRepository.save(any(TaskHistory.class))).thenReturn(new TaskHistory());
 
         // When
         Task result = taskService.updateTask(taskId, updatedTask, updaterId);
@@ -281,32 +336,217 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findById(taskId);
         verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, updaterId);
         verify(taskRepository, times(1)).save(any(Task.class));
-        verify(taskHistoryRepository, atLeastOnce()).save(any(TaskHistory.class));
+        verify(taskHistoryRepository, never()).save(any(TaskHistory.class));
+        verify(taskHistoryRepository, times(1)).saveAll(historyCaptor.capture());
+        // name, description, status, priority et dueDate en un seul lot
+        assertEquals(5, historyCaptor.getValue().size());
+        verify(projectStatsService).recordChange(projectId,
+                new TaskState(Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM, userId, null),
+                new TaskState(Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.HIGH, userId, updatedTask.getDueDate()));
+    }
+
+    @Test
+    void testUpdateTask_WithNullDescriptions_ShouldNotThrow() {
+        // Given
+        testTask.setDescription(null);
+        Task updatedTask = new Task();
+        updatedTask.setName(testTask.getName());
+        updatedTask.setStatus(testTask.getStatus());
+        updatedTask.setPriority(testTask.getPriority());
+
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        // When
+        taskService.updateTask(taskId, updatedTask, userId);
+
+        // Then
+        verify(taskHistoryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testPatchTask_ShouldOnlyChangeAndRecordSentFields() {
+        // Given
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("status", "in_progress");
+        patch.put("priority", "MEDIUM");
+        patch.put("dueDate", "2026-03-01");
+
+        // When
+        Task result = taskService.patchTask(taskId, patch, userId);
+
+        // Then
+        assertEquals(Task.TaskStatus.IN_PROGRESS, result.getStatus());
+        assertEquals(LocalDate.of(2026, 3, 1), result.getDueDate());
+        assertEquals("Test Task", result.getName());
+        assertEquals("Test Description", result.getDescription());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskHistoryRepository, times(1)).saveAll(historyCaptor.capture());
+        // La priorité envoyée est inchangée : pas d'historique pour elle
+        assertEquals(List.of(TaskHistory.FieldName.status, TaskHistory.FieldName.dueDate),
+                historyCaptor.getValue().stream().map(TaskHistory::getFieldName).toList());
+        assertNull(historyCaptor.getValue().get(1).getOldValue());
+    }
+
+    @Test
+    void testPatchTask_WithStaleVersion_ShouldThrowWithoutChanges() {
+        // Given
+        testTask.setVersion(4L);
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> taskService.patchTask(taskId, Map.of("status", "DONE"), userId, Set.of(3L)));
+        assertEquals(Task.TaskStatus.TODO, testTask.getStatus());
+        verify(taskHistoryRepository, never()).saveAll(anyList());
+        verify(taskRepository, never()).flush();
+    }
+
+    @Test
+    void testPatchTask_WithCurrentVersion_ShouldFlushToReturnNewVersion() {
+        // Given
+        testTask.setVersion(4L);
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+
+        // When - l'une des versions acceptées est la version actuelle
+        taskService.patchTask(taskId, Map.of("status", "DONE"), userId, Set.of(3L, 4L));
+
+        // Then
+        assertEquals(Task.TaskStatus.DONE, testTask.getStatus());
+        verify(taskRepository, times(1)).flush();
+    }
+
+    @Test
+    void testUpdateTask_WithStaleVersion_ShouldThrow() {
+        // Given
+        testTask.setVersion(2L);
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> taskService.updateTask(taskId, new Task(), userId, Set.of(1L)));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void testPatchTask_WithNullDescription_ShouldClearIt() {
+        // Given
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("description", null);
+
+        // When
+        Task result = taskService.patchTask(taskId, patch, userId);
+
+        // Then
+        assertNull(result.getDescription());
+        verify(taskHistoryRepository, times(1)).saveAll(historyCaptor.capture());
+        assertEquals("Test Description", historyCaptor.getValue().get(0).getOldValue());
+        assertNull(historyCaptor.getValue().get(0).getNewValue());
+    }
+
+    @Test
+    void testPatchTask_WithInvalidFields_ShouldThrow() {
+        Map<String, Object> nullName = new HashMap<>();
+        nullName.put("name", null);
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(taskId, Map.of("id", "x"), userId));
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(taskId, nullName, userId));
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(taskId, Map.of("status", "LATER"), userId));
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(taskId, Map.of("dueDate", 12), userId));
+        verify(taskHistoryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testPatchTask_WhenTaskHasNoProjectMember_ShouldThrow() {
+        // Given
+        testTask.setProjectMember(null);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> taskService.patchTask(taskId, Map.of("name", "Renamed"), userId));
+        assertEquals("Task is not assigned to a project member", exception.getMessage());
+        verify(taskHistoryRepository, never()).saveAll(anyList());
     }
 
     @Test
     void testGetTaskHistory() {
         // Given
         UUID viewerId = userId;
-        TaskHistory history = new TaskHistory();
-        List<TaskHistory> histories = Arrays.asList(history);
+        TaskHistoryDTO history = historyEntry(LocalDateTime.of(2026, 3, 1, 10, 0));
+        TaskHistoryDTO archived = historyEntry(LocalDateTime.of(2025, 1, 1, 10, 0));
+        List<TaskHistoryDTO> histories = Arrays.asList(history);
         
         testProjectMember.setRole(Role.MEMBER);
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
         when(projectMemberRepository.findByProjectIdAndUserId(projectId, viewerId))
                 .thenReturn(Optional.of(testProjectMember));
-        when(taskHistoryRepository.findByTaskIdOrderByModifiedAtDesc(taskId)).thenReturn(histories);
+        when(taskHistoryRepository.findDTOsByTaskId(taskId)).thenReturn(histories);
+        when(taskHistoryArchive.read(taskId)).thenReturn(List.of(archived));
 
         // When
-        List<TaskHistory> result = taskService.getTaskHistory(taskId, viewerId);
+        List<TaskHistoryDTO> result = taskService.getTaskHistory(taskId, viewerId);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(history, result.get(0));
+        assertEquals(List.of(history, archived), result);
         verify(taskRepository, times(1)).findById(taskId);
         verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, viewerId);
-        verify(taskHistoryRepository, times(1)).findByTaskIdOrderByModifiedAtDesc(taskId);
+        verify(taskHistoryRepository, times(1)).findDTOsByTaskId(taskId);
+    }
+
+    @Test
+    void testGetTaskHistoryPage_ShouldReadArchiveOnlyOnceDatabaseIsExhausted() {
+        // Given - 3 entrées récentes en base, 2 archivées dont une encore en base (archivage interrompu)
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 10, 0);
+        TaskHistoryDTO first = historyEntry(now);
+        TaskHistoryDTO second = historyEntry(now.minusHours(1));
+        TaskHistoryDTO third = historyEntry(now.minusHours(2));
+        TaskHistoryDTO archived = historyEntry(now.minusDays(200));
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+        when(taskHistoryRepository.findFirstPageByTaskId(taskId, Limit.of(3))).thenReturn(List.of(first, second, third));
+        when(taskHistoryRepository.findPageByTaskIdAfter(taskId, second.getModifiedAt(), second.getId(), Limit.of(3)))
+                .thenReturn(List.of(third));
+        when(taskHistoryArchive.readPage(eq(taskId), any(TaskHistoryDTO.class), eq(3))).thenReturn(List.of(third, archived));
+
+        // When
+        CursorPage<TaskHistoryDTO> firstPage = taskService.getTaskHistoryPage(taskId, userId, 2, null);
+        CursorPage<TaskHistoryDTO> lastPage = taskService.getTaskHistoryPage(taskId, userId, 2, firstPage.getNextCursor());
+
+        // Then
+        assertEquals(List.of(first, second), firstPage.getItems());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(third, archived), lastPage.getItems());
+        assertNull(lastPage.getNextCursor());
+        verify(taskHistoryArchive, times(1)).readPage(eq(taskId), any(TaskHistoryDTO.class), eq(3));
+        verify(taskHistoryArchive, never()).read(taskId);
     }
 
     @Test
@@ -324,6 +564,8 @@ class TaskServiceTest {
 
         when(projectMemberRepository.findByProjectIdAndUserId(projectId, creatorId))
                 .thenReturn(Optional.of(testProjectMember));
+        when(projectMemberRepository.getReferenceById(new ProjectMemberId(projectId, creatorId)))
+                .thenReturn(testProjectMember);
         when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
             Task task = invocation.getArgument(0);
             task.setId(taskId);
@@ -340,9 +582,248 @@ class TaskServiceTest {
         assertEquals("Task Description", result.getDescription());
         assertEquals(Task.TaskPriority.HIGH, result.getPriority());
         assertEquals(Task.TaskStatus.TODO, result.getStatus());
+        assertEquals(testProjectMember, result.getProjectMember());
         verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, creatorId);
         verify(taskRepository, times(1)).save(any(Task.class));
         verify(taskHistoryRepository, times(1)).save(any(TaskHistory.class));
+        verify(projectStatsService).recordChange(projectId, null,
+                new TaskState(Task.TaskStatus.TODO, Task.TaskPriority.HIGH, creatorId, request.getDueDate()));
+    }
+
+    @Test
+    void testCreateTasks_ShouldCheckPermissionOncePerProjectAndSaveInOneBatch() {
+        // Given
+        UUID creatorId = UUID.randomUUID();
+        UUID otherProjectId = UUID.randomUUID();
+        testProjectMember.setRole(Role.MEMBER);
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, creatorId))
+                .thenReturn(Optional.of(testProjectMember));
+        when(projectMemberRepository.findByProjectIdAndUserId(otherProjectId, creatorId))
+                .thenReturn(Optional.empty());
+        when(projectMemberRepository.getReferenceById(new ProjectMemberId(projectId, creatorId)))
+                .thenReturn(testProjectMember);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> task.setId(UUID.randomUUID()));
+            return tasks;
+        });
+
+        List<CreateTaskRequest> requests = List.of(
+                createTaskRequest(projectId, "Task 1"),
+                createTaskRequest(otherProjectId, "Task 2"),
+                createTaskRequest(projectId, " "),
+                createTaskRequest(projectId, "Task 4"),
+                createTaskRequest(otherProjectId, "Task 5"));
+
+        // When
+        BatchTaskResponse response = taskService.createTasks(requests, creatorId);
+
+        // Then
+        assertEquals(2, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        assertNotNull(response.getResults().get(0).getTaskId());
+        assertNull(response.getResults().get(0).getError());
+        assertEquals("You must be a member or administrator of the project to create tasks.",
+                response.getResults().get(1).getError());
+        assertEquals("Task name is required", response.getResults().get(2).getError());
+        assertNotNull(response.getResults().get(3).getTaskId());
+        assertEquals(4, response.getResults().get(4).getIndex());
+        verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, creatorId);
+        verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(otherProjectId, creatorId);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskHistoryRepository, times(1)).saveAll(historyCaptor.capture());
+        assertEquals(2, historyCaptor.getValue().size());
+        assertEquals("Task 4", historyCaptor.getValue().get(1).getNewValue());
+    }
+
+    @Test
+    void testCreateTasks_WhenBatchTooLarge_ShouldThrow() {
+        List<CreateTaskRequest> requests = Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1,
+                createTaskRequest(projectId, "Task"));
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(requests, userId));
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(List.of(), userId));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testGetBoard_ShouldGroupRowsIntoOneColumnPerStatus() {
+        // Given
+        testProjectMember.setRole(Role.OBSERVER);
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.of(testProjectMember));
+        UUID doingId = UUID.randomUUID();
+        when(taskRepository.findBoardRows(projectId, TaskService.MAX_BOARD_COLUMN_SIZE)).thenReturn(List.of(
+                new Object[]{doingId, "Doing", null, "IN_PROGRESS", "HIGH", java.sql.Date.valueOf("2026-02-01"), null,
+                        projectId, userId, 2L, 7L},
+                new Object[]{taskId, "Todo", "Description", "TODO", "LOW", null, null, projectId, userId, 0L, 1L}));
+
+        // When
+        ProjectBoardDTO board = taskService.getBoard(projectId, userId, 1000);
+
+        // Then
+        assertEquals(List.of(Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.DONE),
+                board.getColumns().stream().map(BoardColumnDTO::getStatus).toList());
+        assertEquals(1, board.getColumns().get(0).getCount());
+        assertEquals(taskId, board.getColumns().get(0).getTasks().get(0).getId());
+        BoardColumnDTO doing = board.getColumns().get(1);
+        assertEquals(7, doing.getCount());
+        assertEquals(LocalDate.of(2026, 2, 1), doing.getTasks().get(0).getDueDate());
+        assertEquals(2L, doing.getTasks().get(0).getVersion());
+        assertEquals(0, board.getColumns().get(2).getCount());
+        assertTrue(board.getColumns().get(2).getTasks().isEmpty());
+    }
+
+    @Test
+    void testGetBoard_WhenNotMember_ShouldThrow() {
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> taskService.getBoard(projectId, userId, 20));
+        verify(taskRepository, never()).findBoardRows(any(), anyInt());
+    }
+
+    @Test
+    void testUpdateTasks_ShouldRunOneUpdateAndOneHistoryBatch() {
+        // Given
+        UUID updaterId = userId;
+        UUID doneTaskId = UUID.randomUUID();
+        UUID missingTaskId = UUID.randomUUID();
+        UUID otherTaskId = UUID.randomUUID();
+        UUID otherProjectId = UUID.randomUUID();
+        TaskDTO todo = new TaskDTO(taskId, "Todo", null, Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM,
+                null, null, projectId, userId, 0L);
+        TaskDTO done = new TaskDTO(doneTaskId, "Done", null, Task.TaskStatus.DONE, Task.TaskPriority.MEDIUM,
+                null, null, projectId, userId, 0L);
+        TaskDTO other = new TaskDTO(otherTaskId, "Other", null, Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM,
+                null, null, otherProjectId, userId, 0L);
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findDTOsByIds(anyCollection())).thenReturn(List.of(todo, done, other));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, updaterId))
+                .thenReturn(Optional.of(testProjectMember));
+        when(projectMemberRepository.findByProjectIdAndUserId(otherProjectId, updaterId))
+                .thenReturn(Optional.empty());
+
+        BulkTaskUpdateRequest request = new BulkTaskUpdateRequest();
+        request.setTaskIds(List.of(taskId, doneTaskId, missingTaskId, otherTaskId));
+        request.setStatus(Task.TaskStatus.DONE);
+
+        // When
+        BatchTaskResponse response = taskService.updateTasks(request, updaterId);
+
+        // Then
+        assertEquals(2, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals("Task not found", response.getResults().get(2).getError());
+        assertEquals("You must be a member or administrator of the project to update tasks.",
+                response.getResults().get(3).getError());
+        // Seule la tâche qui change de statut est mise à jour et historisée
+        verify(taskRepository, times(1)).updateStatus(Set.of(taskId), Task.TaskStatus.DONE);
+        verify(taskRepository, never()).updatePriority(anyCollection(), any());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, updaterId);
+        verify(taskHistoryRepository, times(1)).saveAll(historyCaptor.capture());
+        assertEquals(1, historyCaptor.getValue().size());
+        TaskHistory history = historyCaptor.getValue().get(0);
+        assertEquals(TaskHistory.FieldName.status, history.getFieldName());
+        assertEquals("TODO", history.getOldValue());
+        assertEquals("DONE", history.getNewValue());
+        verify(projectStatsService).recordChanges(projectId, List.of(TaskState.of(todo)),
+                List.of(new TaskState(Task.TaskStatus.DONE, Task.TaskPriority.MEDIUM, userId, null)));
+        verify(projectAnalyticsService).invalidate(projectId);
+    }
+
+    @Test
+    void testUpdateTasks_WithBothFieldsOrNone_ShouldThrow() {
+        BulkTaskUpdateRequest request = new BulkTaskUpdateRequest();
+        request.setTaskIds(List.of(taskId));
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTasks(request, userId));
+        request.setStatus(Task.TaskStatus.DONE);
+        request.setPriority(Task.TaskPriority.HIGH);
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTasks(request, userId));
+        verify(taskRepository, never()).findDTOsByIds(anyCollection());
+    }
+
+    @Test
+    void testReassignTasks_ShouldMoveAllTasksWithOneNotificationAndOneEmailBatch() {
+        // Given
+        UUID fromUserId = UUID.randomUUID();
+        UUID toUserId = UUID.randomUUID();
+        UUID secondTaskId = UUID.randomUUID();
+        testProjectMember.setRole(Role.ADMIN);
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.of(testProjectMember));
+        when(projectMemberRepository.findMemberDTOsByProjectIdAndUserIds(projectId, List.of(fromUserId, toUserId)))
+                .thenReturn(List.of(
+                        new ProjectMemberDTO(projectId, fromUserId, "from@example.com", "from", Role.MEMBER),
+                        new ProjectMemberDTO(projectId, toUserId, "to@example.com", "to", Role.MEMBER)));
+        when(taskRepository.findDTOsByProjectIdAndAssignedUserId(projectId, fromUserId)).thenReturn(List.of(
+                new TaskDTO(taskId, "First", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW, null, null, projectId, fromUserId, 0L),
+                new TaskDTO(secondTaskId, "Second", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW, null, null, projectId, fromUserId, 0L)));
+        when(taskRepository.getReferenceById(any(UUID.class))).thenAnswer(invocation -> {
+            Task reference = new Task();
+            reference.setId(invocation.getArgument(0));
+            return reference;
+        });
+        ProjectMember assignee = new ProjectMember();
+        assignee.setProjectId(projectId);
+        assignee.setUserId(toUserId);
+        assignee.setProject(testProjectMember.getProject());
+        when(projectMemberRepository.getReferenceById(new ProjectMemberId(projectId, userId))).thenReturn(testProjectMember);
+        when(projectMemberRepository.getReferenceById(new ProjectMemberId(projectId, toUserId))).thenReturn(assignee);
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        when(notificationService.createTaskAssignmentNotification(eq(assignee), any(Task.class), eq("Second"), eq(2)))
+                .thenReturn(notification);
+
+        BulkReassignRequest request = new BulkReassignRequest();
+        request.setProjectId(projectId);
+        request.setFromUserId(fromUserId);
+        request.setToUserId(toUserId);
+
+        // When
+        BatchTaskResponse response = taskService.reassignTasks(request, userId);
+
+        // Then
+        assertEquals(2, response.getSucceeded());
+        verify(taskRepository, times(1)).reassign(Set.of(taskId, secondTaskId), projectId, toUserId);
+        verify(taskRepository, never()).findById(any());
+        verify(taskHistoryRepository, times(1)).saveAll(historyCaptor.capture());
+        assertEquals(2, historyCaptor.getValue().size());
+        assertEquals("from@example.com", historyCaptor.getValue().get(0).getOldValue());
+        assertEquals("to@example.com", historyCaptor.getValue().get(0).getNewValue());
+        verify(notificationService, times(1)).createTaskAssignmentNotification(eq(assignee), any(Task.class), eq("Second"), eq(2));
+        verify(emailOutboxService, times(1)).enqueueTaskAssignments(toUserId,
+                Map.of(taskId, "First", secondTaskId, "Second"), Map.of(taskId, 1L, secondTaskId, 1L),
+                "to@example.com", "Test Project");
+        // Aucun statut ne change : les analytics de flux restent en cache
+        verify(projectAnalyticsService, never()).invalidate(any());
+    }
+
+    @Test
+    void testReassignTasks_WhenTargetNotMember_ShouldThrow() {
+        // Given
+        UUID fromUserId = UUID.randomUUID();
+        UUID toUserId = UUID.randomUUID();
+        testProjectMember.setRole(Role.MEMBER);
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.of(testProjectMember));
+        when(projectMemberRepository.findMemberDTOsByProjectIdAndUserIds(projectId, List.of(fromUserId, toUserId)))
+                .thenReturn(List.of(new ProjectMemberDTO(projectId, fromUserId, "from@example.com", "from", Role.MEMBER)));
+
+        BulkReassignRequest request = new BulkReassignRequest();
+        request.setProjectId(projectId);
+        request.setFromUserId(fromUserId);
+        request.setToUserId(toUserId);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> taskService.reassignTasks(request, userId));
+        assertEquals("The user is not a member of this project.", exception.getMessage());
+        verify(taskRepository, never()).reassign(anyCollection(), any(), any());
+    }
+
+    private CreateTaskRequest createTaskRequest(UUID projectId, String name) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setProjectId(projectId);
+        request.setName(name);
+        return request;
     }
 
     @Test
@@ -450,7 +931,6 @@ class TaskServiceTest {
         when(projectMemberRepository.findByProjectIdAndUserId(projectId, updaterId))
                 .thenReturn(Optional.of(testProjectMember));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
-        when(taskHistoryRepository.save(any(TaskHistory.class))).thenReturn(new TaskHistory());
 
         // When
         Task result = taskService.updateTask(taskId, updatedTask, updaterId);
@@ -460,7 +940,9 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findById(taskId);
         verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, updaterId);
         verify(taskRepository, times(1)).save(any(Task.class));
-        verify(taskHistoryRepository, atLeastOnce()).save(any(TaskHistory.class));
+        verify(taskHistoryRepository, times(1)).saveAll(historyCaptor.capture());
+        assertEquals(1, historyCaptor.getValue().size());
+        assertEquals(TaskHistory.FieldName.endDate, historyCaptor.getValue().get(0).getFieldName());
     }
 
     @Test
@@ -505,7 +987,7 @@ class TaskServiceTest {
         assertEquals("You must be a member of the project to view task history.", exception.getMessage());
         verify(taskRepository, times(1)).findById(taskId);
         verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, viewerId);
-        verify(taskHistoryRepository, never()).findByTaskIdOrderByModifiedAtDesc(any());
+        verify(taskHistoryRepository, never()).findDTOsByTaskId(any());
     }
 
     @Test
@@ -526,7 +1008,7 @@ class TaskServiceTest {
         assertEquals("Task is not assigned to a project member", exception.getMessage());
         verify(taskRepository, times(1)).findById(taskId);
         verify(projectMemberRepository, never()).findByProjectIdAndUserId(any(), any());
-        verify(taskHistoryRepository, never()).findByTaskIdOrderByModifiedAtDesc(any());
+        verify(taskHistoryRepository, never()).findDTOsByTaskId(any());
     }
 
     @Test
@@ -563,12 +1045,19 @@ class TaskServiceTest {
                 .thenReturn(Optional.of(assigneeMember));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
         when(taskHistoryRepository.save(any(TaskHistory.class))).thenReturn(new TaskHistory());
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        when(notificationService.createTaskAssignmentNotification(any(ProjectMember.class), any(Task.class)))
+                .thenReturn(notification);
 
         Task result = taskService.assignTask(taskId, request, assignedById);
 
         assertNotNull(result);
         verify(notificationService, times(1)).createTaskAssignmentNotification(any(ProjectMember.class), any(Task.class));
-        verify(emailService, times(1)).sendTaskAssignmentNotification(anyString(), anyString(), anyString());
+        // L'email est mis en file, pas envoyé ; la version atteinte par l'assignation sert au dédoublonnage
+        verify(taskRepository, times(1)).flush();
+        verify(emailOutboxService, times(1)).enqueueTaskAssignment(testTask.getId(), userId, testTask.getVersion(),
+                "assignee@example.com", testTask.getName(), "Project Name");
     }
 
     @Test
@@ -679,5 +1168,81 @@ class TaskServiceTest {
 
         assertEquals("You must be a member of the project to view tasks.", exception.getMessage());
     }
-}
 
+    @Test
+    void testPermissionChecks_ShouldBeCachedAcrossCalls() {
+        // Given
+        testProjectMember.setRole(Role.MEMBER);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+        when(taskHistoryRepository.findDTOsByTaskId(taskId)).thenReturn(List.of());
+
+        // When
+        taskService.findByIdWithPermission(taskId, userId);
+        taskService.findByIdWithPermission(taskId, userId);
+        taskService.getTaskHistory(taskId, userId);
+
+        // Then
+        verify(projectMemberRepository, times(1)).findByProjectIdAndUserId(projectId, userId);
+    }
+
+    @Test
+    void testFindTaskDTOPageByProjectId_ShouldChainCursor() {
+        // Given
+        Task secondTask = new Task();
+        secondTask.setId(UUID.randomUUID());
+        secondTask.setName("Second Task");
+        secondTask.setProjectMember(testProjectMember);
+        testTask.setDueDate(LocalDate.of(2026, 3, 1));
+        testProjectMember.setRole(Role.MEMBER);
+
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+        when(taskRepository.findFirstPageByProjectId(projectId, Limit.of(2)))
+                .thenReturn(List.of(TaskDTO.fromTask(testTask), TaskDTO.fromTask(secondTask)));
+        when(taskRepository.findPageByProjectIdAfterDueDate(projectId, LocalDate.of(2026, 3, 1), taskId, Limit.of(2)))
+                .thenReturn(List.of(TaskDTO.fromTask(secondTask)));
+
+        // When
+        CursorPage<TaskDTO> firstPage = taskService.findTaskDTOPageByProjectId(projectId, userId, 1, null);
+        CursorPage<TaskDTO> secondPage = taskService.findTaskDTOPageByProjectId(projectId, userId, 1, firstPage.getNextCursor());
+
+        // Then
+        assertEquals(List.of(taskId), firstPage.getItems().stream().map(TaskDTO::getId).toList());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(secondTask.getId()), secondPage.getItems().stream().map(TaskDTO::getId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void testFindTaskDTOPageByProjectId_WithInvalidCursor_ShouldThrow() {
+        testProjectMember.setRole(Role.MEMBER);
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.findTaskDTOPageByProjectId(projectId, userId, 10, "not-a-cursor"));
+    }
+
+    @Test
+    void testFindTaskDTOsByProjectId_ShouldUseProjection() {
+        // Given
+        testProjectMember.setRole(Role.OBSERVER);
+        List<TaskDTO> dtos = List.of(TaskDTO.fromTask(testTask));
+        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId))
+                .thenReturn(Optional.of(testProjectMember));
+        when(taskRepository.findDTOsByProjectId(projectId)).thenReturn(dtos);
+
+        // When
+        List<TaskDTO> result = taskService.findTaskDTOsByProjectId(projectId, userId);
+
+        // Then
+        assertEquals(dtos, result);
+        verify(taskRepository, never()).findByProjectId(any());
+    }
+
+    private TaskHistoryDTO historyEntry(LocalDateTime modifiedAt) {
+        return new TaskHistoryDTO(UUID.randomUUID(), taskId, TaskHistory.FieldName.status, "TODO", "DONE", modifiedAt, userId);
+    }
+}
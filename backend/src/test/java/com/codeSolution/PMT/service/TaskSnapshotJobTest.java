@@ -0,0 +1,108 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.model.Project;
+import com.codeSolution.PMT.model.ProjectMember;
+import com.codeSolution.PMT.model.Role;
+import com.codeSolution.PMT.model.Task;
+import com.codeSolution.PMT.model.TaskHistory;
+import com.codeSolution.PMT.model.TaskSnapshot;
+import com.codeSolution.PMT.model.User;
+import com.codeSolution.PMT.repository.TaskSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskSnapshotJobTest {
+
+    private static final LocalDateTime FIRST_RUN = LocalDateTime.of(2026, 3, 1, 3, 0);
+
+    @Autowired
+    private TaskSnapshotRepository taskSnapshotRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProjectMember member;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUserName("snapshot");
+        user.setEmail("snapshot@example.com");
+        user.setPassword("password123");
+        user = entityManager.persist(user);
+
+        Project project = new Project();
+        project.setName("Snapshot project");
+        project = entityManager.persist(project);
+
+        member = new ProjectMember();
+        member.setProjectId(project.getId());
+        member.setUserId(user.getId());
+        member.setRole(Role.MEMBER);
+        member = entityManager.persist(member);
+    }
+
+    @Test
+    void testTakeSnapshots_ShouldCopyAllTasksThenOnlyModifiedOnes() {
+        // Given
+        Task unchanged = persistTask("Unchanged");
+        Task modified = persistTask("Modified");
+
+        // When - premier passage : toutes les tâches ; second passage : celles modifiées entre-temps
+        int first = jobAt(FIRST_RUN).takeSnapshots();
+        TaskHistory history = new TaskHistory();
+        history.setTask(modified);
+        history.setProjectMember(member);
+        history.setFieldName(TaskHistory.FieldName.status);
+        history.setOldValue("TODO");
+        history.setNewValue("DONE");
+        history = entityManager.persist(history);
+        history.setModifiedAt(FIRST_RUN.plusDays(3));
+        entityManager.flush();
+        int second = jobAt(FIRST_RUN.plusDays(7)).takeSnapshots();
+
+        // Then
+        assertEquals(2, first);
+        assertEquals(1, second);
+        List<TaskSnapshot> latest = taskSnapshotRepository.findFirstByProjectIdTakenFrom(member.getProjectId(),
+                FIRST_RUN.plusDays(1));
+        assertEquals(1, latest.size());
+        assertEquals(modified.getId(), latest.get(0).getTaskId());
+        assertEquals("snapshot@example.com", latest.get(0).getAssigneeEmail());
+        assertTrue(taskSnapshotRepository.findFirstByTaskIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(
+                unchanged.getId(), FIRST_RUN).isPresent());
+    }
+
+    private TaskSnapshotJob jobAt(LocalDateTime now) {
+        ZoneId zone = ZoneId.systemDefault();
+        return new TaskSnapshotJob(taskSnapshotRepository, new TransactionTemplate(transactionManager),
+                Clock.fixed(now.atZone(zone).toInstant(), zone));
+    }
+
+    private Task persistTask(String name) {
+        Task task = new Task();
+        task.setName(name);
+        task.setProjectMember(member);
+        task = entityManager.persist(task);
+        entityManager.flush();
+        return task;
+    }
+}
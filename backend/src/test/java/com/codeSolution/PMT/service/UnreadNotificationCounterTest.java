@@ -0,0 +1,112 @@
+package com.codeSolution.PMT.service;
+
+import com.codeSolution.PMT.model.NotificationCounter;
+import com.codeSolution.PMT.repository.NotificationCounterRepository;
+import com.codeSolution.PMT.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationCounterRepository counterRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UnreadNotificationCounter counter;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        counter = new UnreadNotificationCounter(counterRepository, notificationRepository, transactionManager);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void testGetUnreadCount_ShouldBeServedFromMemoryAfterFirstRead() {
+        // Given
+        when(counterRepository.findUnreadCount(userId)).thenReturn(Optional.of(4L));
+
+        // When
+        long first = counter.getUnreadCount(userId);
+        long second = counter.getUnreadCount(userId);
+
+        // Then
+        assertEquals(4L, first);
+        assertEquals(4L, second);
+        verify(counterRepository, times(1)).findUnreadCount(userId);
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void testAdd_ShouldIncrementInDatabaseAndInMemory() {
+        // Given
+        when(counterRepository.findUnreadCount(userId)).thenReturn(Optional.of(4L));
+        when(counterRepository.addToUnreadCount(userId, 1)).thenReturn(1);
+        counter.getUnreadCount(userId);
+
+        // When
+        counter.add(userId, 1);
+
+        // Then
+        assertEquals(5L, counter.getUnreadCount(userId));
+        verify(counterRepository, times(1)).addToUnreadCount(userId, 1);
+        verify(counterRepository, times(1)).findUnreadCount(userId);
+    }
+
+    @Test
+    void testAdd_WhenCounterMissing_ShouldInitializeFromNotifications() {
+        // Given
+        when(counterRepository.addToUnreadCount(userId, 1)).thenReturn(0, 1);
+        when(notificationRepository.countByProjectMemberUserIdAndIsReadFalse(userId)).thenReturn(2L);
+        when(counterRepository.saveAndFlush(any(NotificationCounter.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        counter.add(userId, 1);
+
+        // Then
+        verify(counterRepository).saveAndFlush(argThat(saved -> saved.getUserId().equals(userId) && saved.getUnreadCount() == 2L));
+        verify(counterRepository, times(2)).addToUnreadCount(userId, 1);
+    }
+
+    @Test
+    void testGetUnreadCount_WhenCreatedConcurrently_ShouldReadExistingCounterWithoutCachingIt() {
+        // Given
+        when(counterRepository.findUnreadCount(userId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(7L))
+                .thenReturn(Optional.of(8L));
+        when(notificationRepository.countByProjectMemberUserIdAndIsReadFalse(userId)).thenReturn(6L);
+        when(counterRepository.saveAndFlush(any(NotificationCounter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        long first = counter.getUnreadCount(userId);
+        long second = counter.getUnreadCount(userId);
+
+        // Then - relecture dans une nouvelle transaction, puis lecture normale faute de valeur en cache
+        assertEquals(7L, first);
+        assertEquals(8L, second);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(counterRepository, times(3)).findUnreadCount(userId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.codeSolution.PMT.service;
 
+import com.codeSolution.PMT.config.SessionService;
 import com.codeSolution.PMT.model.User;
 import com.codeSolution.PMT.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +25,15 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private ProjectMembershipCache membershipCache;
+
+    @Mock
+    private NotificationService notificationService;
+
     @InjectMocks
     private UserService userService;
 
@@ -131,7 +141,10 @@ class UserServiceTest {
         userService.deleteById(testUserId);
 
         // Then
+        verify(notificationService, times(1)).beforeUserDeleted(testUserId);
         verify(userRepository, times(1)).deleteById(testUserId);
+        verify(sessionService, times(1)).evict(testUserId);
+        verify(membershipCache, times(1)).evictUser(testUserId);
     }
 
     @Test
@@ -0,0 +1,121 @@
+package com.codeSolution.PMT.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    /**
+     * Horloge manuelle pour faire avancer le temps dans les tests
+     */
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    void getReturnsValueUntilTtlExpires() {
+        MutableClock clock = new MutableClock();
+        ExpiringCache<String, Boolean> cache = new ExpiringCache<>(10, clock);
+
+        cache.put("valid", true, Duration.ofMinutes(5));
+        cache.put("unknown", false, Duration.ofSeconds(10));
+
+        clock.advance(Duration.ofSeconds(30));
+
+        assertEquals(Boolean.TRUE, cache.get("valid").orElse(null));
+        assertTrue(cache.get("unknown").isEmpty());
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10);
+        cache.put("a", 1, Duration.ofMinutes(1));
+        cache.put("b", 2, Duration.ofMinutes(1));
+
+        cache.invalidate("a");
+        cache.invalidateIf(key -> key.equals("b"));
+
+        assertTrue(cache.get("a").isEmpty());
+        assertTrue(cache.get("b").isEmpty());
+    }
+
+    @Test
+    void putNeverExceedsMaxEntries() {
+        MutableClock clock = new MutableClock();
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(3, clock);
+
+        cache.put(1, 1, Duration.ofSeconds(1));
+        cache.put(2, 2, Duration.ofMinutes(1));
+        cache.put(3, 3, Duration.ofMinutes(1));
+        clock.advance(Duration.ofSeconds(2));
+
+        // L'entrée expirée est purgée pour faire de la place
+        cache.put(4, 4, Duration.ofMinutes(1));
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.get(2).orElse(null));
+
+        // Plus rien d'expiré : seule l'entrée qui expire le plus tôt est évincée
+        cache.put(5, 5, Duration.ofMinutes(1));
+        assertEquals(3, cache.size());
+        assertTrue(cache.get(2).isEmpty());
+        assertEquals(3, cache.get(3).orElse(null));
+        assertEquals(4, cache.get(4).orElse(null));
+        assertEquals(5, cache.get(5).orElse(null));
+    }
+
+    @Test
+    void computeIfPresentKeepsExpiration() {
+        MutableClock clock = new MutableClock();
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, clock);
+        cache.put("count", 1, Duration.ofSeconds(10));
+
+        cache.computeIfPresent("count", value -> value + 1);
+        cache.computeIfPresent("missing", value -> value + 1);
+        assertEquals(2, cache.get("count").orElse(null));
+        assertTrue(cache.get("missing").isEmpty());
+
+        clock.advance(Duration.ofSeconds(11));
+        cache.computeIfPresent("count", value -> value + 1);
+        assertTrue(cache.get("count").isEmpty());
+    }
+
+    @Test
+    void keysReturnsSnapshotOfCurrentKeys() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10);
+        cache.put("a", 1, Duration.ofMinutes(1));
+        cache.put("b", 2, Duration.ofMinutes(1));
+
+        Set<String> keys = cache.keys();
+        cache.invalidate("a");
+
+        assertEquals(Set.of("a", "b"), keys);
+        assertEquals(Set.of("b"), cache.keys());
+    }
+}
@@ -0,0 +1,57 @@
+-- Script optionnel : partitionnement mensuel de la table notifications par created_at (PostgreSQL 12+)
+-- A exécuter une fois sur une base créée avec schema.sql, puis activer
+-- app.notifications.retention.partitioned=true : le job de rétention crée la partition du mois suivant
+-- et supprime les partitions expirées d'un seul DROP TABLE au lieu d'un DELETE ligne par ligne.
+SET client_encoding = 'UTF8';
+
+BEGIN;
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+
+-- La clé de partitionnement doit faire partie de la clé primaire
+CREATE TABLE notifications (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    project_member_project_id UUID NOT NULL,
+    project_member_user_id UUID NOT NULL,
+    task_id UUID NOT NULL,
+    message TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    assignment_count INTEGER NOT NULL DEFAULT 1,
+    CONSTRAINT pk_notifications PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_notification_project_member_p FOREIGN KEY (project_member_project_id, project_member_user_id)
+        REFERENCES project_members(project_id, user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_notification_task_p FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+-- Partitions mensuelles nommées notifications_pYYYYMM, de la plus ancienne notification au mois suivant
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_legacy), now()))::date;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '1 month')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE notifications_p%s PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month_start, 'YYYYMM'), month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Filet de sécurité si le job n'a pas créé la partition à temps
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+INSERT INTO notifications (id, project_member_project_id, project_member_user_id, task_id, message, created_at, is_read,
+                           assignment_count)
+SELECT id, project_member_project_id, project_member_user_id, task_id, message, created_at, is_read, assignment_count
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+-- Index créés sur chaque partition
+CREATE INDEX idx_notification_project_member ON notifications(project_member_project_id, project_member_user_id);
+CREATE INDEX idx_notification_task ON notifications(task_id);
+CREATE INDEX idx_notification_user_created ON notifications(project_member_user_id, created_at DESC, id DESC);
+CREATE INDEX idx_notification_user_unread ON notifications(project_member_user_id, is_read, created_at DESC, id DESC);
+CREATE INDEX idx_notification_read_created ON notifications(created_at) WHERE is_read = TRUE;
+
+COMMIT;
@@ -6,7 +6,10 @@ SET client_encoding = 'UTF8';
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 
 -- Suppression des tables si elles existent (dans l'ordre inverse des dépendances)
+DROP TABLE IF EXISTS notification_counters CASCADE;
+DROP TABLE IF EXISTS email_outbox CASCADE;
 DROP TABLE IF EXISTS notifications CASCADE;
+DROP TABLE IF EXISTS task_snapshots CASCADE;
 DROP TABLE IF EXISTS task_history CASCADE;
 DROP TABLE IF EXISTS tasks CASCADE;
 DROP TABLE IF EXISTS project_members CASCADE;
@@ -51,6 +54,8 @@ CREATE TABLE tasks (
     priority VARCHAR(20) NOT NULL DEFAULT 'MEDIUM',
     status VARCHAR(20) NOT NULL DEFAULT 'TODO',
     end_date DATE,
+    -- Version pour le verrouillage optimiste (@Version), exposée en ETag par l'API
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_task_project_member FOREIGN KEY (project_member_project_id, project_member_user_id) 
         REFERENCES project_members(project_id, user_id) ON DELETE CASCADE,
     CONSTRAINT chk_task_status CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE')),
@@ -73,6 +78,22 @@ CREATE TABLE task_history (
     CONSTRAINT chk_task_history_field_name CHECK (field_name IN ('name', 'description', 'dueDate', 'priority', 'status', 'endDate', 'projectMembers'))
 );
 
+-- Snapshots périodiques de l'état des tâches, points de départ du rejeu de l'historique
+CREATE TABLE task_snapshots (
+    task_id UUID NOT NULL,
+    taken_at TIMESTAMP NOT NULL,
+    project_id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    status VARCHAR(20) NOT NULL,
+    priority VARCHAR(20) NOT NULL,
+    due_date DATE,
+    end_date DATE,
+    assignee_email VARCHAR(100),
+    PRIMARY KEY (task_id, taken_at),
+    CONSTRAINT fk_task_snapshot_task FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE
+);
+
 -- Table des notifications
 CREATE TABLE notifications (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -82,18 +103,67 @@ CREATE TABLE notifications (
     message TEXT NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    assignment_count INTEGER NOT NULL DEFAULT 1,
     CONSTRAINT fk_notification_project_member FOREIGN KEY (project_member_project_id, project_member_user_id) 
         REFERENCES project_members(project_id, user_id) ON DELETE CASCADE,
     CONSTRAINT fk_notification_task FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE
 );
 
+-- Compteur de notifications non lues par utilisateur (évite un COUNT(*) sur notifications)
+CREATE TABLE notification_counters (
+    user_id UUID PRIMARY KEY,
+    unread_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_notification_counter_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- File d'envoi des emails (transactional outbox)
+CREATE TABLE email_outbox (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    type VARCHAR(30) NOT NULL,
+    dedupe_key VARCHAR(255) NOT NULL UNIQUE,
+    recipient VARCHAR(100) NOT NULL,
+    task_title VARCHAR(255) NOT NULL,
+    project_name VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claim_token UUID,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    CONSTRAINT chk_email_outbox_status CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED'))
+);
+
 -- Index pour améliorer les performances
 CREATE INDEX idx_project_member_user ON project_members(user_id);
 CREATE INDEX idx_project_member_role ON project_members(role);
 CREATE INDEX idx_task_project_member ON tasks(project_member_project_id, project_member_user_id);
 CREATE INDEX idx_task_status ON tasks(status);
-CREATE INDEX idx_task_history_task ON task_history(task_id);
+-- Pagination par clé des tâches d'un projet : ORDER BY due_date NULLS LAST, id
+CREATE INDEX idx_task_project_due_date ON tasks(project_member_project_id, due_date NULLS LAST, id);
+-- Tableau kanban : ROW_NUMBER() OVER (PARTITION BY status ORDER BY due_date NULLS LAST, id) sans tri
+CREATE INDEX idx_task_project_status_due_date ON tasks(project_member_project_id, status, due_date NULLS LAST, id);
+-- Historique d'une tâche (pagination par clé sur modified_at DESC, id DESC) ;
+-- remplace l'index sur task_id seul, dont il reprend le préfixe pour la suppression en cascade
+CREATE INDEX idx_task_history_task_modified_at ON task_history(task_id, modified_at DESC, id DESC);
+-- Job d'archivage : entrées d'historique les plus anciennes
+CREATE INDEX idx_task_history_modified_at ON task_history(modified_at);
+-- Rejeu d'un projet : premier snapshot de chaque tâche à partir d'une date
+CREATE INDEX idx_task_snapshot_project_taken_at ON task_snapshots(project_id, taken_at);
+-- TaskSnapshotJob : date du dernier snapshot
+CREATE INDEX idx_task_snapshot_taken_at ON task_snapshots(taken_at);
 CREATE INDEX idx_task_history_project_member ON task_history(project_member_project_id, project_member_user_id);
 CREATE INDEX idx_notification_project_member ON notifications(project_member_project_id, project_member_user_id);
 CREATE INDEX idx_notification_task ON notifications(task_id);
-CREATE INDEX idx_notification_is_read ON notifications(is_read);
+-- Boîte de réception par utilisateur (pagination par clé sur created_at DESC, id DESC) ;
+-- remplace l'index sur is_read seul, trop peu sélectif pour être utilisé
+CREATE INDEX idx_notification_user_created ON notifications(project_member_user_id, created_at DESC, id DESC);
+-- Notifications non lues : liste filtrée, « tout marquer comme lu » et initialisation du compteur
+CREATE INDEX idx_notification_user_unread ON notifications(project_member_user_id, is_read, created_at DESC, id DESC);
+-- Job de rétention : notifications lues les plus anciennes
+CREATE INDEX idx_notification_read_created ON notifications(created_at) WHERE is_read = TRUE;
+-- Recherche des emails à envoyer par le dispatcher
+CREATE INDEX idx_email_outbox_due ON email_outbox(next_attempt_at) WHERE status IN ('PENDING', 'SENDING');
+CREATE INDEX idx_email_outbox_claim_token ON email_outbox(claim_token);
+-- Regroupement des emails en attente par destinataire
+CREATE INDEX idx_email_outbox_recipient_pending ON email_outbox(recipient, type) WHERE status = 'PENDING';
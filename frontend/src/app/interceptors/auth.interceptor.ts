@@ -11,6 +11,16 @@ export const authInterceptor: HttpInterceptorFn = (req, next) => {
     return next(req);
   }
 
+  if (currentUser && currentUser.token) {
+    const authReq = req.clone({
+      setHeaders: {
+        'Authorization': `Bearer ${currentUser.token}`
+      }
+    });
+    return next(authReq);
+  }
+
+  // Sessions ouvertes avant l'émission des jetons signés
   if (currentUser && currentUser.userId) {
     const authReq = req.clone({
       setHeaders: {
@@ -52,5 +52,5 @@ export interface AssignTaskResponse {
   userEmail: string;
   taskTitle: string;
   projectName: string;
-  emailSent: boolean;
+  emailQueued: boolean;
 }
\ No newline at end of file
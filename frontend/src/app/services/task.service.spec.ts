@@ -199,7 +199,7 @@ describe('TaskService', () => {
       userEmail: 'user@example.com',
       taskTitle: 'Assigned Task',
       projectName: 'Test Project',
-      emailSent: true
+      emailQueued: true
     };
 
     service.assignTask(taskId, projectId, userId).subscribe(response => {
@@ -209,7 +209,7 @@ describe('TaskService', () => {
       expect(response.userEmail).toBe('user@example.com');
       expect(response.taskTitle).toBe('Assigned Task');
       expect(response.projectName).toBe('Test Project');
-      expect(response.emailSent).toBe(true);
+      expect(response.emailQueued).toBe(true);
     });
 
     const req = httpMock.expectOne(`${apiUrl}/${taskId}/assign`);
@@ -156,7 +156,7 @@ describe('TaskListComponent', () => {
       userEmail: 'user1@example.com',
       taskTitle: 'Task 1',
       projectName: 'Project 1',
-      emailSent: true
+      emailQueued: true
     };
     
     projectService.getAllProjects.and.returnValue(of(mockProjects));
@@ -42,11 +42,11 @@ interface TaskGroup {
         <div class="popup-content">
           <div class="popup-header">
             <span class="popup-icon">✉️</span>
-            <h3>Email envoyé</h3>
+            <h3>Email en cours d'envoi</h3>
             <button class="popup-close" (click)="closeEmailNotification()">&times;</button>
           </div>
           <div class="popup-body">
-            <p>Un email de notification a été envoyé à <strong>{{ emailNotificationInfo.userEmail }}</strong></p>
+            <p>Un email de notification va être envoyé à <strong>{{ emailNotificationInfo.userEmail }}</strong></p>
             <p class="popup-details">Tâche: <strong>{{ emailNotificationInfo.taskTitle }}</strong></p>
             <p class="popup-details">Projet: <strong>{{ emailNotificationInfo.projectName }}</strong></p>
           </div>
@@ -898,7 +898,7 @@ export class TaskListComponent implements OnInit {
         this.assignmentValues[task.id!] = '';
         this.assigning[task.id!] = false;
         
-        if (response.emailSent) {
+        if (response.emailQueued) {
           this.emailNotificationInfo = {
             userEmail: response.userEmail,
             taskTitle: response.taskTitle,